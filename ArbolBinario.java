@@ -276,6 +276,42 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
 	elementos = 0;
     }
 
+    /**
+     * Realiza la acción recibida en todos los vértices del árbol, en
+     * paralelo y usando un hilo por procesador. Ver {@link
+     * #dfsParalelo(AccionVerticeArbolBinario,int)}.
+     * @param accion la acción a realizar.
+     */
+    public void dfsParalelo(AccionVerticeArbolBinario<T> accion) {
+        dfsParalelo(accion, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices del árbol, en
+     * paralelo. Cada hilo recorre sus subárboles en profundidad, y los hilos
+     * sin trabajo les roban subárboles pendientes a los demás con un {@link
+     * RecorridoParalelo}. La acción se llama desde varios hilos al mismo
+     * tiempo y sin un orden definido, así que debe ser segura para hilos; el
+     * árbol no debe modificarse durante el recorrido.
+     * @param accion la acción a realizar.
+     * @param hilos el número de hilos.
+     * @throws IllegalArgumentException si <code>hilos</code> es menor que
+     *         uno.
+     */
+    public void dfsParalelo(AccionVerticeArbolBinario<T> accion, int hilos) {
+        RecorridoParalelo<Vertice> recorrido =
+            new RecorridoParalelo<Vertice>(hilos);
+        if (raiz == null)
+            return;
+        recorrido.recorre(raiz, (v, hijos) -> {
+                accion.actua(v);
+                if (v.derecho != null)
+                    hijos.accept(v.derecho);
+                if (v.izquierdo != null)
+                    hijos.accept(v.izquierdo);
+            });
+    }
+
     /**
      * Compara el árbol con un objeto.
      * @param o el objeto con el que queremos comparar el árbol.
@@ -1,6 +1,9 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * <p>Clase para árboles binarios ordenados. Los árboles son genéricos, pero
@@ -51,6 +54,103 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         }
     }
 
+    /* Clase privada para separadores de árboles binarios ordenados. El
+     * separador recorre en orden un primer vértice opcional, seguido de una
+     * pila de vértices; cada vértice de la pila representa a su elemento
+     * seguido de su subárbol derecho. Partir el separador le entrega a la
+     * primera mitad todos los vértices de la pila excepto el del fondo, que
+     * cubre el resto del subárbol más grande. */
+    private class Separador implements Spliterator<T> {
+
+        /* El vértice a recorrer antes que la pila, sin su subárbol. */
+        private Vertice primero;
+        /* La pila; el tope es el último elemento de la lista. */
+        private Lista<Vertice> pila;
+        /* Número estimado de elementos restantes. */
+        private long estimado;
+        /* Si el número estimado de elementos es exacto. */
+        private boolean exacto;
+
+        /* Construye un separador para el primer vértice y el subárbol
+         * recibidos. */
+        public Separador(Vertice primero, Vertice v,
+                         long estimado, boolean exacto) {
+            this.primero = primero;
+            this.estimado = estimado;
+            this.exacto = exacto;
+            pila = new Lista<Vertice>();
+            mete(v);
+        }
+
+        /* Mete a la pila la rama izquierda del vértice. */
+        private void mete(Vertice v) {
+            while (v != null) {
+                pila.agregaFinal(v);
+                v = v.izquierdo;
+            }
+        }
+
+        /* Consume el siguiente elemento, si existe. */
+        @Override public boolean tryAdvance(Consumer<? super T> accion) {
+            Vertice v = primero;
+            if (v != null) {
+                primero = null;
+            } else {
+                if (pila.esVacia())
+                    return false;
+                v = pila.eliminaUltimo();
+                mete(v.derecho);
+            }
+            if (estimado > 0)
+                estimado--;
+            accion.accept(v.elemento);
+            return true;
+        }
+
+        /* Parte el separador, regresando la primera parte del recorrido. */
+        @Override public Spliterator<T> trySplit() {
+            Separador s;
+            if (pila.getLongitud() > 1) {
+                Vertice fondo = pila.eliminaPrimero();
+                s = new Separador(primero, null, estimado >>> 1, false);
+                s.pila = pila;
+                pila = new Lista<Vertice>();
+                pila.agregaFinal(fondo);
+            } else if (pila.getLongitud() == 1 && primero != null) {
+                s = new Separador(primero, null, 1, false);
+            } else if (pila.getLongitud() == 1 &&
+                       pila.getPrimero().derecho != null) {
+                Vertice v = pila.eliminaPrimero();
+                s = new Separador(v, v.derecho.izquierdo,
+                                  estimado >>> 1, false);
+                pila.agregaFinal(v.derecho);
+            } else {
+                return null;
+            }
+            primero = null;
+            estimado -= s.estimado;
+            exacto = false;
+            return s;
+        }
+
+        /* Regresa el número estimado de elementos restantes. */
+        @Override public long estimateSize() {
+            return estimado;
+        }
+
+        /* Regresa las características del separador. */
+        @Override public int characteristics() {
+            int c = Spliterator.ORDERED | Spliterator.SORTED |
+                Spliterator.NONNULL;
+            return exacto ? c | Spliterator.SIZED : c;
+        }
+
+        /* Regresa el comparador del orden; el orden es el natural. */
+        @Override public Comparator<? super T> getComparator() {
+            return null;
+        }
+    }
+
     /**
      * El vértice del último elemento agegado. Este vértice sólo se puede
      * garantizar que existe <em>inmediatamente</em> después de haber agregado
@@ -259,6 +359,16 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     @Override public Iterator<T> iterator() {
         return new Iterador();
     }
+
+    /**
+     * Regresa un separador para recorrer el árbol en orden. El separador se
+     * parte por subárboles, por lo que un flujo paralelo reparte el árbol sin
+     * tener que recorrerlo primero.
+     * @return un separador para recorrer el árbol en orden.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return new Separador(null, raiz, elementos, true);
+    }
     private boolean esRaiz(Vertice v){
 	return v == raiz;
     }
@@ -1,25 +1,192 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToLongFunction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
  */
 public class Arreglos {
 
+    /* Clase privada para ordenar en paralelo con QuickSort. */
+    @SuppressWarnings("serial") private static class QuickSortParalelo<T> extends RecursiveAction {
+
+        /* El arreglo. */
+        private T[] arreglo;
+        /* Los extremos del subarreglo. */
+        private int ini, fin;
+        /* La profundidad restante. */
+        private int profundidad;
+        /* Tamaño debajo del cual se ordena secuencialmente. */
+        private int granularidad;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye una nueva tarea para arreglo[ini..fin]. */
+        public QuickSortParalelo(T[] arreglo, int ini, int fin,
+                                 int profundidad, int granularidad,
+                                 Comparator<T> comparador) {
+            this.arreglo = arreglo;
+            this.ini = ini;
+            this.fin = fin;
+            this.profundidad = profundidad;
+            this.granularidad = granularidad;
+            this.comparador = comparador;
+        }
+
+        /* Parte el subarreglo y ordena las partes en paralelo. */
+        @Override protected void compute() {
+            int largo = fin - ini + 1;
+            if (largo <= granularidad || largo <= UMBRAL_INSERCION ||
+                profundidad == 0) {
+                quickSort2(arreglo, ini, fin, profundidad, comparador);
+                return;
+            }
+            int[] partes = parte(arreglo, ini, fin, comparador);
+            @SuppressWarnings("unchecked") QuickSortParalelo<T>[] tareas =
+                (QuickSortParalelo<T>[])
+                new QuickSortParalelo<?>[partes.length/2];
+            for (int k = 0; k < partes.length; k += 2)
+                tareas[k/2] = new QuickSortParalelo<T>(arreglo, partes[k],
+                                                       partes[k+1],
+                                                       profundidad - 1,
+                                                       granularidad,
+                                                       comparador);
+            ForkJoinTask.invokeAll(tareas);
+        }
+    }
+
+    /* Clase privada para ordenar en paralelo con MergeSort. El subarreglo
+     * ordenado queda en destino; origen se usa como espacio auxiliar. */
+    @SuppressWarnings("serial") private static class MergeSortParalelo<T> extends RecursiveAction {
+
+        /* El arreglo con los elementos. */
+        private T[] origen;
+        /* El arreglo donde quedan ordenados. */
+        private T[] destino;
+        /* Los extremos del subarreglo, sin incluir fin. */
+        private int ini, fin;
+        /* Tamaño debajo del cual se ordena secuencialmente. */
+        private int granularidad;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye una nueva tarea para [ini, fin). */
+        public MergeSortParalelo(T[] origen, T[] destino, int ini, int fin,
+                                 int granularidad, Comparator<T> comparador) {
+            this.origen = origen;
+            this.destino = destino;
+            this.ini = ini;
+            this.fin = fin;
+            this.granularidad = granularidad;
+            this.comparador = comparador;
+        }
+
+        /* Ordena las mitades en paralelo y las mezcla en paralelo. */
+        @Override protected void compute() {
+            if (fin - ini <= granularidad) {
+                mergeSort(origen, destino, ini, fin, comparador);
+                return;
+            }
+            int m = (ini + fin) >>> 1;
+            ForkJoinTask.invokeAll(
+                new MergeSortParalelo<T>(destino, origen, ini, m,
+                                         granularidad, comparador),
+                new MergeSortParalelo<T>(destino, origen, m, fin,
+                                         granularidad, comparador));
+            new MezclaParalela<T>(origen, ini, m, m, fin, destino, ini,
+                                  granularidad, comparador).invoke();
+        }
+    }
+
+    /* Clase privada para mezclar en paralelo dos subarreglos ordenados. */
+    @SuppressWarnings("serial") private static class MezclaParalela<T> extends RecursiveAction {
+
+        /* El arreglo con los subarreglos. */
+        private T[] origen;
+        /* Los extremos de los subarreglos, sin incluir los finales. */
+        private int i1, f1, i2, f2;
+        /* El arreglo donde queda la mezcla. */
+        private T[] destino;
+        /* Dónde empieza la mezcla en el destino. */
+        private int d;
+        /* Tamaño debajo del cual se mezcla secuencialmente. */
+        private int granularidad;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye una nueva tarea de mezcla. */
+        public MezclaParalela(T[] origen, int i1, int f1, int i2, int f2,
+                              T[] destino, int d, int granularidad,
+                              Comparator<T> comparador) {
+            this.origen = origen;
+            this.i1 = i1;
+            this.f1 = f1;
+            this.i2 = i2;
+            this.f2 = f2;
+            this.destino = destino;
+            this.d = d;
+            this.granularidad = granularidad;
+            this.comparador = comparador;
+        }
+
+        /* Parte la mezcla alrededor de la mediana del subarreglo más grande;
+         * los elementos iguales del primer subarreglo siempre quedan antes,
+         * así que la mezcla es estable. Si ningún subarreglo tiene más de un
+         * elemento, partir no avanza y se mezcla secuencialmente. */
+        @Override protected void compute() {
+            if ((f1 - i1) + (f2 - i2) <= granularidad ||
+                Math.max(f1 - i1, f2 - i2) <= 1) {
+                mezcla(origen, i1, f1, i2, f2, destino, d, comparador);
+                return;
+            }
+            int m1, m2;
+            if (f1 - i1 >= f2 - i2) {
+                m1 = (i1 + f1) >>> 1;
+                m2 = cota(origen, i2, f2, origen[m1], false, comparador);
+            } else {
+                m2 = (i2 + f2) >>> 1;
+                m1 = cota(origen, i1, f1, origen[m2], true, comparador);
+            }
+            int dm = d + (m1 - i1) + (m2 - i2);
+            ForkJoinTask.invokeAll(
+                new MezclaParalela<T>(origen, i1, m1, i2, m2, destino, d,
+                                      granularidad, comparador),
+                new MezclaParalela<T>(origen, m1, f1, m2, f2, destino, dm,
+                                      granularidad, comparador));
+        }
+    }
+
+    /* Número de búsquedas que avanzan juntas en las búsquedas por lotes. */
+    private static final int LOTE_BUSQUEDA = 16;
+    /* Número de cubetas de RadixSort (dígitos de ocho bits). */
+    private static final int RAIZ = 256;
+    /* Tamaño debajo del cual RadixSort de primitivos usa QuickSort. */
+    private static final int UMBRAL_RADIX = 256;
+
+    /* Tamaño predeterminado debajo del cual los ordenamientos paralelos
+     * ordenan secuencialmente. */
+    private static final int GRANULARIDAD = 1 << 13;
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
 
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QickSort. Se usa QuickSort de doble
+     * pivote con InsertionSort para subarreglos pequeños, y HeapSort si la
+     * recursión se hace demasiado profunda, por lo que el peor caso es
+     * <i>O</i>(<i>n</i> log <i>n</i>).
      * @param <T> tipo del que puede ser el arreglo.
      * @param arreglo el arreglo a ordenar.
      * @param comparador el comparador para ordenar el arreglo.
      */
     public static <T> void
     quickSort(T[] arreglo, Comparator<T> comparador) {
-	quickSort2 (arreglo, 0, arreglo.length-1, comparador);
-   
+	quickSort2 (arreglo, 0, arreglo.length-1,
+		    profundidadMaxima(arreglo.length), comparador);
     }
 
     /**
@@ -32,6 +199,99 @@ public class Arreglos {
         quickSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo. Las particiones
+     * se ordenan como tareas de un {@link java.util.concurrent.ForkJoinPool};
+     * si el método se llama desde un hilo de un <code>ForkJoinPool</code> se
+     * usa ese, y si no el común. Los subarreglos de tamaño menor o igual a la
+     * granularidad se ordenan con {@link #quickSort(Object[],Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param granularidad el tamaño debajo del cual se ordena
+     *        secuencialmente.
+     * @throws IllegalArgumentException si la granularidad es menor que uno.
+     */
+    public static <T> void
+    parallelQuickSort(T[] arreglo, Comparator<T> comparador,
+                      int granularidad) {
+        if (granularidad < 1)
+            throw new IllegalArgumentException();
+        new QuickSortParalelo<T>(arreglo, 0, arreglo.length - 1,
+                                 profundidadMaxima(arreglo.length),
+                                 granularidad, comparador).invoke();
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con la
+     * granularidad predeterminada.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    parallelQuickSort(T[] arreglo, Comparator<T> comparador) {
+        parallelQuickSort(arreglo, comparador, GRANULARIDAD);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con la
+     * granularidad predeterminada.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void
+    parallelQuickSort(T[] arreglo) {
+        parallelQuickSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo. El
+     * ordenamiento es estable y usa un arreglo auxiliar del mismo tamaño. Las
+     * mitades se ordenan y se mezclan como tareas de un {@link
+     * java.util.concurrent.ForkJoinPool}, igual que en {@link
+     * #parallelQuickSort(Object[],Comparator,int)}; los subarreglos de tamaño
+     * menor o igual a la granularidad se ordenan secuencialmente.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param granularidad el tamaño debajo del cual se ordena
+     *        secuencialmente.
+     * @throws IllegalArgumentException si la granularidad es menor que uno.
+     */
+    public static <T> void
+    parallelMergeSort(T[] arreglo, Comparator<T> comparador,
+                      int granularidad) {
+        if (granularidad < 1)
+            throw new IllegalArgumentException();
+        T[] auxiliar = arreglo.clone();
+        new MergeSortParalelo<T>(auxiliar, arreglo, 0, arreglo.length,
+                                 granularidad, comparador).invoke();
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo, con la
+     * granularidad predeterminada.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    parallelMergeSort(T[] arreglo, Comparator<T> comparador) {
+        parallelMergeSort(arreglo, comparador, GRANULARIDAD);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo, con la
+     * granularidad predeterminada.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void
+    parallelMergeSort(T[] arreglo) {
+        parallelMergeSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
     /**
      * Ordena el arreglo recibido usando SelectionSort.
      * @param <T> tipo del que puede ser el arreglo.
@@ -72,7 +332,10 @@ public class Arreglos {
      */
     public static <T> int
     busquedaBinaria(T[] arreglo, T elemento, Comparator<T> comparador) {
-	return auxBusquedaBinaria (arreglo, elemento, comparador, 0, arreglo.length-1);
+        int i = cotaInferior(arreglo, elemento, comparador);
+        if (i < arreglo.length && comparador.compare(arreglo[i], elemento) == 0)
+            return i;
+        return -1;
     }
 
     /**
@@ -87,6 +350,663 @@ public class Arreglos {
     busquedaBinaria(T[] arreglo, T elemento) {
         return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
     }
+
+    /**
+     * Ordena el arreglo de <code>int</code> recibido usando QuickSort, con el
+     * mismo algoritmo que {@link #quickSort(Object[],Comparator)} pero sin
+     * envolver los elementos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(int[] arreglo) {
+        quickSort2(arreglo, 0, arreglo.length - 1,
+                   profundidadMaxima(arreglo.length));
+    }
+
+    /**
+     * Ordena el arreglo de <code>int</code> recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(int[] arreglo) {
+        for (int i = 0; i < arreglo.length - 1; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[m])
+                    m = j;
+            int t = arreglo[m];
+            arreglo[m] = arreglo[i];
+            arreglo[i] = t;
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado de
+     * <code>int</code>. Regresa el índice del elemento en el arreglo, o -1 si
+     * no se encuentra.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(int[] arreglo, int elemento) {
+        int i = cotaInferior(arreglo, elemento);
+        return i < arreglo.length && arreglo[i] == elemento ? i : -1;
+    }
+
+    /**
+     * Ordena el arreglo de <code>long</code> recibido usando QuickSort, con el
+     * mismo algoritmo que {@link #quickSort(Object[],Comparator)} pero sin
+     * envolver los elementos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(long[] arreglo) {
+        quickSort2(arreglo, 0, arreglo.length - 1,
+                   profundidadMaxima(arreglo.length));
+    }
+
+    /**
+     * Ordena el arreglo de <code>long</code> recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(long[] arreglo) {
+        for (int i = 0; i < arreglo.length - 1; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[m])
+                    m = j;
+            long t = arreglo[m];
+            arreglo[m] = arreglo[i];
+            arreglo[i] = t;
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado de
+     * <code>long</code>. Regresa el índice del elemento en el arreglo, o -1 si
+     * no se encuentra.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(long[] arreglo, long elemento) {
+        int i = cotaInferior(arreglo, elemento);
+        return i < arreglo.length && arreglo[i] == elemento ? i : -1;
+    }
+
+    /**
+     * Ordena el arreglo de <code>double</code> recibido usando QuickSort, sin
+     * envolver los elementos. El orden es el de {@link Double#compare}: el
+     * <code>-0.0</code> va antes del <code>0.0</code> y los <code>NaN</code>
+     * van al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(double[] arreglo) {
+        int fin = separaNaN(arreglo);
+        quickSort2(arreglo, 0, fin, profundidadMaxima(fin + 1));
+        ordenaCeros(arreglo, fin);
+    }
+
+    /**
+     * Ordena el arreglo de <code>double</code> recibido usando SelectionSort.
+     * El orden es el de {@link Double#compare}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(double[] arreglo) {
+        for (int i = 0; i < arreglo.length - 1; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (Double.compare(arreglo[j], arreglo[m]) < 0)
+                    m = j;
+            double t = arreglo[m];
+            arreglo[m] = arreglo[i];
+            arreglo[i] = t;
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo de
+     * <code>double</code>, ordenado con el orden de {@link Double#compare}.
+     * Regresa el índice del elemento en el arreglo, o -1 si no se encuentra.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar; puede ser <code>NaN</code>.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(double[] arreglo, double elemento) {
+        int i = cotaInferior(arreglo, elemento);
+        return i < arreglo.length &&
+            Double.compare(arreglo[i], elemento) == 0 ? i : -1;
+    }
+
+    /**
+     * Ordena el arreglo de <code>int</code> recibido usando RadixSort LSD con
+     * dígitos de ocho bits. Hace a lo más cuatro pasadas lineales sin importar
+     * el contenido del arreglo, y se salta las de los dígitos que son iguales
+     * en todos los elementos. Usa un arreglo auxiliar del mismo tamaño.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void radixSort(int[] arreglo) {
+        if (arreglo.length <= UMBRAL_RADIX) {
+            quickSort(arreglo);
+            return;
+        }
+        int n = arreglo.length;
+        int[][] cuentas = new int[4][RAIZ + 1];
+        for (int x : arreglo) {
+            int u = x ^ Integer.MIN_VALUE;
+            for (int d = 0; d < 4; d++)
+                cuentas[d][((u >>> (8 * d)) & 0xff) + 1]++;
+        }
+        int[] origen = arreglo, destino = new int[n];
+        for (int d = 0; d < 4; d++) {
+            int[] c = cuentas[d];
+            int corrimiento = 8 * d;
+            if (c[(((origen[0] ^ Integer.MIN_VALUE) >>> corrimiento) & 0xff)
+                  + 1] == n)
+                continue;
+            for (int i = 0; i < RAIZ; i++)
+                c[i+1] += c[i];
+            for (int i = 0; i < n; i++) {
+                int x = origen[i];
+                destino[c[((x ^ Integer.MIN_VALUE) >>> corrimiento) & 0xff]++]
+                    = x;
+            }
+            int[] t = origen;
+            origen = destino;
+            destino = t;
+        }
+        if (origen != arreglo)
+            System.arraycopy(origen, 0, arreglo, 0, n);
+    }
+
+    /**
+     * Ordena el arreglo de <code>long</code> recibido usando RadixSort LSD con
+     * dígitos de ocho bits. Hace a lo más ocho pasadas lineales sin importar
+     * el contenido del arreglo, y se salta las de los dígitos que son iguales
+     * en todos los elementos. Usa un arreglo auxiliar del mismo tamaño.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void radixSort(long[] arreglo) {
+        if (arreglo.length <= UMBRAL_RADIX) {
+            quickSort(arreglo);
+            return;
+        }
+        radix(arreglo, null);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando RadixSort LSD sobre la llave entera
+     * de cada elemento, en orden creciente de llaves. El ordenamiento es
+     * estable: los elementos con la misma llave conservan su orden relativo.
+     * La llave de cada elemento se calcula una sola vez, y se usan un arreglo
+     * auxiliar de llaves y otro de elementos del mismo tamaño que el arreglo.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param llave la función que regresa la llave de cada elemento.
+     */
+    public static <T> void radixSort(T[] arreglo, ToLongFunction<T> llave) {
+        long[] llaves = new long[arreglo.length];
+        for (int i = 0; i < arreglo.length; i++)
+            llaves[i] = llave.applyAsLong(arreglo[i]);
+        radix(llaves, arreglo);
+    }
+
+    /**
+     * Regresa la cota inferior del elemento en el arreglo ordenado: el primer
+     * índice cuyo elemento es mayor o igual que el recibido, o la longitud del
+     * arreglo si no hay ninguno. La búsqueda es iterativa y hace una sola
+     * comparación por nivel; el ciclo siempre da el mismo número de vueltas y
+     * sólo elige entre dos índices, lo que el compilador puede hacer sin
+     * saltos.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador con el que está ordenado el arreglo.
+     * @return el primer índice cuyo elemento es mayor o igual que el
+     *         recibido.
+     */
+    public static <T> int
+    cotaInferior(T[] arreglo, T elemento, Comparator<T> comparador) {
+        int n = arreglo.length;
+        if (n == 0)
+            return 0;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = comparador.compare(arreglo[base + mitad], elemento) < 0 ?
+                base + mitad : base;
+            n -= mitad;
+        }
+        return comparador.compare(arreglo[base], elemento) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Regresa la cota inferior del elemento en el arreglo ordenado, como
+     * {@link #cotaInferior(Object[],Object,Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo ordenado cuyos elementos son comparables.
+     * @param elemento el elemento a buscar.
+     * @return el primer índice cuyo elemento es mayor o igual que el
+     *         recibido.
+     */
+    public static <T extends Comparable<T>> int
+    cotaInferior(T[] arreglo, T elemento) {
+        return cotaInferior(arreglo, elemento, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Regresa las cotas inferiores de varios elementos en el arreglo
+     * ordenado. Los elementos se buscan en grupos que avanzan juntos nivel
+     * por nivel, así que los accesos a memoria de las búsquedas de un grupo
+     * son independientes entre sí y el procesador puede traslaparlos.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elementos los elementos a buscar.
+     * @param comparador el comparador con el que está ordenado el arreglo.
+     * @return un arreglo con la cota inferior de cada elemento, en el mismo
+     *         orden.
+     */
+    public static <T> int[]
+    cotasInferiores(T[] arreglo, T[] elementos, Comparator<T> comparador) {
+        int[] cotas = new int[elementos.length];
+        if (arreglo.length == 0)
+            return cotas;
+        for (int g = 0; g < elementos.length; g += LOTE_BUSQUEDA) {
+            int m = Math.min(LOTE_BUSQUEDA, elementos.length - g);
+            int n = arreglo.length;
+            while (n > 1) {
+                int mitad = n >>> 1;
+                for (int j = g; j < g + m; j++) {
+                    int b = cotas[j];
+                    cotas[j] = comparador.compare(arreglo[b + mitad],
+                                                  elementos[j]) < 0 ?
+                        b + mitad : b;
+                }
+                n -= mitad;
+            }
+            for (int j = g; j < g + m; j++)
+                if (comparador.compare(arreglo[cotas[j]], elementos[j]) < 0)
+                    cotas[j]++;
+        }
+        return cotas;
+    }
+
+    /**
+     * Regresa un nuevo arreglo con los elementos del arreglo ordenado
+     * recibido en orden de Eytzinger: el del índice 0 es la raíz de un árbol
+     * binario de búsqueda completo, y los hijos del índice <i>i</i> están en
+     * 2<i>i</i>+1 y 2<i>i</i>+2. Los primeros niveles del árbol quedan
+     * juntos en memoria, lo que hace que las búsquedas repetidas con {@link
+     * #busquedaEytzinger(Object[],Object,Comparator)} usen mejor el caché.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo ordenado.
+     * @return un nuevo arreglo con los elementos en orden de Eytzinger.
+     */
+    public static <T> T[] eytzinger(T[] arreglo) {
+        T[] eytzinger = arreglo.clone();
+        llenaEytzinger(arreglo, eytzinger, 0, 1);
+        return eytzinger;
+    }
+
+    /**
+     * Busca la cota inferior del elemento en un arreglo en orden de
+     * Eytzinger, construido con {@link #eytzinger(Object[])}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param eytzinger el arreglo en orden de Eytzinger dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador con el que se ordenó el arreglo.
+     * @return el índice en el arreglo de Eytzinger del menor elemento mayor o
+     *         igual que el recibido, o -1 si no hay ninguno.
+     */
+    public static <T> int
+    busquedaEytzinger(T[] eytzinger, T elemento, Comparator<T> comparador) {
+        long k = 1;
+        while (k <= eytzinger.length)
+            k = 2 * k + (comparador.compare(eytzinger[(int)k-1],
+                                            elemento) < 0 ? 1 : 0);
+        k >>>= Long.numberOfTrailingZeros(~k) + 1;
+        return (int)k - 1;
+    }
+
+    /**
+     * Regresa la cota inferior del elemento en el arreglo ordenado de
+     * <code>int</code>, como {@link
+     * #cotaInferior(Object[],Object,Comparator)}.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el primer índice cuyo elemento es mayor o igual que el
+     *         recibido.
+     */
+    public static int cotaInferior(int[] arreglo, int elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return 0;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = arreglo[base + mitad] < elemento ? base + mitad : base;
+            n -= mitad;
+        }
+        return arreglo[base] < elemento ? base + 1 : base;
+    }
+
+    /**
+     * Regresa las cotas inferiores de varios elementos en el arreglo ordenado
+     * de <code>int</code>, como {@link
+     * #cotasInferiores(Object[],Object[],Comparator)}.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elementos los elementos a buscar.
+     * @return un arreglo con la cota inferior de cada elemento, en el mismo
+     *         orden.
+     */
+    public static int[] cotasInferiores(int[] arreglo, int[] elementos) {
+        int[] cotas = new int[elementos.length];
+        if (arreglo.length == 0)
+            return cotas;
+        for (int g = 0; g < elementos.length; g += LOTE_BUSQUEDA) {
+            int m = Math.min(LOTE_BUSQUEDA, elementos.length - g);
+            int n = arreglo.length;
+            while (n > 1) {
+                int mitad = n >>> 1;
+                for (int j = g; j < g + m; j++) {
+                    int b = cotas[j];
+                    cotas[j] = arreglo[b + mitad] < elementos[j] ?
+                        b + mitad : b;
+                }
+                n -= mitad;
+            }
+            for (int j = g; j < g + m; j++)
+                if (arreglo[cotas[j]] < elementos[j])
+                    cotas[j]++;
+        }
+        return cotas;
+    }
+
+    /**
+     * Regresa un nuevo arreglo con los elementos del arreglo ordenado de
+     * <code>int</code> en orden de Eytzinger, como {@link
+     * #eytzinger(Object[])}.
+     * @param arreglo el arreglo ordenado.
+     * @return un nuevo arreglo con los elementos en orden de Eytzinger.
+     */
+    public static int[] eytzinger(int[] arreglo) {
+        int[] eytzinger = new int[arreglo.length];
+        llenaEytzinger(arreglo, eytzinger, 0, 1);
+        return eytzinger;
+    }
+
+    /**
+     * Busca la cota inferior del elemento en un arreglo de <code>int</code>
+     * en orden de Eytzinger, construido con {@link #eytzinger(int[])}.
+     * @param eytzinger el arreglo en orden de Eytzinger dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice en el arreglo de Eytzinger del menor elemento mayor o
+     *         igual que el recibido, o -1 si no hay ninguno.
+     */
+    public static int busquedaEytzinger(int[] eytzinger, int elemento) {
+        long k = 1;
+        while (k <= eytzinger.length)
+            k = 2 * k + (eytzinger[(int)k-1] < elemento ? 1 : 0);
+        k >>>= Long.numberOfTrailingZeros(~k) + 1;
+        return (int)k - 1;
+    }
+
+    /**
+     * Regresa la cota inferior del elemento en el arreglo ordenado de
+     * <code>long</code>, como {@link
+     * #cotaInferior(Object[],Object,Comparator)}.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el primer índice cuyo elemento es mayor o igual que el
+     *         recibido.
+     */
+    public static int cotaInferior(long[] arreglo, long elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return 0;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = arreglo[base + mitad] < elemento ? base + mitad : base;
+            n -= mitad;
+        }
+        return arreglo[base] < elemento ? base + 1 : base;
+    }
+
+    /**
+     * Regresa las cotas inferiores de varios elementos en el arreglo ordenado
+     * de <code>long</code>, como {@link
+     * #cotasInferiores(Object[],Object[],Comparator)}.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elementos los elementos a buscar.
+     * @return un arreglo con la cota inferior de cada elemento, en el mismo
+     *         orden.
+     */
+    public static int[] cotasInferiores(long[] arreglo, long[] elementos) {
+        int[] cotas = new int[elementos.length];
+        if (arreglo.length == 0)
+            return cotas;
+        for (int g = 0; g < elementos.length; g += LOTE_BUSQUEDA) {
+            int m = Math.min(LOTE_BUSQUEDA, elementos.length - g);
+            int n = arreglo.length;
+            while (n > 1) {
+                int mitad = n >>> 1;
+                for (int j = g; j < g + m; j++) {
+                    int b = cotas[j];
+                    cotas[j] = arreglo[b + mitad] < elementos[j] ?
+                        b + mitad : b;
+                }
+                n -= mitad;
+            }
+            for (int j = g; j < g + m; j++)
+                if (arreglo[cotas[j]] < elementos[j])
+                    cotas[j]++;
+        }
+        return cotas;
+    }
+
+    /**
+     * Regresa un nuevo arreglo con los elementos del arreglo ordenado de
+     * <code>long</code> en orden de Eytzinger, como {@link
+     * #eytzinger(Object[])}.
+     * @param arreglo el arreglo ordenado.
+     * @return un nuevo arreglo con los elementos en orden de Eytzinger.
+     */
+    public static long[] eytzinger(long[] arreglo) {
+        long[] eytzinger = new long[arreglo.length];
+        llenaEytzinger(arreglo, eytzinger, 0, 1);
+        return eytzinger;
+    }
+
+    /**
+     * Busca la cota inferior del elemento en un arreglo de <code>long</code>
+     * en orden de Eytzinger, construido con {@link #eytzinger(long[])}.
+     * @param eytzinger el arreglo en orden de Eytzinger dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice en el arreglo de Eytzinger del menor elemento mayor o
+     *         igual que el recibido, o -1 si no hay ninguno.
+     */
+    public static int busquedaEytzinger(long[] eytzinger, long elemento) {
+        long k = 1;
+        while (k <= eytzinger.length)
+            k = 2 * k + (eytzinger[(int)k-1] < elemento ? 1 : 0);
+        k >>>= Long.numberOfTrailingZeros(~k) + 1;
+        return (int)k - 1;
+    }
+
+    /**
+     * Regresa la cota inferior del elemento en el arreglo de
+     * <code>double</code>, ordenado con el orden de {@link Double#compare},
+     * como {@link #cotaInferior(Object[],Object,Comparator)}.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar; puede ser <code>NaN</code>.
+     * @return el primer índice cuyo elemento es mayor o igual que el
+     *         recibido.
+     */
+    public static int cotaInferior(double[] arreglo, double elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return 0;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = Double.compare(arreglo[base + mitad], elemento) < 0 ?
+                base + mitad : base;
+            n -= mitad;
+        }
+        return Double.compare(arreglo[base], elemento) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Selecciona el <i>k</i>-ésimo elemento más chico del arreglo (contando
+     * desde cero) usando QuickSelect. Al terminar, el elemento queda en el
+     * índice <i>k</i>, los menores o iguales antes y los mayores o iguales
+     * después. Usa las mismas particiones que {@link
+     * #quickSort(Object[],Comparator)}, así que toma tiempo lineal en
+     * promedio; si la profundidad crece demasiado termina con HeapSort, por
+     * lo que el peor caso es <i>O</i>(<i>n</i> log <i>n</i>).
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo.
+     * @param k el índice del elemento a seleccionar.
+     * @param comparador el comparador para seleccionar el elemento.
+     * @return el <i>k</i>-ésimo elemento más chico del arreglo.
+     * @throws IllegalArgumentException si <i>k</i> está fuera del arreglo.
+     */
+    public static <T> T
+    selecciona(T[] arreglo, int k, Comparator<T> comparador) {
+        if (k < 0 || k >= arreglo.length)
+            throw new IllegalArgumentException();
+        int ini = 0, fin = arreglo.length - 1;
+        int profundidad = profundidadMaxima(arreglo.length);
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin, comparador);
+                return arreglo[k];
+            }
+            int[] partes = parte(arreglo, ini, fin, comparador);
+            int siguiente = -1;
+            for (int i = 0; i < partes.length; i += 2)
+                if (partes[i] <= k && k <= partes[i+1])
+                    siguiente = i;
+            if (siguiente == -1)
+                return arreglo[k];
+            ini = partes[siguiente];
+            fin = partes[siguiente+1];
+        }
+        insercion(arreglo, ini, fin, comparador);
+        return arreglo[k];
+    }
+
+    /**
+     * Selecciona el <i>k</i>-ésimo elemento más chico del arreglo, como
+     * {@link #selecciona(Object[],int,Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @param k el índice del elemento a seleccionar.
+     * @return el <i>k</i>-ésimo elemento más chico del arreglo.
+     * @throws IllegalArgumentException si <i>k</i> está fuera del arreglo.
+     */
+    public static <T extends Comparable<T>> T selecciona(T[] arreglo, int k) {
+        return selecciona(arreglo, k, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena parcialmente el arreglo: al terminar, los primeros <i>k</i>
+     * índices tienen los <i>k</i> elementos más chicos en orden, y el resto
+     * del arreglo queda en un orden cualquiera. Toma tiempo
+     * <i>O</i>(<i>n</i> + <i>k</i> log <i>k</i>) en promedio.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar parcialmente.
+     * @param k el número de elementos a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @throws IllegalArgumentException si <i>k</i> es negativo o mayor que la
+     *         longitud del arreglo.
+     */
+    public static <T> void
+    partialSort(T[] arreglo, int k, Comparator<T> comparador) {
+        if (k < 0 || k > arreglo.length)
+            throw new IllegalArgumentException();
+        if (k == 0)
+            return;
+        if (k < arreglo.length)
+            selecciona(arreglo, k - 1, comparador);
+        quickSort2(arreglo, 0, k - 1, profundidadMaxima(k), comparador);
+    }
+
+    /**
+     * Ordena parcialmente el arreglo, como {@link
+     * #partialSort(Object[],int,Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @param k el número de elementos a ordenar.
+     * @throws IllegalArgumentException si <i>k</i> es negativo o mayor que la
+     *         longitud del arreglo.
+     */
+    public static <T extends Comparable<T>> void
+    partialSort(T[] arreglo, int k) {
+        partialSort(arreglo, k, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Regresa los <i>k</i> elementos más chicos de un iterable, en orden. Los
+     * elementos se recorren una sola vez, guardando los <i>k</i> más chicos
+     * vistos hasta el momento en un montículo de máximos, así que toma tiempo
+     * <i>O</i>(<i>n</i> log <i>k</i>) y sólo <i>O</i>(min(<i>n</i>,
+     * <i>k</i>)) de memoria: el montículo crece conforme llegan elementos.
+     * @param <T> tipo de los elementos.
+     * @param elementos los elementos.
+     * @param k el número de elementos a regresar.
+     * @param comparador el comparador para los elementos.
+     * @return una lista con los <i>k</i> elementos más chicos, en orden; si
+     *         hay menos de <i>k</i> elementos, la lista los tiene todos.
+     * @throws IllegalArgumentException si <i>k</i> es negativo.
+     */
+    public static <T> Lista<T>
+    topK(Iterable<T> elementos, int k, Comparator<T> comparador) {
+        if (k < 0)
+            throw new IllegalArgumentException();
+        @SuppressWarnings("unchecked") T[] monticulo =
+            (T[])new Object[Math.min(k, TOPK_INICIAL)];
+        int n = 0;
+        if (k > 0) {
+            for (T e : elementos) {
+                if (n < k) {
+                    if (n == monticulo.length)
+                        monticulo = Arrays.copyOf(monticulo,
+                                                  (int)Math.min(k, 2L * n));
+                    int i = n++;
+                    while (i > 0 &&
+                           comparador.compare(monticulo[(i-1)/2], e) < 0) {
+                        monticulo[i] = monticulo[(i-1)/2];
+                        i = (i-1)/2;
+                    }
+                    monticulo[i] = e;
+                } else if (comparador.compare(e, monticulo[0]) < 0) {
+                    monticulo[0] = e;
+                    hunde(monticulo, 0, 0, k, comparador);
+                }
+            }
+        }
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(monticulo, 0, m);
+            hunde(monticulo, 0, 0, m, comparador);
+        }
+        Lista<T> lista = new Lista<T>();
+        for (int i = 0; i < n; i++)
+            lista.agrega(monticulo[i]);
+        return lista;
+    }
+
+    /**
+     * Regresa los <i>k</i> elementos más chicos de un iterable, en orden, como
+     * {@link #topK(Iterable,int,Comparator)}.
+     * @param <T> tipo de los elementos.
+     * @param elementos los elementos, que son comparables.
+     * @param k el número de elementos a regresar.
+     * @return una lista con los <i>k</i> elementos más chicos, en orden.
+     * @throws IllegalArgumentException si <i>k</i> es negativo.
+     */
+    public static <T extends Comparable<T>> Lista<T>
+    topK(Iterable<T> elementos, int k) {
+        return topK(elementos, k, (a, b) -> a.compareTo(b));
+    }
 	
     private static <T> void intercambia (T[] arreglo, int x, int y){
 	T temp = arreglo[x]; 
@@ -95,40 +1015,724 @@ public class Arreglos {
 
     } 
     
-    private static <T> int auxBusquedaBinaria (T[] arreglo, T elemento, Comparator<T> comparador, int a, int b){
-	if (b < a){
-		return -1;
-	}else{
-		int m = (a+b)/2;
-		if (comparador.compare(arreglo[m],elemento) < 0){
-			return auxBusquedaBinaria(arreglo, elemento, comparador, m+1, b);
-		}else if(comparador.compare(arreglo[m],elemento) > 0){
-			return auxBusquedaBinaria(arreglo, elemento, comparador, a, m-1);
-		}else{
-			return m;
-		}
-	}
+    /* Capacidad inicial del montículo de topK. */
+    private static final int TOPK_INICIAL = 16;
+
+    /* Tamaño de los subarreglos que se ordenan con InsertionSort. */
+    private static final int UMBRAL_INSERCION = 24;
+
+    /* QuickSort de doble pivote sobre arreglo[ini..fin]. Los pivotes son el
+     * segundo y cuarto de cinco elementos equiespaciados; si son iguales se
+     * hace una partición en tres con un solo pivote. Se ordenan recursivamente
+     * las dos partes más chicas y se itera sobre la más grande, así que la
+     * pila crece a lo más logarítmicamente; si se agota la profundidad se
+     * termina con HeapSort. */
+    private static <T> void quickSort2(T[] arreglo, int ini, int fin,
+                                       int profundidad,
+                                       Comparator<T> comparador) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin, comparador);
+                return;
+            }
+            int[] partes = parte(arreglo, ini, fin, comparador);
+            int mayor = 0;
+            for (int k = 2; k < partes.length; k += 2)
+                if (partes[k+1] - partes[k] > partes[mayor+1] - partes[mayor])
+                    mayor = k;
+            for (int k = 0; k < partes.length; k += 2)
+                if (k != mayor)
+                    quickSort2(arreglo, partes[k], partes[k+1], profundidad,
+                               comparador);
+            ini = partes[mayor];
+            fin = partes[mayor+1];
+        }
+        insercion(arreglo, ini, fin, comparador);
     }
-    private static <T> void quickSort2(T[]arreglo, int ini, int fin, Comparator <T> comparador){
-	if (ini >= fin){
-		return;
-	}
-	int i = ini + 1;
-	int j = fin ;
-	while (i < j){
-		if (comparador.compare (arreglo[i], arreglo[ini]) > 0 && comparador.compare (arreglo[j], arreglo[ini]) <= 0){
-			intercambia (arreglo, i++, j--);
-		}else if (comparador.compare(arreglo[i], arreglo[ini]) <= 0){
-			i++;
-		}else{
-			j--;
-		}	
-	}
-		if (comparador.compare(arreglo[i], arreglo[ini]) > 0){
-			i--;
-		}
-		intercambia (arreglo, i, ini);
-		quickSort2 (arreglo, ini, i-1,comparador);
-		quickSort2 (arreglo, i + 1, fin,comparador);
+
+    /* Escoge los pivotes y parte arreglo[ini..fin], que debe tener más de
+     * UMBRAL_INSERCION elementos; regresa los extremos de las partes que
+     * quedan por ordenar. */
+    private static <T> int[] parte(T[] arreglo, int ini, int fin,
+                                   Comparator<T> comparador) {
+        int largo = fin - ini + 1;
+        int septimo = (largo >> 3) + (largo >> 6) + 1;
+        int e3 = (ini + fin) >>> 1;
+        int e2 = e3 - septimo, e1 = e2 - septimo;
+        int e4 = e3 + septimo, e5 = e4 + septimo;
+        ordenaCinco(arreglo, e1, e2, e3, e4, e5, comparador);
+        if (comparador.compare(arreglo[e2], arreglo[e4]) < 0)
+            return particionDoble(arreglo, ini, fin, e2, e4, comparador);
+        return particionTriple(arreglo, ini, fin, e3, comparador);
+    }
+
+    /* Partición de doble pivote (Yaroslavskiy); regresa los extremos de las
+     * tres partes que quedan por ordenar. */
+    private static <T> int[] particionDoble(T[] arreglo, int ini, int fin,
+                                            int i1, int i2,
+                                            Comparator<T> comparador) {
+        T p = arreglo[i1];
+        T q = arreglo[i2];
+        arreglo[i1] = arreglo[ini];
+        arreglo[i2] = arreglo[fin];
+        int menor = ini + 1;
+        int mayor = fin - 1;
+        for (int k = menor; k <= mayor; k++) {
+            T ak = arreglo[k];
+            if (comparador.compare(ak, p) < 0) {
+                arreglo[k] = arreglo[menor];
+                arreglo[menor++] = ak;
+            } else if (comparador.compare(ak, q) > 0) {
+                while (k < mayor && comparador.compare(arreglo[mayor], q) > 0)
+                    mayor--;
+                arreglo[k] = arreglo[mayor];
+                arreglo[mayor--] = ak;
+                ak = arreglo[k];
+                if (comparador.compare(ak, p) < 0) {
+                    arreglo[k] = arreglo[menor];
+                    arreglo[menor++] = ak;
+                }
+            }
+        }
+        menor--;
+        mayor++;
+        arreglo[ini] = arreglo[menor];
+        arreglo[menor] = p;
+        arreglo[fin] = arreglo[mayor];
+        arreglo[mayor] = q;
+        return new int[] { ini, menor - 1, menor + 1, mayor - 1,
+                           mayor + 1, fin };
+    }
+
+    /* Partición en tres (menores, iguales y mayores que el pivote); regresa
+     * los extremos de las dos partes que quedan por ordenar. */
+    private static <T> int[] particionTriple(T[] arreglo, int ini, int fin,
+                                             int ip, Comparator<T> comparador) {
+        T p = arreglo[ip];
+        int menor = ini, mayor = fin, k = ini;
+        while (k <= mayor) {
+            int c = comparador.compare(arreglo[k], p);
+            if (c < 0)
+                intercambia(arreglo, menor++, k++);
+            else if (c > 0)
+                intercambia(arreglo, k, mayor--);
+            else
+                k++;
+        }
+        return new int[] { ini, menor - 1, mayor + 1, fin };
+    }
+
+    /* Ordena con InsertionSort los cinco elementos en las posiciones
+     * recibidas. */
+    private static <T> void ordenaCinco(T[] arreglo, int e1, int e2, int e3,
+                                        int e4, int e5,
+                                        Comparator<T> comparador) {
+        int[] e = { e1, e2, e3, e4, e5 };
+        for (int i = 1; i < 5; i++) {
+            T t = arreglo[e[i]];
+            int j = i - 1;
+            while (j >= 0 && comparador.compare(arreglo[e[j]], t) > 0) {
+                arreglo[e[j+1]] = arreglo[e[j]];
+                j--;
+            }
+            arreglo[e[j+1]] = t;
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con InsertionSort. */
+    private static <T> void insercion(T[] arreglo, int ini, int fin,
+                                      Comparator<T> comparador) {
+        for (int i = ini + 1; i <= fin; i++) {
+            T t = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && comparador.compare(arreglo[j], t) > 0) {
+                arreglo[j+1] = arreglo[j];
+                j--;
+            }
+            arreglo[j+1] = t;
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con HeapSort. */
+    private static <T> void heapSort(T[] arreglo, int ini, int fin,
+                                     Comparator<T> comparador) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hunde(arreglo, ini, i, n, comparador);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            hunde(arreglo, ini, 0, m, comparador);
+        }
+    }
+
+    /* Hunde el elemento i en el montículo máximo arreglo[ini..ini+n-1]. */
+    private static <T> void hunde(T[] arreglo, int ini, int i, int n,
+                                  Comparator<T> comparador) {
+        T t = arreglo[ini + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n &&
+                comparador.compare(arreglo[ini + hijo + 1],
+                                   arreglo[ini + hijo]) > 0)
+                hijo++;
+            if (comparador.compare(arreglo[ini + hijo], t) <= 0)
+                break;
+            arreglo[ini + i] = arreglo[ini + hijo];
+            i = hijo;
+        }
+        arreglo[ini + i] = t;
+    }
+
+    /* MergeSort secuencial y estable de [ini, fin): los elementos están en
+     * origen y en destino, y quedan ordenados en destino. */
+    private static <T> void mergeSort(T[] origen, T[] destino, int ini,
+                                      int fin, Comparator<T> comparador) {
+        if (fin - ini <= UMBRAL_INSERCION) {
+            insercion(destino, ini, fin - 1, comparador);
+            return;
+        }
+        int m = (ini + fin) >>> 1;
+        mergeSort(destino, origen, ini, m, comparador);
+        mergeSort(destino, origen, m, fin, comparador);
+        if (comparador.compare(origen[m-1], origen[m]) <= 0) {
+            System.arraycopy(origen, ini, destino, ini, fin - ini);
+            return;
+        }
+        mezcla(origen, ini, m, m, fin, destino, ini, comparador);
+    }
+
+    /* Mezcla origen[i1, f1) y origen[i2, f2) en destino a partir de d; en
+     * caso de empate toma primero del primer subarreglo. */
+    private static <T> void mezcla(T[] origen, int i1, int f1, int i2, int f2,
+                                   T[] destino, int d,
+                                   Comparator<T> comparador) {
+        while (i1 < f1 && i2 < f2)
+            destino[d++] = comparador.compare(origen[i2], origen[i1]) < 0 ?
+                origen[i2++] : origen[i1++];
+        while (i1 < f1)
+            destino[d++] = origen[i1++];
+        while (i2 < f2)
+            destino[d++] = origen[i2++];
+    }
+
+    /* Regresa el primer índice en [ini, fin) cuyo elemento es mayor o igual
+     * (o estrictamente mayor, si estricta) que el elemento recibido. */
+    private static <T> int cota(T[] arreglo, int ini, int fin, T elemento,
+                                boolean estricta, Comparator<T> comparador) {
+        while (ini < fin) {
+            int m = (ini + fin) >>> 1;
+            int c = comparador.compare(arreglo[m], elemento);
+            if (c < 0 || (estricta && c == 0))
+                ini = m + 1;
+            else
+                fin = m;
+        }
+        return ini;
+    }
+
+    /* QuickSort de doble pivote sobre arreglo[ini..fin] de int; es el mismo
+     * algoritmo que el de objetos, con la partición en línea. */
+    private static void quickSort2(int[] arreglo, int ini, int fin,
+                                   int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int largo = fin - ini + 1;
+            int septimo = (largo >> 3) + (largo >> 6) + 1;
+            int e3 = (ini + fin) >>> 1;
+            int e2 = e3 - septimo, e1 = e2 - septimo;
+            int e4 = e3 + septimo, e5 = e4 + septimo;
+            ordenaCinco(arreglo, e1, e2, e3, e4, e5);
+            if (arreglo[e2] < arreglo[e4]) {
+                int p = arreglo[e2];
+                int q = arreglo[e4];
+                arreglo[e2] = arreglo[ini];
+                arreglo[e4] = arreglo[fin];
+                int menor = ini + 1;
+                int mayor = fin - 1;
+                for (int k = menor; k <= mayor; k++) {
+                    int ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > q) {
+                        while (k < mayor && arreglo[mayor] > q)
+                            mayor--;
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                        ak = arreglo[k];
+                        if (ak < p) {
+                            arreglo[k] = arreglo[menor];
+                            arreglo[menor++] = ak;
+                        }
+                    }
+                }
+                menor--;
+                mayor++;
+                arreglo[ini] = arreglo[menor];
+                arreglo[menor] = p;
+                arreglo[fin] = arreglo[mayor];
+                arreglo[mayor] = q;
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                quickSort2(arreglo, mayor + 1, fin, profundidad);
+                ini = menor + 1;
+                fin = mayor - 1;
+            } else {
+                int p = arreglo[e3];
+                int menor = ini, k = ini, mayor = fin;
+                while (k <= mayor) {
+                    int ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k++] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > p) {
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                    } else {
+                        k++;
+                    }
+                }
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                ini = mayor + 1;
+            }
+        }
+        insercion(arreglo, ini, fin);
+    }
+
+    /* Ordena cinco elementos de int del arreglo con InsertionSort. */
+    private static void ordenaCinco(int[] arreglo, int e1, int e2, int e3,
+                                    int e4, int e5) {
+        int[] e = { e1, e2, e3, e4, e5 };
+        for (int i = 1; i < 5; i++) {
+            int t = arreglo[e[i]];
+            int j = i - 1;
+            while (j >= 0 && arreglo[e[j]] > t) {
+                arreglo[e[j+1]] = arreglo[e[j]];
+                j--;
+            }
+            arreglo[e[j+1]] = t;
+        }
+    }
+
+    /* InsertionSort sobre arreglo[ini..fin] de int. */
+    private static void insercion(int[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            int t = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > t) {
+                arreglo[j+1] = arreglo[j];
+                j--;
+            }
+            arreglo[j+1] = t;
+        }
+    }
+
+    /* HeapSort sobre arreglo[ini..fin] de int. */
+    private static void heapSort(int[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hunde(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            int t = arreglo[ini];
+            arreglo[ini] = arreglo[ini + m];
+            arreglo[ini + m] = t;
+            hunde(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de int en arreglo[ini..ini+n-1]. */
+    private static void hunde(int[] arreglo, int ini, int i, int n) {
+        int t = arreglo[ini + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[ini + hijo + 1] > arreglo[ini + hijo])
+                hijo++;
+            if (arreglo[ini + hijo] <= t)
+                break;
+            arreglo[ini + i] = arreglo[ini + hijo];
+            i = hijo;
+        }
+        arreglo[ini + i] = t;
+    }
+
+    /* QuickSort de doble pivote sobre arreglo[ini..fin] de long; es el mismo
+     * algoritmo que el de objetos, con la partición en línea. */
+    private static void quickSort2(long[] arreglo, int ini, int fin,
+                                   int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int largo = fin - ini + 1;
+            int septimo = (largo >> 3) + (largo >> 6) + 1;
+            int e3 = (ini + fin) >>> 1;
+            int e2 = e3 - septimo, e1 = e2 - septimo;
+            int e4 = e3 + septimo, e5 = e4 + septimo;
+            ordenaCinco(arreglo, e1, e2, e3, e4, e5);
+            if (arreglo[e2] < arreglo[e4]) {
+                long p = arreglo[e2];
+                long q = arreglo[e4];
+                arreglo[e2] = arreglo[ini];
+                arreglo[e4] = arreglo[fin];
+                int menor = ini + 1;
+                int mayor = fin - 1;
+                for (int k = menor; k <= mayor; k++) {
+                    long ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > q) {
+                        while (k < mayor && arreglo[mayor] > q)
+                            mayor--;
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                        ak = arreglo[k];
+                        if (ak < p) {
+                            arreglo[k] = arreglo[menor];
+                            arreglo[menor++] = ak;
+                        }
+                    }
+                }
+                menor--;
+                mayor++;
+                arreglo[ini] = arreglo[menor];
+                arreglo[menor] = p;
+                arreglo[fin] = arreglo[mayor];
+                arreglo[mayor] = q;
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                quickSort2(arreglo, mayor + 1, fin, profundidad);
+                ini = menor + 1;
+                fin = mayor - 1;
+            } else {
+                long p = arreglo[e3];
+                int menor = ini, k = ini, mayor = fin;
+                while (k <= mayor) {
+                    long ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k++] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > p) {
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                    } else {
+                        k++;
+                    }
+                }
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                ini = mayor + 1;
+            }
+        }
+        insercion(arreglo, ini, fin);
+    }
+
+    /* Ordena cinco elementos de long del arreglo con InsertionSort. */
+    private static void ordenaCinco(long[] arreglo, int e1, int e2, int e3,
+                                    int e4, int e5) {
+        int[] e = { e1, e2, e3, e4, e5 };
+        for (int i = 1; i < 5; i++) {
+            long t = arreglo[e[i]];
+            int j = i - 1;
+            while (j >= 0 && arreglo[e[j]] > t) {
+                arreglo[e[j+1]] = arreglo[e[j]];
+                j--;
+            }
+            arreglo[e[j+1]] = t;
+        }
+    }
+
+    /* InsertionSort sobre arreglo[ini..fin] de long. */
+    private static void insercion(long[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            long t = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > t) {
+                arreglo[j+1] = arreglo[j];
+                j--;
+            }
+            arreglo[j+1] = t;
+        }
+    }
+
+    /* HeapSort sobre arreglo[ini..fin] de long. */
+    private static void heapSort(long[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hunde(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            long t = arreglo[ini];
+            arreglo[ini] = arreglo[ini + m];
+            arreglo[ini + m] = t;
+            hunde(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de long en arreglo[ini..ini+n-1]. */
+    private static void hunde(long[] arreglo, int ini, int i, int n) {
+        long t = arreglo[ini + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[ini + hijo + 1] > arreglo[ini + hijo])
+                hijo++;
+            if (arreglo[ini + hijo] <= t)
+                break;
+            arreglo[ini + i] = arreglo[ini + hijo];
+            i = hijo;
+        }
+        arreglo[ini + i] = t;
+    }
+
+    /* QuickSort de doble pivote sobre arreglo[ini..fin] de double; es el mismo
+     * algoritmo que el de objetos, con la partición en línea. */
+    private static void quickSort2(double[] arreglo, int ini, int fin,
+                                   int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int largo = fin - ini + 1;
+            int septimo = (largo >> 3) + (largo >> 6) + 1;
+            int e3 = (ini + fin) >>> 1;
+            int e2 = e3 - septimo, e1 = e2 - septimo;
+            int e4 = e3 + septimo, e5 = e4 + septimo;
+            ordenaCinco(arreglo, e1, e2, e3, e4, e5);
+            if (arreglo[e2] < arreglo[e4]) {
+                double p = arreglo[e2];
+                double q = arreglo[e4];
+                arreglo[e2] = arreglo[ini];
+                arreglo[e4] = arreglo[fin];
+                int menor = ini + 1;
+                int mayor = fin - 1;
+                for (int k = menor; k <= mayor; k++) {
+                    double ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > q) {
+                        while (k < mayor && arreglo[mayor] > q)
+                            mayor--;
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                        ak = arreglo[k];
+                        if (ak < p) {
+                            arreglo[k] = arreglo[menor];
+                            arreglo[menor++] = ak;
+                        }
+                    }
+                }
+                menor--;
+                mayor++;
+                arreglo[ini] = arreglo[menor];
+                arreglo[menor] = p;
+                arreglo[fin] = arreglo[mayor];
+                arreglo[mayor] = q;
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                quickSort2(arreglo, mayor + 1, fin, profundidad);
+                ini = menor + 1;
+                fin = mayor - 1;
+            } else {
+                double p = arreglo[e3];
+                int menor = ini, k = ini, mayor = fin;
+                while (k <= mayor) {
+                    double ak = arreglo[k];
+                    if (ak < p) {
+                        arreglo[k++] = arreglo[menor];
+                        arreglo[menor++] = ak;
+                    } else if (ak > p) {
+                        arreglo[k] = arreglo[mayor];
+                        arreglo[mayor--] = ak;
+                    } else {
+                        k++;
+                    }
+                }
+                quickSort2(arreglo, ini, menor - 1, profundidad);
+                ini = mayor + 1;
+            }
+        }
+        insercion(arreglo, ini, fin);
+    }
+
+    /* Ordena cinco elementos de double del arreglo con InsertionSort. */
+    private static void ordenaCinco(double[] arreglo, int e1, int e2, int e3,
+                                    int e4, int e5) {
+        int[] e = { e1, e2, e3, e4, e5 };
+        for (int i = 1; i < 5; i++) {
+            double t = arreglo[e[i]];
+            int j = i - 1;
+            while (j >= 0 && arreglo[e[j]] > t) {
+                arreglo[e[j+1]] = arreglo[e[j]];
+                j--;
+            }
+            arreglo[e[j+1]] = t;
+        }
+    }
+
+    /* InsertionSort sobre arreglo[ini..fin] de double. */
+    private static void insercion(double[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            double t = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > t) {
+                arreglo[j+1] = arreglo[j];
+                j--;
+            }
+            arreglo[j+1] = t;
+        }
+    }
+
+    /* HeapSort sobre arreglo[ini..fin] de double. */
+    private static void heapSort(double[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hunde(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            double t = arreglo[ini];
+            arreglo[ini] = arreglo[ini + m];
+            arreglo[ini + m] = t;
+            hunde(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de double en arreglo[ini..ini+n-1]. */
+    private static void hunde(double[] arreglo, int ini, int i, int n) {
+        double t = arreglo[ini + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[ini + hijo + 1] > arreglo[ini + hijo])
+                hijo++;
+            if (arreglo[ini + hijo] <= t)
+                break;
+            arreglo[ini + i] = arreglo[ini + hijo];
+            i = hijo;
+        }
+        arreglo[ini + i] = t;
+    }
+
+    /* Mueve los NaN al final del arreglo; regresa el índice del último
+     * elemento que no es NaN. */
+    private static int separaNaN(double[] arreglo) {
+        int fin = arreglo.length - 1;
+        for (int i = fin; i >= 0; i--) {
+            if (Double.isNaN(arreglo[i])) {
+                double t = arreglo[i];
+                arreglo[i] = arreglo[fin];
+                arreglo[fin--] = t;
+            }
+        }
+        return fin;
+    }
+
+    /* En arreglo[0..fin], ordenado sin distinguir los ceros, pone los -0.0
+     * antes de los 0.0. */
+    private static void ordenaCeros(double[] arreglo, int fin) {
+        int a = 0, b = fin + 1;
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (arreglo[m] < 0.0)
+                a = m + 1;
+            else
+                b = m;
+        }
+        int negativos = 0, i;
+        for (i = a; i <= fin && arreglo[i] == 0.0; i++)
+            if (Double.doubleToRawLongBits(arreglo[i]) < 0)
+                negativos++;
+        for (int j = a; j < i; j++)
+            arreglo[j] = j < a + negativos ? -0.0 : 0.0;
+    }
+
+    /* RadixSort LSD sobre las llaves; si los elementos no son null, se
+     * mueven junto con sus llaves. */
+    private static <T> void radix(long[] llaves, T[] elementos) {
+        int n = llaves.length;
+        if (n == 0)
+            return;
+        int[][] cuentas = new int[8][RAIZ + 1];
+        for (long x : llaves) {
+            long u = x ^ Long.MIN_VALUE;
+            for (int d = 0; d < 8; d++)
+                cuentas[d][(int)((u >>> (8 * d)) & 0xff) + 1]++;
+        }
+        long[] origen = llaves, destino = new long[n];
+        T[] eOrigen = elementos;
+        T[] eDestino = elementos == null ? null : elementos.clone();
+        for (int d = 0; d < 8; d++) {
+            int[] c = cuentas[d];
+            int corrimiento = 8 * d;
+            if (c[(int)(((origen[0] ^ Long.MIN_VALUE) >>> corrimiento) & 0xff)
+                  + 1] == n)
+                continue;
+            for (int i = 0; i < RAIZ; i++)
+                c[i+1] += c[i];
+            for (int i = 0; i < n; i++) {
+                long x = origen[i];
+                int p = c[(int)(((x ^ Long.MIN_VALUE) >>> corrimiento) & 0xff)]++;
+                destino[p] = x;
+                if (eOrigen != null)
+                    eDestino[p] = eOrigen[i];
+            }
+            long[] t = origen;
+            origen = destino;
+            destino = t;
+            T[] e = eOrigen;
+            eOrigen = eDestino;
+            eDestino = e;
+        }
+        if (origen != llaves) {
+            System.arraycopy(origen, 0, llaves, 0, n);
+            if (elementos != null)
+                System.arraycopy(eOrigen, 0, elementos, 0, n);
+        }
+    }
+
+    /* Llena el subárbol de Eytzinger con raíz en k (empezando en uno) con los
+     * elementos del arreglo ordenado a partir de i; regresa el siguiente
+     * índice del arreglo ordenado. La recursión tiene profundidad
+     * logarítmica; k es long porque 2k se desborda en un int con arreglos de
+     * 2^30 elementos o más. */
+    private static <T> int llenaEytzinger(T[] arreglo, T[] eytzinger,
+                                          int i, long k) {
+        if (k > arreglo.length)
+            return i;
+        i = llenaEytzinger(arreglo, eytzinger, i, 2 * k);
+        eytzinger[(int)k-1] = arreglo[i++];
+        return llenaEytzinger(arreglo, eytzinger, i, 2 * k + 1);
+    }
+
+    /* Llena el subárbol de Eytzinger con raíz en k (empezando en uno) con los
+     * elementos del arreglo ordenado a partir de i; regresa el siguiente
+     * índice del arreglo ordenado. La recursión tiene profundidad
+     * logarítmica; k es long porque 2k se desborda en un int con arreglos de
+     * 2^30 elementos o más. */
+    private static int llenaEytzinger(int[] arreglo, int[] eytzinger,
+                                      int i, long k) {
+        if (k > arreglo.length)
+            return i;
+        i = llenaEytzinger(arreglo, eytzinger, i, 2 * k);
+        eytzinger[(int)k-1] = arreglo[i++];
+        return llenaEytzinger(arreglo, eytzinger, i, 2 * k + 1);
+    }
+
+    /* Llena el subárbol de Eytzinger con raíz en k (empezando en uno) con los
+     * elementos del arreglo ordenado a partir de i; regresa el siguiente
+     * índice del arreglo ordenado. La recursión tiene profundidad
+     * logarítmica; k es long porque 2k se desborda en un int con arreglos de
+     * 2^30 elementos o más. */
+    private static int llenaEytzinger(long[] arreglo, long[] eytzinger,
+                                      int i, long k) {
+        if (k > arreglo.length)
+            return i;
+        i = llenaEytzinger(arreglo, eytzinger, i, 2 * k);
+        eytzinger[(int)k-1] = arreglo[i++];
+        return llenaEytzinger(arreglo, eytzinger, i, 2 * k + 1);
+    }
+
+    /* Regresa dos veces el logaritmo base 2 de n, la profundidad máxima de
+     * QuickSort antes de cambiar a HeapSort. */
+    private static int profundidadMaxima(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
     }
 }
@@ -0,0 +1,212 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para bicolas (<em>deques</em>) genéricas. Una bicola permite meter
+ * y sacar elementos por ambos extremos en tiempo constante, así que sirve
+ * tanto de {@link Cola} como de {@link Pila}, y para algoritmos que usan los
+ * dos extremos, como BFS 0-1 o ventanas deslizantes.</p>
+ *
+ * <p>A diferencia de las demás estructuras de la familia {@link MeteSaca}, la
+ * bicola no usa nodos: sus elementos viven en un arreglo circular que se
+ * duplica cuando se llena. Los métodos heredados {@link #mete}, {@link #saca}
+ * y {@link #mira} se comportan como en una cola: meten al final, y sacan y
+ * miran al inicio.</p>
+ */
+public class Bicola<T> extends MeteSaca<T> {
+
+    /* Capacidad inicial del arreglo. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* El arreglo circular; su longitud es potencia de dos. */
+    private Object[] arreglo;
+    /* El índice del primer elemento. */
+    private int inicio;
+    /* El número de elementos. */
+    private int elementos;
+
+    /**
+     * Construye una bicola vacía.
+     */
+    public Bicola() {
+        arreglo = new Object[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Agrega un elemento al inicio de la bicola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void meteInicio(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (elementos == arreglo.length)
+            crece();
+        inicio = (inicio - 1) & (arreglo.length - 1);
+        arreglo[inicio] = elemento;
+        elementos++;
+    }
+
+    /**
+     * Agrega un elemento al final de la bicola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void meteFinal(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (elementos == arreglo.length)
+            crece();
+        arreglo[(inicio + elementos) & (arreglo.length - 1)] = elemento;
+        elementos++;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la bicola y lo regresa.
+     * @return el elemento al inicio de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    public T sacaInicio() {
+        T elemento = miraInicio();
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al final de la bicola y lo regresa.
+     * @return el elemento al final de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    public T sacaFinal() {
+        T elemento = miraFinal();
+        elementos--;
+        arreglo[(inicio + elementos) & (arreglo.length - 1)] = null;
+        return elemento;
+    }
+
+    /**
+     * Regresa el elemento al inicio de la bicola, sin sacarlo.
+     * @return el elemento al inicio de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    public T miraInicio() {
+        return get(0);
+    }
+
+    /**
+     * Regresa el elemento al final de la bicola, sin sacarlo.
+     * @return el elemento al final de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    public T miraFinal() {
+        return get(elementos - 1);
+    }
+
+    /**
+     * Agrega un elemento al final de la bicola. Es equivalente a {@link
+     * #meteFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        meteFinal(elemento);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la bicola y lo regresa. Es equivalente
+     * a {@link #sacaInicio}.
+     * @return el elemento al inicio de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    @Override public T saca() {
+        return sacaInicio();
+    }
+
+    /**
+     * Regresa el elemento al inicio de la bicola, sin sacarlo. Es equivalente
+     * a {@link #miraInicio}.
+     * @return el elemento al inicio de la bicola.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    @Override public T mira() {
+        return miraInicio();
+    }
+
+    /**
+     * Regresa el número de elementos en la bicola.
+     * @return el número de elementos en la bicola.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si la bicola está vacía.
+     * @return <tt>true</tt> si la bicola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia la bicola de elementos, dejándola vacía.
+     */
+    public void limpia() {
+        arreglo = new Object[CAPACIDAD_INICIAL];
+        inicio = 0;
+        elementos = 0;
+    }
+
+    /**
+     * Regresa una representación en cadena de la bicola, del inicio al final.
+     * @return una representación en cadena de la bicola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(get(i)).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la bicola con un objeto.
+     * @param o el objeto con el que queremos comparar la bicola.
+     * @return <code>true</code> si el objeto recibido es una bicola con los
+     *         mismos elementos en el mismo orden; <code>false</code> en otro
+     *         caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") Bicola<T> b = (Bicola<T>)o;
+        if (elementos != b.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!get(i).equals(b.get(i)))
+                return false;
+        return true;
+    }
+
+    /* Regresa el i-ésimo elemento a partir del inicio. */
+    @SuppressWarnings("unchecked") private T get(int i) {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return (T)arreglo[(inicio + i) & (arreglo.length - 1)];
+    }
+
+    /* Duplica el arreglo, dejando el primer elemento en el índice 0. */
+    private void crece() {
+        Object[] nuevo = new Object[2 * arreglo.length];
+        for (int i = 0; i < elementos; i++)
+            nuevo[i] = arreglo[(inicio + i) & (arreglo.length - 1)];
+        arreglo = nuevo;
+        inicio = 0;
+    }
+}
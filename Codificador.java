@@ -0,0 +1,37 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interfaz para codificar registros a bytes y decodificarlos de regreso. La
+ * usa {@link OrdenamientoExterno} para escribir y leer los registros de sus
+ * archivos; el codificador sólo se ocupa del contenido de cada registro, no de
+ * separar un registro del siguiente.
+ * @param <T> el tipo de los registros.
+ */
+public interface Codificador<T> {
+
+    /**
+     * Regresa el número de bytes que ocupa el registro codificado.
+     * @param registro el registro.
+     * @return el número de bytes que ocupa el registro codificado.
+     */
+    public int tamaño(T registro);
+
+    /**
+     * Codifica el registro en el buffer, a partir de su posición actual. El
+     * buffer tiene al menos {@link #tamaño} bytes disponibles, y el
+     * codificador debe escribir exactamente ese número de bytes.
+     * @param registro el registro.
+     * @param buffer el buffer donde se codifica el registro.
+     */
+    public void codifica(T registro, ByteBuffer buffer);
+
+    /**
+     * Decodifica un registro del buffer. El buffer contiene exactamente los
+     * bytes de un registro, de su posición actual a su límite.
+     * @param buffer el buffer con el registro codificado.
+     * @return el registro decodificado.
+     */
+    public T decodifica(ByteBuffer buffer);
+}
@@ -0,0 +1,286 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para colas bloqueantes acotadas. Es la variante de {@link Cola}
+ * para conectar etapas de un proceso que corren en hilos distintos: si la cola
+ * está llena, los productores esperan a que haya espacio, y si está vacía, los
+ * consumidores esperan a que haya elementos. Así una etapa lenta frena a las
+ * que la alimentan, en lugar de dejar crecer la cola sin límite.</p>
+ *
+ * <p>La cola usa un {@link ReentrantLock} con dos condiciones en lugar de
+ * <code>synchronized</code> y <code>wait</code>, así que los hilos virtuales
+ * que esperan en ella no fijan a su hilo portador. Los elementos viven en un
+ * arreglo circular de la capacidad de la cola.</p>
+ *
+ * <p>La cola lleva métricas de su profundidad: el número de elementos actual,
+ * el máximo alcanzado, y el total de elementos que han entrado y salido.</p>
+ * @param <T> el tipo de los elementos de la cola.
+ */
+public class ColaBloqueante<T> {
+
+    /* El candado de la cola. */
+    private ReentrantLock candado;
+    /* Condición para los productores que esperan espacio. */
+    private Condition noLlena;
+    /* Condición para los consumidores que esperan elementos. */
+    private Condition noVacia;
+    /* El arreglo circular de elementos. */
+    private Object[] elementos;
+    /* El índice del primer elemento. */
+    private int cabeza;
+    /* El número de elementos. */
+    private int longitud;
+    /* El máximo número de elementos que ha tenido la cola. */
+    private int profundidadMaxima;
+    /* El número de elementos que han entrado a la cola. */
+    private long metidos;
+    /* El número de elementos que han salido de la cola. */
+    private long sacados;
+
+    /**
+     * Construye una cola bloqueante vacía con la capacidad recibida.
+     * @param capacidad el número máximo de elementos en la cola.
+     * @throws IllegalArgumentException si <code>capacidad</code> es menor que
+     *         uno.
+     */
+    public ColaBloqueante(int capacidad) {
+        if (capacidad < 1)
+            throw new IllegalArgumentException();
+        candado = new ReentrantLock();
+        noLlena = candado.newCondition();
+        noVacia = candado.newCondition();
+        elementos = new Object[capacidad];
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, esperando a que haya espacio si
+     * la cola está llena.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public void mete(T elemento) throws InterruptedException {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        candado.lockInterruptibly();
+        try {
+            while (longitud == elementos.length)
+                noLlena.await();
+            agrega(elemento);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, esperando a lo más el tiempo
+     * recibido a que haya espacio si la cola está llena.
+     * @param elemento el elemento a agregar.
+     * @param tiempo el tiempo máximo a esperar.
+     * @param unidad la unidad del tiempo.
+     * @return <code>true</code> si el elemento se agregó a la cola,
+     *         <code>false</code> si se agotó el tiempo sin que hubiera
+     *         espacio.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public boolean mete(T elemento, long tiempo, TimeUnit unidad)
+        throws InterruptedException {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long espera = unidad.toNanos(tiempo);
+        candado.lockInterruptibly();
+        try {
+            while (longitud == elementos.length) {
+                if (espera <= 0)
+                    return false;
+                espera = noLlena.awaitNanos(espera);
+            }
+            agrega(elemento);
+            return true;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a que
+     * haya elementos si la cola está vacía.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public T saca() throws InterruptedException {
+        candado.lockInterruptibly();
+        try {
+            while (longitud == 0)
+                noVacia.await();
+            return elimina();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a lo
+     * más el tiempo recibido a que haya elementos si la cola está vacía.
+     * @param tiempo el tiempo máximo a esperar.
+     * @param unidad la unidad del tiempo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si se
+     *         agotó el tiempo sin que hubiera elementos.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public T saca(long tiempo, TimeUnit unidad) throws InterruptedException {
+        long espera = unidad.toNanos(tiempo);
+        candado.lockInterruptibly();
+        try {
+            while (longitud == 0) {
+                if (espera <= 0)
+                    return null;
+                espera = noVacia.awaitNanos(espera);
+            }
+            return elimina();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Saca hasta <code>maximo</code> elementos de la cola, en orden, y los
+     * agrega a la colección recibida. El método no espera: sólo transfiere
+     * los elementos que la cola tiene en ese momento, tomando el candado una
+     * sola vez para todo el lote.
+     * @param destino la colección donde se agregan los elementos.
+     * @param maximo el máximo número de elementos a sacar.
+     * @return el número de elementos que se sacaron de la cola.
+     * @throws IllegalArgumentException si <code>maximo</code> es negativo.
+     * @throws RuntimeException si agregar al destino lanza una excepción; los
+     *         elementos ya agregados salen de la cola y los demás se quedan.
+     */
+    @SuppressWarnings("unchecked")
+    public int drenaA(Coleccion<? super T> destino, int maximo) {
+        if (maximo < 0)
+            throw new IllegalArgumentException();
+        candado.lock();
+        try {
+            int n = Math.min(maximo, longitud);
+            int drenados = 0;
+            try {
+                for (; drenados < n; drenados++) {
+                    destino.agrega((T)elementos[cabeza]);
+                    elementos[cabeza] = null;
+                    cabeza = (cabeza + 1) % elementos.length;
+                    longitud--;
+                    sacados++;
+                }
+            } finally {
+                if (drenados > 0)
+                    noLlena.signalAll();
+            }
+            return n;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos() {
+        candado.lock();
+        try {
+            return longitud;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return getElementos() == 0;
+    }
+
+    /**
+     * Regresa la capacidad de la cola.
+     * @return la capacidad de la cola.
+     */
+    public int getCapacidad() {
+        return elementos.length;
+    }
+
+    /**
+     * Regresa el máximo número de elementos que ha tenido la cola.
+     * @return el máximo número de elementos que ha tenido la cola.
+     */
+    public int getProfundidadMaxima() {
+        candado.lock();
+        try {
+            return profundidadMaxima;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de elementos que han entrado a la cola.
+     * @return el número de elementos que han entrado a la cola.
+     */
+    public long getMetidos() {
+        candado.lock();
+        try {
+            return metidos;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de elementos que han salido de la cola.
+     * @return el número de elementos que han salido de la cola.
+     */
+    public long getSacados() {
+        candado.lock();
+        try {
+            return sacados;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /* Agrega un elemento al final del arreglo; el candado debe estar
+     * tomado y la cola no debe estar llena. */
+    private void agrega(T elemento) {
+        elementos[(cabeza + longitud) % elementos.length] = elemento;
+        longitud++;
+        metidos++;
+        if (longitud > profundidadMaxima)
+            profundidadMaxima = longitud;
+        noVacia.signal();
+    }
+
+    /* Elimina el primer elemento del arreglo; el candado debe estar tomado y
+     * la cola no debe estar vacía. */
+    @SuppressWarnings("unchecked") private T elimina() {
+        T elemento = (T)elementos[cabeza];
+        elementos[cabeza] = null;
+        cabeza = (cabeza + 1) % elementos.length;
+        longitud--;
+        sacados++;
+        noLlena.signal();
+        return elemento;
+    }
+}
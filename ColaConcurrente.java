@@ -0,0 +1,52 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Interfaz para colas concurrentes sin candados. Es la contraparte de
+ * {@link Cola} para pasar elementos entre hilos: varios hilos pueden meter y
+ * sacar elementos al mismo tiempo sin sincronizarse con
+ * <code>synchronized</code>.</p>
+ *
+ * <p>Ninguna operación bloquea al hilo que la llama; en lugar de lanzar
+ * excepciones o esperar cuando la cola está llena o vacía, las operaciones
+ * regresan si tuvieron éxito. Por lo mismo, las colas concurrentes no aceptan
+ * a <code>null</code> como elemento.</p>
+ * @param <T> el tipo de los elementos de la cola.
+ */
+public interface ColaConcurrente<T> {
+
+    /**
+     * Agrega un elemento al final de la cola, si hay espacio para él.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó a la cola,
+     *         <code>false</code> si la cola estaba llena.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public boolean mete(T elemento);
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la cola
+     *         estaba vacía.
+     */
+    public T saca();
+
+    /**
+     * Saca hasta <code>maximo</code> elementos de la cola, en orden, y los
+     * agrega a la colección recibida. La operación reclama los elementos por
+     * lotes, así que es más barata que llamar {@link #saca} por cada uno.
+     * @param destino la colección donde se agregan los elementos.
+     * @param maximo el máximo número de elementos a sacar.
+     * @return el número de elementos que se sacaron de la cola.
+     * @throws IllegalArgumentException si <code>maximo</code> es negativo.
+     */
+    public int drena(Coleccion<? super T> destino, int maximo);
+
+    /**
+     * Nos dice si la cola está vacía. Si otros hilos están usando la cola, el
+     * resultado puede dejar de ser cierto en cuanto el método termina.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia();
+}
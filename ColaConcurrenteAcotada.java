@@ -0,0 +1,170 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Clase para colas concurrentes acotadas, respaldadas por un arreglo
+ * circular, usando el algoritmo de Vyukov para varios productores y varios
+ * consumidores. Cada casilla del arreglo tiene un número de secuencia que le
+ * dice a un productor si la casilla ya está libre para la vuelta actual, y a
+ * un consumidor si ya tiene un elemento publicado; los hilos sólo compiten por
+ * las posiciones de meter y sacar, con una operación
+ * <em>compare-and-set</em> cada una.</p>
+ *
+ * <p>Las posiciones de meter y de sacar viven en celdas separadas por {@link
+ * #RELLENO} enteros largos, para que productores y consumidores no compartan
+ * la misma línea de caché.</p>
+ * @param <T> el tipo de los elementos de la cola.
+ */
+public class ColaConcurrenteAcotada<T> implements ColaConcurrente<T> {
+
+    /**
+     * Número de enteros largos entre las posiciones de meter y sacar, y
+     * alrededor de ellas: 128 bytes, dos líneas de caché.
+     */
+    public static final int RELLENO = 16;
+
+    /* Índice de la posición de meter en las celdas. */
+    private static final int METE = RELLENO;
+    /* Índice de la posición de sacar en las celdas. */
+    private static final int SACA = 2 * RELLENO;
+
+    /* Las celdas con las posiciones de meter y sacar. */
+    private AtomicLongArray celdas;
+    /* Los números de secuencia de las casillas. */
+    private AtomicLongArray secuencias;
+    /* Las casillas. */
+    private Object[] elementos;
+    /* La máscara para obtener una casilla a partir de una posición. */
+    private int mascara;
+
+    /**
+     * Construye una cola concurrente acotada. La capacidad se redondea a la
+     * siguiente potencia de dos.
+     * @param capacidad el número mínimo de elementos que caben en la cola.
+     * @throws IllegalArgumentException si <code>capacidad</code> es menor que
+     *         uno, o mayor que 2<sup>30</sup>.
+     */
+    public ColaConcurrenteAcotada(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 30)
+            throw new IllegalArgumentException();
+        int n = 1;
+        while (n < capacidad)
+            n <<= 1;
+        celdas = new AtomicLongArray(3 * RELLENO);
+        secuencias = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++)
+            secuencias.set(i, i);
+        elementos = new Object[n];
+        mascara = n - 1;
+    }
+
+    /**
+     * Regresa la capacidad de la cola.
+     * @return la capacidad de la cola.
+     */
+    public int getCapacidad() {
+        return elementos.length;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, si hay espacio para él.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó a la cola,
+     *         <code>false</code> si la cola estaba llena.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public boolean mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long posicion = celdas.get(METE);
+        while (true) {
+            int i = (int)posicion & mascara;
+            long diferencia = secuencias.get(i) - posicion;
+            if (diferencia == 0) {
+                if (celdas.compareAndSet(METE, posicion, posicion + 1)) {
+                    elementos[i] = elemento;
+                    secuencias.setRelease(i, posicion + 1);
+                    return true;
+                }
+            } else if (diferencia < 0) {
+                return false;
+            }
+            posicion = celdas.get(METE);
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la cola
+     *         estaba vacía.
+     */
+    @Override public T saca() {
+        long posicion = celdas.get(SACA);
+        while (true) {
+            int i = (int)posicion & mascara;
+            long diferencia = secuencias.get(i) - (posicion + 1);
+            if (diferencia == 0) {
+                if (celdas.compareAndSet(SACA, posicion, posicion + 1))
+                    return libera(i, posicion);
+            } else if (diferencia < 0) {
+                return null;
+            }
+            posicion = celdas.get(SACA);
+        }
+    }
+
+    /**
+     * Saca hasta <code>maximo</code> elementos de la cola, en orden, y los
+     * agrega a la colección recibida. Los elementos se reclaman avanzando la
+     * posición de sacar sobre todas sus casillas con una sola operación
+     * <em>compare-and-set</em>.
+     * @param destino la colección donde se agregan los elementos.
+     * @param maximo el máximo número de elementos a sacar.
+     * @return el número de elementos que se sacaron de la cola.
+     * @throws IllegalArgumentException si <code>maximo</code> es negativo.
+     */
+    @Override public int drena(Coleccion<? super T> destino, int maximo) {
+        if (maximo < 0)
+            throw new IllegalArgumentException();
+        while (true) {
+            long posicion = celdas.get(SACA);
+            int n = 0;
+            while (n < maximo && n <= mascara) {
+                int i = (int)(posicion + n) & mascara;
+                if (secuencias.get(i) != posicion + n + 1)
+                    break;
+                n++;
+            }
+            if (n == 0)
+                return 0;
+            if (!celdas.compareAndSet(SACA, posicion, posicion + n))
+                continue;
+            for (int k = 0; k < n; k++)
+                destino.agrega(libera((int)(posicion + k) & mascara,
+                                      posicion + k));
+            return n;
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía. Si otros hilos están usando la cola, el
+     * resultado puede dejar de ser cierto en cuanto el método termina.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        long posicion = celdas.get(SACA);
+        return secuencias.get((int)posicion & mascara) != posicion + 1;
+    }
+
+    /* Saca el elemento de la casilla, reclamada en la posición recibida, y
+     * la libera para la siguiente vuelta de los productores. */
+    @SuppressWarnings("unchecked") private T libera(int i, long posicion) {
+        T elemento = (T)elementos[i];
+        elementos[i] = null;
+        secuencias.setRelease(i, posicion + elementos.length);
+        return elemento;
+    }
+}
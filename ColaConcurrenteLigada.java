@@ -0,0 +1,179 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Clase para colas concurrentes ligadas y no acotadas, usando el algoritmo
+ * de Michael y Scott. La cola siempre tiene un nodo centinela al inicio; meter
+ * un elemento enlaza un nodo nuevo después del rabo con una operación
+ * <em>compare-and-set</em>, y sacarlo avanza la cabeza de la misma forma. Un
+ * hilo que encuentra al rabo atrasado lo avanza antes de continuar, así que
+ * ningún hilo tiene que esperar a otro.</p>
+ *
+ * <p>La cabeza y el rabo viven en celdas separadas por {@link #RELLENO}
+ * referencias, para que los hilos que meten y los que sacan no compartan la
+ * misma línea de caché.</p>
+ * @param <T> el tipo de los elementos de la cola.
+ */
+public class ColaConcurrenteLigada<T> implements ColaConcurrente<T> {
+
+    /* Clase privada para los nodos de la cola. */
+    private static class Nodo<T> {
+
+        /* El elemento del nodo. */
+        private volatile T elemento;
+        /* El siguiente nodo. */
+        private volatile Nodo<T> siguiente;
+
+        /* Construye un nodo con un elemento. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /**
+     * Número de referencias entre la cabeza y el rabo, y alrededor de ellos.
+     * Con referencias comprimidas son 128 bytes: dos líneas de caché.
+     */
+    public static final int RELLENO = 32;
+
+    /* Índice de la cabeza en las celdas. */
+    private static final int CABEZA = RELLENO;
+    /* Índice del rabo en las celdas. */
+    private static final int RABO = 2 * RELLENO;
+
+    /* Manejador para actualizar atómicamente el siguiente de un nodo. */
+    private static final VarHandle SIGUIENTE;
+
+    static {
+        try {
+            SIGUIENTE = MethodHandles.lookup()
+                .findVarHandle(Nodo.class, "siguiente", Nodo.class);
+        } catch (ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /* Las celdas con la cabeza y el rabo. */
+    private AtomicReferenceArray<Nodo<T>> celdas;
+
+    /**
+     * Construye una cola concurrente ligada vacía.
+     */
+    public ColaConcurrenteLigada() {
+        celdas = new AtomicReferenceArray<Nodo<T>>(3 * RELLENO);
+        Nodo<T> centinela = new Nodo<T>(null);
+        celdas.set(CABEZA, centinela);
+        celdas.set(RABO, centinela);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Como la cola no está acotada,
+     * la operación siempre tiene éxito.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code>, siempre.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public boolean mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        Nodo<T> nodo = new Nodo<T>(elemento);
+        while (true) {
+            Nodo<T> rabo = celdas.get(RABO);
+            Nodo<T> siguiente = rabo.siguiente;
+            if (rabo != celdas.get(RABO))
+                continue;
+            if (siguiente != null) {
+                celdas.compareAndSet(RABO, rabo, siguiente);
+            } else if (SIGUIENTE.compareAndSet(rabo, null, nodo)) {
+                celdas.compareAndSet(RABO, rabo, nodo);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la cola
+     *         estaba vacía.
+     */
+    @Override public T saca() {
+        while (true) {
+            Nodo<T> cabeza = celdas.get(CABEZA);
+            Nodo<T> rabo = celdas.get(RABO);
+            Nodo<T> siguiente = cabeza.siguiente;
+            if (cabeza != celdas.get(CABEZA))
+                continue;
+            if (siguiente == null)
+                return null;
+            if (cabeza == rabo) {
+                celdas.compareAndSet(RABO, rabo, siguiente);
+                continue;
+            }
+            T elemento = siguiente.elemento;
+            if (celdas.compareAndSet(CABEZA, cabeza, siguiente)) {
+                siguiente.elemento = null;
+                return elemento;
+            }
+        }
+    }
+
+    /**
+     * Saca hasta <code>maximo</code> elementos de la cola, en orden, y los
+     * agrega a la colección recibida. Los elementos se reclaman avanzando la
+     * cabeza sobre todos sus nodos con una sola operación
+     * <em>compare-and-set</em>.
+     * @param destino la colección donde se agregan los elementos.
+     * @param maximo el máximo número de elementos a sacar.
+     * @return el número de elementos que se sacaron de la cola.
+     * @throws IllegalArgumentException si <code>maximo</code> es negativo.
+     */
+    @Override public int drena(Coleccion<? super T> destino, int maximo) {
+        if (maximo < 0)
+            throw new IllegalArgumentException();
+        while (maximo > 0) {
+            Nodo<T> cabeza = celdas.get(CABEZA);
+            Nodo<T> rabo = celdas.get(RABO);
+            if (cabeza != celdas.get(CABEZA))
+                continue;
+            Nodo<T> ultimo = cabeza;
+            boolean pasaRabo = false;
+            int n = 0;
+            while (n < maximo && ultimo.siguiente != null) {
+                pasaRabo |= ultimo == rabo;
+                ultimo = ultimo.siguiente;
+                n++;
+            }
+            if (n == 0)
+                return 0;
+            /* La cabeza nunca puede rebasar al rabo. */
+            if (pasaRabo) {
+                celdas.compareAndSet(RABO, rabo, ultimo);
+                continue;
+            }
+            if (!celdas.compareAndSet(CABEZA, cabeza, ultimo))
+                continue;
+            Nodo<T> nodo = cabeza;
+            do {
+                nodo = nodo.siguiente;
+                destino.agrega(nodo.elemento);
+                nodo.elemento = null;
+            } while (nodo != ultimo);
+            return n;
+        }
+        return 0;
+    }
+
+    /**
+     * Nos dice si la cola está vacía. Si otros hilos están usando la cola, el
+     * resultado puede dejar de ser cierto en cuanto el método termina.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return celdas.get(CABEZA).siguiente == null;
+    }
+}
@@ -0,0 +1,218 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas de prioridades mínimas indexadas, con identificadores
+ * enteros y prioridades de punto flotante. Los identificadores van de 0 a
+ * <i>n</i>-1, como los de los vértices de una {@link GraficaCompacta}, y cada
+ * uno está en la cola a lo más una vez.</p>
+ *
+ * <p>A diferencia de {@link MonticuloMinimo}, los elementos no tienen que
+ * implementar {@link ComparableIndexable} ni ser objetos: el montículo es un
+ * arreglo de identificadores, las prioridades están en un arreglo de dobles,
+ * y un tercer arreglo guarda la posición de cada identificador en el
+ * montículo, para cambiar su prioridad en tiempo <i>O</i>(log <i>n</i>).
+ * Ninguna operación crea objetos. La aridad del montículo puede ser 2, 4 u
+ * 8.</p>
+ */
+public class ColaPrioridadIndexada {
+
+    /* El montículo de identificadores. */
+    private int[] monticulo;
+    /* La posición de cada identificador en el montículo, o -1. */
+    private int[] posicion;
+    /* La prioridad de cada identificador. */
+    private double[] prioridad;
+    /* El número de elementos en la cola. */
+    private int elementos;
+    /* El número de hijos de cada vértice del montículo. */
+    private int aridad;
+
+    /**
+     * Construye una cola de prioridades vacía para los identificadores de 0 a
+     * <i>n</i>-1, con un montículo binario.
+     * @param n el número de identificadores.
+     * @throws IllegalArgumentException si <code>n</code> es negativo.
+     */
+    public ColaPrioridadIndexada(int n) {
+        this(n, MonticuloMinimo.ARIDAD_POR_OMISION);
+    }
+
+    /**
+     * Construye una cola de prioridades vacía para los identificadores de 0 a
+     * <i>n</i>-1, con un montículo de la aridad recibida.
+     * @param n el número de identificadores.
+     * @param aridad el número de hijos de cada vértice del montículo.
+     * @throws IllegalArgumentException si <code>n</code> es negativo, o si
+     *         <code>aridad</code> no es 2, 4 u 8.
+     */
+    public ColaPrioridadIndexada(int n, int aridad) {
+        if (n < 0 || (aridad != 2 && aridad != 4 && aridad != 8))
+            throw new IllegalArgumentException();
+        this.aridad = aridad;
+        monticulo = new int[n];
+        posicion = new int[n];
+        prioridad = new double[n];
+        Arrays.fill(posicion, -1);
+    }
+
+    /**
+     * Agrega un identificador a la cola con la prioridad recibida.
+     * @param id el identificador.
+     * @param prioridad la prioridad del identificador.
+     * @throws IllegalArgumentException si el identificador es inválido o ya
+     *         está en la cola.
+     */
+    public void agrega(int id, double prioridad) {
+        if (contiene(id))
+            throw new IllegalArgumentException();
+        this.prioridad[id] = prioridad;
+        monticulo[elementos] = id;
+        posicion[id] = elementos;
+        sube(elementos++);
+    }
+
+    /**
+     * Elimina el identificador de prioridad mínima de la cola y lo regresa.
+     * @return el identificador de prioridad mínima.
+     * @throws IllegalStateException si la cola es vacía.
+     */
+    public int elimina() {
+        if (esVacia())
+            throw new IllegalStateException();
+        int minimo = monticulo[0];
+        posicion[minimo] = -1;
+        elementos--;
+        if (elementos > 0) {
+            monticulo[0] = monticulo[elementos];
+            posicion[monticulo[0]] = 0;
+            baja(0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Regresa el identificador de prioridad mínima de la cola, sin
+     * eliminarlo.
+     * @return el identificador de prioridad mínima.
+     * @throws NoSuchElementException si la cola es vacía.
+     */
+    public int minimo() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return monticulo[0];
+    }
+
+    /**
+     * Cambia la prioridad de un identificador que está en la cola.
+     * @param id el identificador.
+     * @param prioridad la nueva prioridad del identificador.
+     * @throws IllegalArgumentException si el identificador no está en la
+     *         cola.
+     */
+    public void reordena(int id, double prioridad) {
+        if (!contiene(id))
+            throw new IllegalArgumentException();
+        double anterior = this.prioridad[id];
+        this.prioridad[id] = prioridad;
+        if (prioridad < anterior)
+            sube(posicion[id]);
+        else
+            baja(posicion[id]);
+    }
+
+    /**
+     * Nos dice si un identificador está en la cola.
+     * @param id el identificador.
+     * @return <code>true</code> si el identificador está en la cola,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalArgumentException si el identificador es inválido.
+     */
+    public boolean contiene(int id) {
+        if (id < 0 || id >= posicion.length)
+            throw new IllegalArgumentException();
+        return posicion[id] >= 0;
+    }
+
+    /**
+     * Regresa la prioridad de un identificador que está en la cola.
+     * @param id el identificador.
+     * @return la prioridad del identificador.
+     * @throws NoSuchElementException si el identificador no está en la cola.
+     */
+    public double getPrioridad(int id) {
+        if (id < 0 || id >= posicion.length || posicion[id] < 0)
+            throw new NoSuchElementException();
+        return prioridad[id];
+    }
+
+    /**
+     * Regresa el número de identificadores en la cola.
+     * @return el número de identificadores en la cola.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si la cola es vacía.
+     * @return <code>true</code> si la cola no tiene identificadores,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia la cola de identificadores, dejándola vacía.
+     */
+    public void limpia() {
+        for (int i = 0; i < elementos; i++)
+            posicion[monticulo[i]] = -1;
+        elementos = 0;
+    }
+
+    /* Sube el identificador en la posición recibida, bajando a los padres
+     * mayores que él, y lo escribe una sola vez donde se detiene. */
+    private void sube(int i) {
+        int id = monticulo[i];
+        double p = prioridad[id];
+        while (i > 0) {
+            int papa = (i - 1) / aridad;
+            if (prioridad[monticulo[papa]] <= p)
+                break;
+            monticulo[i] = monticulo[papa];
+            posicion[monticulo[i]] = i;
+            i = papa;
+        }
+        monticulo[i] = id;
+        posicion[id] = i;
+    }
+
+    /* Baja el identificador en la posición recibida, subiendo al menor de
+     * los hijos mientras sea menor que él, y lo escribe una sola vez al
+     * final. */
+    private void baja(int i) {
+        int id = monticulo[i];
+        double p = prioridad[id];
+        while (true) {
+            int primero = aridad * i + 1;
+            if (primero >= elementos)
+                break;
+            int ultimo = Math.min(primero + aridad, elementos);
+            int min = primero;
+            for (int h = primero + 1; h < ultimo; h++)
+                if (prioridad[monticulo[h]] < prioridad[monticulo[min]])
+                    min = h;
+            if (prioridad[monticulo[min]] >= p)
+                break;
+            monticulo[i] = monticulo[min];
+            posicion[monticulo[i]] = i;
+            i = min;
+        }
+        monticulo[i] = id;
+        posicion[id] = i;
+    }
+}
@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.Spliterator;
 
 /**
  * Clase para conjuntos.
@@ -146,4 +147,13 @@ public class Conjunto<T> implements Coleccion<T> {
     @Override public Iterator<T> iterator() {
         return conjunto.iterator();
     }
+
+    /**
+     * Regresa un separador para recorrer el conjunto. El separador se parte
+     * por rangos de entradas del diccionario que implementa al conjunto.
+     * @return un separador para recorrer el conjunto.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return conjunto.spliterator();
+    }
 }
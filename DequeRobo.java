@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Clase para deques de robo de trabajo, usando el algoritmo de Chase y
+ * Lev. El deque tiene un dueño, que es el único hilo que puede meter y sacar
+ * elementos por el fondo, como en una {@link Pila}; cualquier otro hilo puede
+ * robar elementos por el tope. Así el dueño trabaja sin competir con nadie
+ * mientras el deque tenga varios elementos, y los ladrones se llevan los
+ * elementos más viejos, que en un recorrido en profundidad son los que tienen
+ * los subárboles más grandes.</p>
+ *
+ * <p>Los elementos viven en un arreglo circular que crece cuando se llena. El
+ * tope y el fondo viven en celdas separadas por {@link #RELLENO} enteros
+ * largos, para que el dueño y los ladrones no compartan la misma línea de
+ * caché.</p>
+ * @param <T> el tipo de los elementos del deque.
+ */
+public class DequeRobo<T> {
+
+    /**
+     * Número de enteros largos entre el tope y el fondo, y alrededor de ellos:
+     * 128 bytes, dos líneas de caché.
+     */
+    public static final int RELLENO = 16;
+
+    /* Índice del tope en las celdas. */
+    private static final int TOPE = RELLENO;
+    /* Índice del fondo en las celdas. */
+    private static final int FONDO = 2 * RELLENO;
+    /* Capacidad inicial del arreglo. */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /* Las celdas con el tope y el fondo. */
+    private AtomicLongArray celdas;
+    /* El arreglo circular de elementos; su longitud es potencia de dos. */
+    private volatile Object[] arreglo;
+
+    /**
+     * Construye un deque de robo de trabajo vacío.
+     */
+    public DequeRobo() {
+        celdas = new AtomicLongArray(3 * RELLENO);
+        arreglo = new Object[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Agrega un elemento al fondo del deque. Sólo el dueño del deque puede
+     * llamar este método.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long fondo = celdas.get(FONDO);
+        long tope = celdas.get(TOPE);
+        Object[] a = arreglo;
+        if (fondo - tope >= a.length)
+            a = crece(a, tope, fondo);
+        a[(int)fondo & (a.length - 1)] = elemento;
+        celdas.set(FONDO, fondo + 1);
+    }
+
+    /**
+     * Elimina el elemento en el fondo del deque y lo regresa. Sólo el dueño
+     * del deque puede llamar este método.
+     * @return el elemento en el fondo del deque, o <code>null</code> si el
+     *         deque estaba vacío.
+     */
+    @SuppressWarnings("unchecked") public T saca() {
+        long fondo = celdas.get(FONDO) - 1;
+        Object[] a = arreglo;
+        celdas.set(FONDO, fondo);
+        long tope = celdas.get(TOPE);
+        if (tope > fondo) {
+            celdas.set(FONDO, fondo + 1);
+            return null;
+        }
+        int i = (int)fondo & (a.length - 1);
+        T elemento = (T)a[i];
+        if (tope < fondo) {
+            a[i] = null;
+            return elemento;
+        }
+        /* Queda un solo elemento: competimos con los ladrones por él. */
+        if (!celdas.compareAndSet(TOPE, tope, tope + 1))
+            elemento = null;
+        celdas.set(FONDO, fondo + 1);
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento en el tope del deque y lo regresa. Cualquier hilo
+     * puede llamar este método.
+     * @return el elemento en el tope del deque, o <code>null</code> si el
+     *         deque estaba vacío o si otro hilo se lo llevó primero.
+     */
+    @SuppressWarnings("unchecked") public T roba() {
+        long tope = celdas.get(TOPE);
+        long fondo = celdas.get(FONDO);
+        if (tope >= fondo)
+            return null;
+        Object[] a = arreglo;
+        T elemento = (T)a[(int)tope & (a.length - 1)];
+        if (!celdas.compareAndSet(TOPE, tope, tope + 1))
+            return null;
+        return elemento;
+    }
+
+    /**
+     * Regresa el número de elementos en el deque. Si otros hilos están usando
+     * el deque, el resultado es sólo una aproximación.
+     * @return el número de elementos en el deque.
+     */
+    public int getElementos() {
+        long n = celdas.get(FONDO) - celdas.get(TOPE);
+        return n > 0 ? (int)n : 0;
+    }
+
+    /**
+     * Nos dice si el deque está vacío. Si otros hilos están usando el deque,
+     * el resultado puede dejar de ser cierto en cuanto el método termina.
+     * @return <code>true</code> si el deque no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return getElementos() == 0;
+    }
+
+    /* Duplica el arreglo, copiando los elementos del tope al fondo. El arreglo
+     * viejo no se modifica, así que los ladrones que todavía lo lean obtienen
+     * los mismos elementos. */
+    private Object[] crece(Object[] a, long tope, long fondo) {
+        Object[] b = new Object[2 * a.length];
+        for (long i = tope; i < fondo; i++)
+            b[(int)i & (b.length - 1)] = a[(int)i & (a.length - 1)];
+        arreglo = b;
+        return b;
+    }
+}
@@ -3,6 +3,10 @@ package mx.unam.ciencias.edd;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
@@ -86,6 +90,84 @@ public class Diccionario<K, V> implements Iterable<V> {
         }
     }
 
+    /* Clase privada para separadores de valores de diccionarios. Cada
+     * separador recorre un rango de listas del arreglo, y se parte por la
+     * mitad de su rango. */
+    private class Separador implements Spliterator<V> {
+
+        /* La siguiente lista del rango. */
+        private int inicio;
+        /* El final del rango, exclusivo. */
+        private int fin;
+        /* El iterador de la lista actual. */
+        private Iterator<Entrada> iterador;
+        /* Número estimado de valores restantes. */
+        private long estimado;
+        /* Si el número estimado de valores es exacto. */
+        private boolean exacto;
+
+        /* Construye un separador para el rango de listas recibido. */
+        public Separador(int inicio, int fin, long estimado, boolean exacto) {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.estimado = estimado;
+            this.exacto = exacto;
+        }
+
+        /* Consume el siguiente valor, si existe. */
+        @Override public boolean tryAdvance(Consumer<? super V> accion) {
+            while (iterador == null || !iterador.hasNext()) {
+                if (inicio >= fin)
+                    return false;
+                Lista<Entrada> lista = entradas[inicio++];
+                iterador = lista == null ? null : lista.iterator();
+            }
+            accion.accept(iterador.next().valor);
+            if (estimado > 0)
+                estimado--;
+            return true;
+        }
+
+        /* Consume todos los valores restantes. */
+        @Override public void forEachRemaining(Consumer<? super V> accion) {
+            if (iterador != null)
+                while (iterador.hasNext())
+                    accion.accept(iterador.next().valor);
+            iterador = null;
+            for (; inicio < fin; inicio++)
+                if (entradas[inicio] != null)
+                    for (Entrada entrada : entradas[inicio])
+                        accion.accept(entrada.valor);
+            estimado = 0;
+        }
+
+        /* Parte el separador, regresando la primera mitad de su rango. */
+        @Override public Spliterator<V> trySplit() {
+            int mitad = (inicio + fin) >>> 1;
+            if (mitad <= inicio)
+                return null;
+            long mitadEstimado = estimado >>> 1;
+            Separador s = new Separador(inicio, mitad, mitadEstimado, false);
+            s.iterador = iterador;
+            iterador = null;
+            inicio = mitad;
+            estimado -= mitadEstimado;
+            exacto = false;
+            return s;
+        }
+
+        /* Regresa el número estimado de valores restantes. */
+        @Override public long estimateSize() {
+            return estimado;
+        }
+
+        /* Regresa las características del separador. */
+        @Override public int characteristics() {
+            return exacto ? Spliterator.SIZED | Spliterator.NONNULL :
+                Spliterator.NONNULL;
+        }
+    }
+
     /** Máxima carga permitida por el diccionario. */
     public static final double MAXIMA_CARGA = 0.72;
 
@@ -403,6 +485,32 @@ public class Diccionario<K, V> implements Iterable<V> {
     @Override public Iterator<V> iterator() {
         return new IteradorValores();
     }
+
+    /**
+     * Regresa un separador para recorrer los valores del diccionario. El
+     * separador se parte por rangos de entradas del arreglo del diccionario,
+     * por lo que cada parte recorre sólo sus propias listas.
+     * @return un separador para recorrer los valores del diccionario.
+     */
+    @Override public Spliterator<V> spliterator() {
+        return new Separador(0, entradas.length, elementos, true);
+    }
+
+    /**
+     * Regresa un flujo secuencial con los valores del diccionario.
+     * @return un flujo secuencial con los valores del diccionario.
+     */
+    public Stream<V> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Regresa un flujo paralelo con los valores del diccionario.
+     * @return un flujo paralelo con los valores del diccionario.
+     */
+    public Stream<V> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 	
     private int calculaTamaño(int x) {
 	if (x < 64){
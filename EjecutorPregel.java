@@ -0,0 +1,223 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * <p>Clase para ejecutar programas de vértice sobre una gráfica al estilo
+ * Pregel.</p>
+ *
+ * <p>La gráfica se divide con {@link Grafica#particiona} y cada partición se
+ * procesa en su propio hilo. El cómputo avanza en superpasos: en el superpaso
+ * cero se calculan todos los vértices; en los siguientes sólo los que
+ * recibieron mensajes. Los mensajes de un superpaso se entregan al inicio del
+ * siguiente, y el cómputo termina cuando en un superpaso no se envía ningún
+ * mensaje, o se alcanza el máximo de superpasos. La sincronización entre
+ * particiones la hace el ejecutor; los programas no necesitan ninguna.</p>
+ */
+public class EjecutorPregel<T, V, M> {
+
+    /* Clase privada para mensajes en tránsito. */
+    private class Envio {
+        /* El vértice destino. */
+        public int destino;
+        /* El mensaje. */
+        public M mensaje;
+
+        /* Construye un nuevo envío. */
+        public Envio(int destino, M mensaje) {
+            this.destino = destino;
+            this.mensaje = mensaje;
+        }
+    }
+
+    /* Clase privada para las particiones; cada una es a la vez su propio
+     * mensajero. */
+    private class Particion implements Mensajero<T, M> {
+
+        /* El número de la partición. */
+        public int numero;
+        /* Los vértices de la partición. */
+        public int[] vertices;
+        /* Los envíos de esta partición, por partición destino. */
+        public Lista<Envio>[] salida;
+        /* El vértice que se está calculando. */
+        private int actual;
+        /* El número de mensajes enviados en el superpaso. */
+        private int enviados;
+
+        /* Construye una nueva partición. */
+        @SuppressWarnings("unchecked")
+        public Particion(int numero, int[] vertices) {
+            this.numero = numero;
+            this.vertices = vertices;
+            salida = (Lista<Envio>[])new Lista[particiones.length];
+            for (int i = 0; i < salida.length; i++)
+                salida[i] = new Lista<Envio>();
+        }
+
+        /* Calcula los vértices activos de la partición; regresa el número de
+         * mensajes enviados. */
+        public int calcula(int superpaso) {
+            enviados = 0;
+            for (int v : vertices) {
+                Lista<M> mensajes = bandeja[v];
+                if (superpaso > 0 && mensajes == null)
+                    continue;
+                bandeja[v] = null;
+                if (mensajes == null)
+                    mensajes = new Lista<M>();
+                actual = v;
+                @SuppressWarnings("unchecked") V valor = (V)valores[v];
+                valores[v] = programa.calcula(superpaso, g.vertice(v), valor,
+                                              mensajes, this);
+            }
+            return enviados;
+        }
+
+        /* Entrega a sus vértices los mensajes que le enviaron las demás
+         * particiones. */
+        public int entrega() {
+            for (Particion p : particiones) {
+                for (Envio e : p.salida[numero]) {
+                    if (bandeja[e.destino] == null)
+                        bandeja[e.destino] = new Lista<M>();
+                    bandeja[e.destino].agrega(e.mensaje);
+                }
+                p.salida[numero].limpia();
+            }
+            return 0;
+        }
+
+        /* Envía un mensaje a un vértice. */
+        @Override public void envia(T destino, M mensaje) {
+            envia(g.id(destino), mensaje);
+        }
+
+        /* Envía un mensaje a los vecinos del vértice actual. */
+        @Override public void enviaVecinos(M mensaje) {
+            for (int v : g.vecinos(actual))
+                envia(v, mensaje);
+        }
+
+        /* Envía un mensaje a un vértice por su identificador. */
+        private void envia(int destino, M mensaje) {
+            salida[particion[destino]].agrega(new Envio(destino, mensaje));
+            enviados++;
+        }
+    }
+
+    /* La representación compacta de la gráfica. */
+    private GraficaCompacta<T> g;
+    /* La partición de cada vértice. */
+    private int[] particion;
+    /* Las particiones. */
+    private Particion[] particiones;
+    /* El valor de cada vértice. */
+    private Object[] valores;
+    /* Los mensajes recibidos por cada vértice. */
+    private Lista<M>[] bandeja;
+    /* El programa que se está ejecutando. */
+    private ProgramaVertice<T, V, M> programa;
+
+    /**
+     * Construye un ejecutor para la gráfica recibida, dividiéndola en el
+     * número de particiones dado. Cambios posteriores a la gráfica no se ven
+     * reflejados en el ejecutor.
+     * @param grafica la gráfica.
+     * @param k el número de particiones, que es también el número de hilos.
+     * @throws IllegalArgumentException si <i>k</i> es menor o igual que cero.
+     */
+    @SuppressWarnings("unchecked")
+    public EjecutorPregel(Grafica<T> grafica, int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException();
+        g = grafica.compacta();
+        int n = g.getElementos();
+        particion = g.particiona(k);
+        int[] tamaños = new int[k];
+        for (int p : particion)
+            tamaños[p]++;
+        int[][] miembros = new int[k][];
+        for (int i = 0; i < k; i++)
+            miembros[i] = new int[tamaños[i]];
+        for (int v = n - 1; v >= 0; v--)
+            miembros[particion[v]][--tamaños[particion[v]]] = v;
+        particiones = (Particion[])Array.newInstance(Particion.class, k);
+        for (int i = 0; i < k; i++)
+            particiones[i] = new Particion(i, miembros[i]);
+        valores = new Object[n];
+        bandeja = (Lista<M>[])new Lista[n];
+    }
+
+    /**
+     * Ejecuta el programa de vértice hasta que en un superpaso no se envíen
+     * mensajes, o se alcance el máximo de superpasos.
+     * @param programa el programa de vértice.
+     * @param inicial función que da el valor inicial de cada elemento.
+     * @param maximo el número máximo de superpasos.
+     * @return un diccionario con el valor final de cada elemento.
+     * @throws RuntimeException si el programa de vértice lanza una excepción;
+     *         se relanza la misma excepción.
+     */
+    public Diccionario<T, V> ejecuta(ProgramaVertice<T, V, M> programa,
+                                     Function<T, V> inicial, int maximo) {
+        this.programa = programa;
+        int n = g.getElementos();
+        for (int v = 0; v < n; v++) {
+            valores[v] = inicial.apply(g.vertice(v).get());
+            bandeja[v] = null;
+        }
+        ExecutorService hilos = Executors.newFixedThreadPool(particiones.length);
+        try {
+            Lista<Callable<Integer>> calculos = new Lista<Callable<Integer>>();
+            Lista<Callable<Integer>> entregas = new Lista<Callable<Integer>>();
+            for (Particion p : particiones)
+                entregas.agrega(p::entrega);
+            for (int superpaso = 0; superpaso < maximo; superpaso++) {
+                final int s = superpaso;
+                calculos.limpia();
+                for (Particion p : particiones)
+                    calculos.agrega(() -> p.calcula(s));
+                if (todas(hilos, calculos) == 0)
+                    break;
+                todas(hilos, entregas);
+            }
+        } finally {
+            hilos.shutdown();
+        }
+        Diccionario<T, V> resultado = new Diccionario<T, V>(n);
+        for (int v = 0; v < n; v++) {
+            @SuppressWarnings("unchecked") V valor = (V)valores[v];
+            if (valor != null)
+                resultado.agrega(g.vertice(v).get(), valor);
+        }
+        return resultado;
+    }
+
+    /* Ejecuta las tareas, una por hilo, espera a que todas terminen y regresa
+     * la suma de sus resultados. */
+    private int todas(ExecutorService hilos, Lista<Callable<Integer>> tareas) {
+        Lista<Future<Integer>> futuros = new Lista<Future<Integer>>();
+        for (Callable<Integer> tarea : tareas)
+            futuros.agrega(hilos.submit(tarea));
+        int suma = 0;
+        try {
+            for (Future<Integer> f : futuros)
+                suma += f.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException)ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        }
+        return suma;
+    }
+}
@@ -2,6 +2,7 @@ package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiPredicate;
 
 /**
  * Clase para gráficas. Una gráfica es un conjunto de vértices y aristas, tales
@@ -31,9 +32,11 @@ public class Grafica<T> implements Coleccion<T> {
         }
     }
 
-    /* Vertices para gráficas; implementan la interfaz ComparableIndexable y
-     * VerticeGrafica */
-    private class Vertice implements VerticeGrafica<T>,
+    /**
+     * Clase interna protegida para vértices de gráficas; implementan la
+     * interfaz ComparableIndexable y VerticeGrafica.
+     */
+    protected class Vertice implements VerticeGrafica<T>,
                           ComparableIndexable<Vertice> {
 
         /* El elemento del vértice. */
@@ -46,12 +49,17 @@ public class Grafica<T> implements Coleccion<T> {
         public int indice;
         /* El diccionario de vecinos del vértice. */
         public Diccionario<T, Vecino> vecinos;
+        /* El diccionario de vecinos de entrada del vértice; sólo existe en
+         * gráficas dirigidas con índice de aristas de entrada. */
+        public Diccionario<T, Vecino> entrantes;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
             this.elemento = elemento;
 	    color = Color.NINGUNO;
 	    vecinos = new Diccionario<>();
+	    if (dirigida && indiceEntrantes)
+		entrantes = new Diccionario<>();
         }
 
         /* Regresa el elemento del vértice. */
@@ -96,9 +104,11 @@ public class Grafica<T> implements Coleccion<T> {
 	}
     }
 
-    /* Vecinos para gráficas; un vecino es un vértice y el peso de la arista que
-     * los une. Implementan VerticeGrafica. */
-    private class Vecino implements VerticeGrafica<T> {
+    /**
+     * Clase interna protegida para vecinos de gráficas; un vecino es un
+     * vértice y el peso de la arista que los une. Implementan VerticeGrafica.
+     */
+    protected class Vecino implements VerticeGrafica<T> {
 
         /* El vértice vecino. */
         public Vertice vecino;
@@ -133,6 +143,205 @@ public class Grafica<T> implements Coleccion<T> {
         }
     }
 
+    /**
+     * <p>Clase para lotes de cambios en las aristas de la gráfica.</p>
+     *
+     * <p>Un lote acumula conexiones y desconexiones sin tocar la gráfica;
+     * {@link #aplica} las valida todas juntas, reduce las que afectan a la
+     * misma arista a un solo cambio, aparta de una vez el espacio para los
+     * vecinos nuevos de cada vértice, y actualiza el número de aristas y la
+     * representación compacta de la gráfica una sola vez. Si algún cambio es
+     * inválido, la gráfica no se modifica.</p>
+     */
+    public class Lote {
+
+        /* Clase privada para los cambios pendientes. */
+        private class Cambio {
+            /* Los elementos de la arista. */
+            public T a, b;
+            /* El peso de la arista. */
+            public double peso;
+            /* Si el cambio conecta o desconecta. */
+            public boolean conecta;
+
+            /* Construye un nuevo cambio. */
+            public Cambio(T a, T b, double peso, boolean conecta) {
+                this.a = a;
+                this.b = b;
+                this.peso = peso;
+                this.conecta = conecta;
+            }
+        }
+
+        /* Clase privada para el estado de una arista durante la validación;
+         * dos aristas son iguales si unen a los mismos vértices. */
+        private class Arista {
+            /* Los vértices de la arista. */
+            public Vertice a, b;
+            /* Si la arista existía antes del lote. */
+            public boolean original;
+            /* Si la arista existe después de los cambios vistos. */
+            public boolean conectada;
+            /* El peso de la arista después de los cambios vistos. */
+            public double peso;
+
+            /* Construye el estado de una arista a partir de la gráfica. */
+            public Arista(Vertice a, Vertice b) {
+                this.a = a;
+                this.b = b;
+                Vecino v = a.vecinos.contiene(b.elemento) ?
+                    a.vecinos.get(b.elemento) : null;
+                original = conectada = v != null;
+                peso = v != null ? v.peso : 0;
+            }
+
+            /* Dispersa la arista; no depende del orden si la gráfica no es
+             * dirigida. */
+            @Override public int hashCode() {
+                int x = a.elemento.hashCode(), y = b.elemento.hashCode();
+                return dirigida ? 31 * x + y : x + y;
+            }
+
+            /* Compara la arista con otro objeto. */
+            @Override public boolean equals(Object o) {
+                if (o == null || getClass() != o.getClass())
+                    return false;
+                @SuppressWarnings("unchecked") Arista arista = (Arista)o;
+                return (a == arista.a && b == arista.b) ||
+                    (!dirigida && a == arista.b && b == arista.a);
+            }
+        }
+
+        /* Los cambios pendientes, en el orden en que se pidieron. */
+        private Lista<Cambio> cambios;
+
+        /* Construye un lote vacío. */
+        private Lote() {
+            cambios = new Lista<Cambio>();
+        }
+
+        /**
+         * Agrega al lote la conexión de dos elementos con peso 1.
+         * @param a el primer elemento a conectar.
+         * @param b el segundo elemento a conectar.
+         */
+        public void conecta(T a, T b) {
+            conecta(a, b, 1);
+        }
+
+        /**
+         * Agrega al lote la conexión de dos elementos.
+         * @param a el primer elemento a conectar.
+         * @param b el segundo elemento a conectar.
+         * @param peso el peso de la arista.
+         */
+        public void conecta(T a, T b, double peso) {
+            cambios.agrega(new Cambio(a, b, peso, true));
+        }
+
+        /**
+         * Agrega al lote la desconexión de dos elementos.
+         * @param a el primer elemento a desconectar.
+         * @param b el segundo elemento a desconectar.
+         */
+        public void desconecta(T a, T b) {
+            cambios.agrega(new Cambio(a, b, 0, false));
+        }
+
+        /**
+         * Regresa el número de cambios pendientes en el lote.
+         * @return el número de cambios pendientes en el lote.
+         */
+        public int getCambios() {
+            return cambios.getLongitud();
+        }
+
+        /**
+         * Aplica los cambios del lote a la gráfica, en el orden en que se
+         * pidieron, y deja el lote vacío. Los cambios se validan como si se
+         * hicieran con {@link Grafica#conecta(Object,Object,double)} y {@link
+         * Grafica#desconecta}, uno tras otro.
+         * @throws NoSuchElementException si algún elemento no está en la
+         *         gráfica.
+         * @throws IllegalArgumentException si algún cambio conecta elementos
+         *         ya conectados, desconecta elementos no conectados, conecta un
+         *         elemento consigo mismo, o usa un peso no positivo.
+         */
+        public void aplica() {
+            Diccionario<Arista, Arista> aristasLote =
+                new Diccionario<Arista, Arista>(cambios.getLongitud());
+            Lista<Arista> orden = new Lista<Arista>();
+            for (Cambio c : cambios) {
+                Vertice va = busca(c.a);
+                Vertice vb = busca(c.b);
+                if (va == vb || (c.conecta && c.peso <= 0))
+                    throw new IllegalArgumentException();
+                Arista arista = new Arista(va, vb);
+                if (aristasLote.contiene(arista)) {
+                    arista = aristasLote.get(arista);
+                } else {
+                    aristasLote.agrega(arista, arista);
+                    orden.agrega(arista);
+                }
+                if (arista.conectada == c.conecta)
+                    throw new IllegalArgumentException();
+                arista.conectada = c.conecta;
+                arista.peso = c.peso;
+            }
+            Diccionario<T, Integer> nuevos = new Diccionario<T, Integer>();
+            int delta = 0;
+            for (Arista arista : orden) {
+                if (arista.original && !arista.conectada) {
+                    eliminaArista(arista.a, arista.b);
+                    delta--;
+                } else if (!arista.original && arista.conectada) {
+                    cuenta(nuevos, arista.a.elemento);
+                    if (!dirigida)
+                        cuenta(nuevos, arista.b.elemento);
+                }
+            }
+            Iterator<T> llaves = nuevos.iteradorLlaves();
+            while (llaves.hasNext()) {
+                Vertice v = busca(llaves.next());
+                v.vecinos = aparta(v.vecinos, nuevos.get(v.elemento));
+            }
+            for (Arista arista : orden) {
+                if (!arista.original && arista.conectada) {
+                    agregaArista(arista.a, arista.b, arista.peso);
+                    delta++;
+                } else if (arista.original && arista.conectada) {
+                    arista.a.vecinos.get(arista.b.elemento).peso = arista.peso;
+                    Diccionario<T, Vecino> regreso = dirigida ?
+                        arista.b.entrantes : arista.b.vecinos;
+                    if (regreso != null)
+                        regreso.get(arista.a.elemento).peso = arista.peso;
+                }
+            }
+            aristas = aristas + delta;
+            compacta = null;
+            cambios.limpia();
+        }
+
+        /* Incrementa el contador del elemento. */
+        private void cuenta(Diccionario<T, Integer> contadores, T elemento) {
+            int c = contadores.contiene(elemento) ? contadores.get(elemento) : 0;
+            contadores.agrega(elemento, c + 1);
+        }
+
+        /* Regresa un diccionario de vecinos con espacio para los nuevos,
+         * si los nuevos son al menos tantos como los que ya había. */
+        private Diccionario<T, Vecino> aparta(Diccionario<T, Vecino> vecinos,
+                                              int nuevos) {
+            int n = vecinos.getElementos();
+            if (nuevos < n || n + nuevos < 64 * Diccionario.MAXIMA_CARGA)
+                return vecinos;
+            Diccionario<T, Vecino> d = new Diccionario<T, Vecino>(n + nuevos);
+            for (Vecino v : vecinos)
+                d.agrega(v.vecino.elemento, v);
+            return d;
+        }
+    }
+
     /* Interface para poder usar lambdas al buscar el elemento que sigue al
      * reconstruir un camino. */
     @FunctionalInterface
@@ -145,13 +354,33 @@ public class Grafica<T> implements Coleccion<T> {
     private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Representación compacta; es null si la gráfica cambió. */
+    private GraficaCompacta<T> compacta;
+    /* Si las aristas tienen dirección. */
+    private boolean dirigida;
+    /* Si los vértices guardan también sus aristas de entrada. */
+    private boolean indiceEntrantes;
 
     /**
-     * Constructor único.
+     * Constructor para gráficas no dirigidas.
      */
     public Grafica() {
+        this(false, false);
+    }
+
+    /**
+     * Constructor para las clases herederas. En una gráfica dirigida {@link
+     * #conecta(Object,Object,double)} sólo agrega la arista de <tt>a</tt> a
+     * <tt>b</tt>.
+     * @param dirigida si las aristas de la gráfica tienen dirección.
+     * @param indiceEntrantes si cada vértice guarda además sus aristas de
+     *        entrada; sólo se toma en cuenta si la gráfica es dirigida.
+     */
+    protected Grafica(boolean dirigida, boolean indiceEntrantes) {
         vertices = new Diccionario<T, Vertice>();
         aristas = 0;
+        this.dirigida = dirigida;
+        this.indiceEntrantes = indiceEntrantes;
     }
 
     /**
@@ -183,6 +412,7 @@ public class Grafica<T> implements Coleccion<T> {
 	}else{
 		Vertice v = new Vertice(elemento);
 		vertices.agrega(elemento, v);
+		compacta = null;
 	}
     }
 
@@ -215,14 +445,21 @@ public class Grafica<T> implements Coleccion<T> {
 	}else if (sonVecinos(a,b) || a == b || peso <= 0){
 		throw new IllegalArgumentException();
 	}else{
-		Vertice v1 = busca(a);
-		Vertice v2 = busca(b);		
-		v1.vecinos.agrega(v2.elemento, new Vecino(v2, peso));
-		v2.vecinos.agrega(v1.elemento, new Vecino(v1, peso));
+		agregaArista(busca(a), busca(b), peso);
 		aristas = aristas + 1;
+		compacta = null;
 	}
     }
 
+    /**
+     * Regresa un lote vacío para hacer muchos cambios en las aristas de la
+     * gráfica a la vez.
+     * @return un lote vacío para la gráfica.
+     */
+    public Lote lote() {
+        return new Lote();
+    }
+
     /**
      * Desconecta dos elementos de la gráfica. Los elementos deben estar en la
      * gráfica y estar conectados entre ellos.
@@ -237,13 +474,9 @@ public class Grafica<T> implements Coleccion<T> {
 	}else if (!sonVecinos(a,b)){
 		throw new IllegalArgumentException();
 	}else{
-		Vertice v1 = busca(a);
-		Vertice v2 = busca(b);
-		Vecino va = getVecino(v2, v1);
-		Vecino vb = getVecino(v1, v2);
-		v1.vecinos.elimina(vb.vecino.elemento);
-		v2.vecinos.elimina(va.vecino.elemento);	
+		eliminaArista(busca(a), busca(b));
 		aristas = aristas - 1;	
+		compacta = null;
 	}
     }
 
@@ -253,16 +486,7 @@ public class Grafica<T> implements Coleccion<T> {
      *         <tt>false</tt> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
-	boolean vfd = false;
-        for (Vertice v : vertices){
-		if (elemento == null){
-			vfd = false;
-		}
-		if (v.elemento.equals(elemento)){
-                	vfd = true;
-		}
-	}
-	return vfd;
+	return vertices.contiene(elemento);
     }
 
     /**
@@ -279,8 +503,17 @@ public class Grafica<T> implements Coleccion<T> {
 		Vertice v1 = busca(elemento);
 		for (Vecino v : v1.vecinos){
 			desconecta(v1.elemento, v.vecino.elemento);
+		}
+		if (dirigida && v1.entrantes != null){
+			for (Vecino v : v1.entrantes)
+				desconecta(v.vecino.elemento, v1.elemento);
+		}else if (dirigida){
+			for (Vertice v : vertices)
+				if (v.vecinos.contiene(v1.elemento))
+					desconecta(v.elemento, v1.elemento);
 		}
 			vertices.elimina(v1.elemento); 
+			compacta = null;
 	}
     }
 
@@ -295,15 +528,7 @@ public class Grafica<T> implements Coleccion<T> {
     public boolean sonVecinos(T a, T b) {
 	Vertice v1 = busca(a);
 	Vertice v2 = busca(b); 
-	if (!contiene(a) || !contiene(b)){
-		throw new NoSuchElementException();
-	}
-	for (Vecino vAux : v1.vecinos){
-		if (vAux.vecino.equals(v2)){
-			return true;
-		}
-	}
-		return false;
+	return v1.vecinos.contiene(v2.elemento);
     }
 
     /**
@@ -355,12 +580,15 @@ public class Grafica<T> implements Coleccion<T> {
 				v.peso = peso;
 			}
 		}
-		for (Vecino vx : v2.vecinos){
-			if (vx.vecino.equals(v1)){
-				vx.peso = peso;
+		Diccionario<T, Vecino> regreso = dirigida ? v2.entrantes : v2.vecinos;
+		if (regreso != null){
+			for (Vecino vx : regreso){
+				if (vx.vecino.equals(v1)){
+					vx.peso = peso;
+				}
 			}
 		}
-		peso = -1;
+		compacta = null;
     }
 
     /**
@@ -471,6 +699,47 @@ public class Grafica<T> implements Coleccion<T> {
       auxiliarBFSyDFS(elemento, accion, pilita);
     }
 
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde el
+     * vértice correspondiente al elemento recibido, en paralelo y usando un
+     * hilo por procesador. Ver {@link
+     * #dfsParalelo(Object,AccionVerticeGrafica,int)}.
+     * @param elemento el elemento sobre cuyo vértice queremos comenzar el
+     *        recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void dfsParalelo(T elemento, AccionVerticeGrafica<T> accion) {
+        dfsParalelo(elemento, accion,
+                    Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde el
+     * vértice correspondiente al elemento recibido, en paralelo. Cada hilo
+     * recorre en profundidad a partir de sus vértices pendientes, y los hilos
+     * sin trabajo les roban vértices pendientes a los demás con un {@link
+     * RecorridoParalelo}. Cada vértice recibe la acción exactamente una vez,
+     * pero desde varios hilos y sin un orden definido, así que la acción
+     * debe ser segura para hilos. A diferencia de {@link #dfs}, el recorrido
+     * no usa los colores de los vértices, y la gráfica no debe modificarse
+     * mientras dura.
+     * @param elemento el elemento sobre cuyo vértice queremos comenzar el
+     *        recorrido.
+     * @param accion la acción a realizar.
+     * @param hilos el número de hilos.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     * @throws IllegalArgumentException si <code>hilos</code> es menor que
+     *         uno.
+     */
+    public void dfsParalelo(T elemento, AccionVerticeGrafica<T> accion,
+                            int hilos) {
+        if (!contiene(elemento))
+            throw new NoSuchElementException();
+        GraficaCompacta<T> g = compacta();
+        g.dfsParalelo(g.id(elemento), accion, hilos);
+    }
+
     /**
      * Nos dice si la gráfica es vacía.
      * @return <code>true</code> si la gráfica es vacía, <code>false</code> en
@@ -490,6 +759,7 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
 	aristas = 0;
 	vertices.limpia();
+	compacta = null;
     }
 
     /**
@@ -553,49 +823,20 @@ public class Grafica<T> implements Coleccion<T> {
         if (!contiene(origen) || !contiene(destino)){
             throw new NoSuchElementException();
 	}
-	Lista<VerticeGrafica<T>> listini = new Lista <VerticeGrafica<T>>();
-	Vertice o = busca(origen);
-	Vertice d = busca(destino);
-	if (o.equals(d)){
-		listini.agrega(d);
-		return listini;
-	}else{
-		for(Vertice v : vertices){
-			v.distancia = Double.POSITIVE_INFINITY;
-		}
-		o.distancia = 0;
-		MonticuloMinimo<Vertice> monticulo = new MonticuloMinimo<Vertice>(vertices, vertices.getElementos());
-			while(!monticulo.esVacia()){
-				Vertice aux = monticulo.elimina();
-				for (Vecino v1 : aux.vecinos){
-					if (v1.vecino.distancia == Double.POSITIVE_INFINITY || aux.distancia + v1.peso < v1.vecino.distancia){
-						v1.vecino.distancia = aux.distancia + 1;
-						monticulo.reordena(v1.vecino);
-					}
-				}
-			}
-		if (d.distancia != Double.POSITIVE_INFINITY){
-			Vertice vAux = d;
-			while(!vAux.equals(o)){
-				for(Vecino v2 : vAux.vecinos){
-					if (vAux.distancia -1 == v2.vecino.distancia){
-						listini.agregaInicio(vAux);
-						vAux = v2.vecino;
-						break;
-					}
-				}
-				if(vAux.equals(o)){
-					listini.agregaInicio(o);
-				}
-			}
-		}
-		return listini;	  
-	}	
+	GraficaCompacta<T> g = compacta();
+	int o = g.id(origen);
+	int d = g.id(destino);
+	int[] anterior = new int[g.getElementos()];
+	if (!g.bfs(o, d, anterior))
+		return new Lista<VerticeGrafica<T>>();
+	return g.lista(g.reconstruye(anterior, o, d));
     }
 
     /**
      * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
-     * de destino.
+     * de destino. Si todos los pesos de la gráfica son enteros, el algoritmo
+     * de Dijkstra usa un montículo de cubetas en lugar de un montículo
+     * mínimo.
      * @param origen el vértice origen.
      * @param destino el vértice destino.
      * @return una trayectoria de peso mínimo entre el vértice <tt>origen</tt> y
@@ -608,52 +849,125 @@ public class Grafica<T> implements Coleccion<T> {
 	if (!contiene(origen) || !contiene(destino)){
             throw new NoSuchElementException();
 	}
-	Lista<VerticeGrafica<T>> listini = new Lista <VerticeGrafica<T>>();
-	Vertice o = busca(origen);
-	Vertice d = busca(destino);
-	if (o.equals(d)){
-		listini.agrega(d);
-		return listini;
-	}else{
-		for(Vertice v : vertices){
-			v.distancia = Double.POSITIVE_INFINITY;
-		}
-		o.distancia = 0;
-		MonticuloMinimo<Vertice> monticulo = new MonticuloMinimo<Vertice>(vertices, getElementos());
-			while(!monticulo.esVacia()){
-				Vertice aux = monticulo.elimina();
-				for (Vecino v1 : aux.vecinos){
-					if (v1.vecino.distancia == Double.POSITIVE_INFINITY || aux.distancia + v1.peso < v1.vecino.distancia){
-						v1.vecino.distancia = aux.distancia + v1.peso;
-						monticulo.reordena(v1.vecino);
-					}
-				}
-			}
-		if (d.distancia != Double.POSITIVE_INFINITY){
-			Vertice vAux = d;
-			while(!vAux.equals(o)){
-				for(Vecino v2 : vAux.vecinos){
-					if (vAux.distancia -v2.peso == v2.vecino.distancia){
-						listini.agregaInicio(vAux);
-						vAux = v2.vecino;
-						break;
-					}
-				}
-				if(vAux.equals(o)){
-					listini.agregaInicio(o);
-				}
-			}
-		}
-		return listini;	  
-	}	
+	GraficaCompacta<T> g = compacta();
+	int o = g.id(origen);
+	int d = g.id(destino);
+	int[] anterior = new int[g.getElementos()];
+	int pesoMaximo = g.pesoEnteroMaximo();
+	double peso = pesoMaximo >= 0 ?
+	    g.dijkstraEntero(o, d, pesoMaximo, anterior) :
+	    g.dijkstra(o, d, null, null, anterior);
+	if (peso == Double.POSITIVE_INFINITY)
+		return new Lista<VerticeGrafica<T>>();
+	return g.lista(g.reconstruye(anterior, o, d));
     }
 
-    private Vertice busca (T elemento) {
-        for (Vertice v : vertices){
-            if (v.elemento.equals(elemento))
-                return v;
-	}
-        throw new NoSuchElementException(); 
+    /**
+     * Calcula una trayectoria de costo mínimo entre el elemento de origen y
+     * el elemento de destino, donde cruzar una arista gratuita cuesta 0 y
+     * cruzar cualquier otra cuesta 1; los pesos de las aristas se ignoran.
+     * Por ejemplo, en un laberinto las aristas gratuitas son pasillos y las
+     * demás son paredes que hay que romper. En lugar del algoritmo de
+     * Dijkstra usa BFS 0-1 sobre una {@link Bicola}, que toma tiempo lineal
+     * en el número de vértices y aristas.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param gratuita nos dice si la arista de un elemento a otro es
+     *        gratuita.
+     * @return una trayectoria de costo mínimo entre el vértice
+     *         <tt>origen</tt> y el vértice <tt>destino</tt>. Si los vértices
+     *         están en componentes conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> trayectoria01(T origen, T destino,
+                                                 BiPredicate<T, T> gratuita) {
+        if (!contiene(origen) || !contiene(destino))
+            throw new NoSuchElementException();
+        GraficaCompacta<T> g = compacta();
+        int o = g.id(origen);
+        int d = g.id(destino);
+        int[] anterior = new int[g.getElementos()];
+        if (g.bfs01(o, d, gratuita, anterior) == -1)
+            return new Lista<VerticeGrafica<T>>();
+        return g.lista(g.reconstruye(anterior, o, d));
+    }
+
+    /**
+     * Calcula las <i>k</i> trayectorias simples de peso mínimo entre el
+     * elemento de origen y el elemento de destino, usando el algoritmo de Yen.
+     * Las desviaciones de cada iteración se calculan en paralelo.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param k el número máximo de trayectorias a calcular.
+     * @return una lista con a lo más <i>k</i> trayectorias simples entre el
+     *         vértice <tt>origen</tt> y el vértice <tt>destino</tt>, ordenadas
+     *         por peso de menor a mayor. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si <i>k</i> es menor o igual que cero.
+     */
+    public Lista<Trayectoria<T>> kTrayectoriasMinimas(T origen, T destino,
+                                                      int k) {
+        if (!contiene(origen) || !contiene(destino))
+            throw new NoSuchElementException();
+        if (k <= 0)
+            throw new IllegalArgumentException();
+        GraficaCompacta<T> g = compacta();
+        return g.yen(g.id(origen), g.id(destino), k);
+    }
+
+    /**
+     * Divide los vértices de la gráfica en <i>k</i> particiones de tamaños
+     * parecidos, tratando de que el peso de las aristas entre particiones
+     * distintas sea pequeño. Se usa propagación de etiquetas con restricción
+     * de capacidad.
+     * @param k el número de particiones.
+     * @return una lista con <i>k</i> listas de vértices, una por partición.
+     * @throws IllegalArgumentException si <i>k</i> es menor o igual que cero.
+     */
+    public Lista<Lista<VerticeGrafica<T>>> particiona(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException();
+        GraficaCompacta<T> g = compacta();
+        int[] particion = g.particiona(k);
+        @SuppressWarnings("unchecked") Lista<VerticeGrafica<T>>[] listas =
+            (Lista<VerticeGrafica<T>>[])new Lista[k];
+        for (int i = 0; i < k; i++)
+            listas[i] = new Lista<VerticeGrafica<T>>();
+        for (int i = 0; i < particion.length; i++)
+            listas[particion[i]].agrega(g.vertice(i));
+        Lista<Lista<VerticeGrafica<T>>> particiones =
+            new Lista<Lista<VerticeGrafica<T>>>();
+        for (Lista<VerticeGrafica<T>> lista : listas)
+            particiones.agrega(lista);
+        return particiones;
+    }
+
+    /**
+     * Detecta comunidades en la gráfica con el algoritmo de Louvain, que
+     * maximiza la modularidad usando los pesos de las aristas. El algoritmo
+     * trabaja sobre arreglos de primitivos y en gráficas grandes calcula los
+     * movimientos locales en paralelo.
+     * @return una lista con los niveles de comunidades, del más fino al más
+     *         grueso; la modularidad de cada nivel es mayor que la del
+     *         anterior. Siempre hay al menos un nivel.
+     */
+    public Lista<NivelComunidades<T>> comunidades() {
+        return compacta().louvain();
+    }
+
+    /**
+     * Regresa el vértice correspondiente al elemento recibido.
+     * @param elemento el elemento del que queremos el vértice.
+     * @return el vértice correspondiente al elemento recibido.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    protected Vertice busca (T elemento) {
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return vertices.get(elemento);
      }
 
 
@@ -678,6 +992,57 @@ public class Grafica<T> implements Coleccion<T> {
         }
      }
 
+     /* Regresa la representación compacta de la gráfica; sólo se construye
+      * de nuevo si la gráfica cambió desde la última vez. */
+     GraficaCompacta<T> compacta() {
+        if (compacta != null)
+            return compacta;
+        int n = vertices.getElementos();
+        Diccionario<T, Integer> ids = new Diccionario<T, Integer>(n);
+        @SuppressWarnings("unchecked") VerticeGrafica<T>[] arreglo =
+            (VerticeGrafica<T>[])new VerticeGrafica[n];
+        int i = 0, m = 0;
+        for (Vertice v : vertices) {
+            ids.agrega(v.elemento, i);
+            arreglo[i++] = v;
+            m += v.vecinos.getElementos();
+        }
+        int[] inicio = new int[n + 1];
+        int[] destino = new int[m];
+        double[] peso = new double[m];
+        int a = 0;
+        for (i = 0; i < n; i++) {
+            inicio[i] = a;
+            for (Vecino x : ((Vertice)arreglo[i]).vecinos) {
+                destino[a] = ids.get(x.vecino.elemento);
+                peso[a++] = x.peso;
+            }
+        }
+        inicio[n] = a;
+        compacta = new GraficaCompacta<T>(arreglo, ids, inicio, destino, peso);
+        return compacta;
+     }
+
+     /* Agrega la arista de x a y (y la de regreso, si la gráfica no es
+      * dirigida), sin validar ni actualizar el número de aristas. */
+     private void agregaArista(Vertice x, Vertice y, double peso) {
+        x.vecinos.agrega(y.elemento, new Vecino(y, peso));
+        if (!dirigida)
+            y.vecinos.agrega(x.elemento, new Vecino(x, peso));
+        else if (y.entrantes != null)
+            y.entrantes.agrega(x.elemento, new Vecino(x, peso));
+     }
+
+     /* Elimina la arista de x a y (y la de regreso, si la gráfica no es
+      * dirigida), sin validar ni actualizar el número de aristas. */
+     private void eliminaArista(Vertice x, Vertice y) {
+        x.vecinos.elimina(y.elemento);
+        if (!dirigida)
+            y.vecinos.elimina(x.elemento);
+        else if (y.entrantes != null)
+            y.entrantes.elimina(x.elemento);
+     }
+
      private Vecino getVecino(Vertice x, Vertice y){
      	for (Vecino vAux : x.vecinos){
 		if (vAux.vecino.equals(y)){
@@ -0,0 +1,733 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Clase para representaciones compactas de gráficas.</p>
+ *
+ * <p>Los vértices se numeran densamente de 0 a <i>n</i>-1 y las aristas se
+ * guardan en arreglos de primitivos: los vecinos del vértice <i>i</i> están en
+ * las posiciones <code>inicio[i]</code> a <code>inicio[i+1]-1</code> de los
+ * arreglos <code>destino</code> y <code>peso</code>. Las instancias son de sólo
+ * lectura, por lo que varios hilos pueden recorrerlas al mismo tiempo.</p>
+ */
+class GraficaCompacta<T> {
+
+    /* Clase privada para los caminos candidatos del algoritmo de Yen. */
+    private static class Camino implements ComparableIndexable<Camino> {
+
+        /* Los identificadores de los vértices del camino. */
+        public int[] ids;
+        /* El peso del camino. */
+        public double peso;
+        /* El índice del camino en el montículo. */
+        public int indice;
+
+        /* Crea un nuevo camino. */
+        public Camino(int[] ids, double peso) {
+            this.ids = ids;
+            this.peso = peso;
+            indice = -1;
+        }
+
+        /* Regresa el índice. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Define el índice. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Compara por peso y, en caso de empate, por número de vértices. */
+        @Override public int compareTo(Camino camino) {
+            if (peso < camino.peso)
+                return -1;
+            if (peso > camino.peso)
+                return 1;
+            return ids.length - camino.ids.length;
+        }
+
+        /* Dos caminos son iguales si tienen los mismos vértices. */
+        @Override public boolean equals(Object o) {
+            if (o == null || getClass() != o.getClass())
+                return false;
+            return Arrays.equals(ids, ((Camino)o).ids);
+        }
+
+        /* Dispersa los vértices del camino. */
+        @Override public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+    }
+
+    /* La aridad del montículo de Dijkstra: con cuatro hijos por vértice el
+     * montículo es la mitad de profundo, y reordena sube menos niveles. */
+    private static final int ARIDAD_DIJKSTRA = 4;
+    /* El peso máximo con el que Dijkstra usa cubetas de Dial; con pesos
+     * mayores usa un montículo radix. */
+    private static final int DIAL_MAXIMO = 1 << 12;
+
+    /* Los vértices, indexados por su identificador. */
+    private VerticeGrafica<T>[] vertices;
+    /* Los identificadores de los elementos. */
+    private Diccionario<T, Integer> ids;
+    /* Dónde empiezan los vecinos de cada vértice. */
+    private int[] inicio;
+    /* El vértice destino de cada arista. */
+    private int[] destino;
+    /* El peso de cada arista. */
+    private double[] peso;
+
+    /**
+     * Crea una representación compacta a partir de sus arreglos.
+     * @param vertices los vértices, indexados por su identificador.
+     * @param ids los identificadores de los elementos.
+     * @param inicio dónde empiezan los vecinos de cada vértice; tiene
+     *        <i>n</i>+1 entradas.
+     * @param destino el vértice destino de cada arista.
+     * @param peso el peso de cada arista.
+     */
+    public GraficaCompacta(VerticeGrafica<T>[] vertices,
+                           Diccionario<T, Integer> ids,
+                           int[] inicio, int[] destino, double[] peso) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.inicio = inicio;
+        this.destino = destino;
+        this.peso = peso;
+    }
+
+    /**
+     * Regresa el número de vértices.
+     * @return el número de vértices.
+     */
+    public int getElementos() {
+        return vertices.length;
+    }
+
+    /**
+     * Regresa el identificador del elemento recibido.
+     * @param elemento el elemento.
+     * @return el identificador del elemento.
+     * @throws java.util.NoSuchElementException si el elemento no está en la
+     *         gráfica.
+     */
+    public int id(T elemento) {
+        return ids.get(elemento);
+    }
+
+    /**
+     * Regresa el vértice con el identificador recibido.
+     * @param id el identificador del vértice.
+     * @return el vértice con el identificador recibido.
+     */
+    public VerticeGrafica<T> vertice(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Calcula las <i>k</i> trayectorias simples de peso mínimo entre dos
+     * vértices con el algoritmo de Yen. Las desviaciones de cada iteración son
+     * independientes entre sí y se calculan en paralelo; el montículo de
+     * candidatos es el mismo durante todo el algoritmo.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @param k el número máximo de trayectorias.
+     * @return una lista con a lo más <i>k</i> trayectorias, de menor a mayor
+     *         peso.
+     */
+    public Lista<Trayectoria<T>> yen(int origen, int destino, int k) {
+        Lista<Trayectoria<T>> trayectorias = new Lista<Trayectoria<T>>();
+        int[] anterior = new int[vertices.length];
+        double d = dijkstra(origen, destino, null, null, anterior);
+        if (d == Double.POSITIVE_INFINITY)
+            return trayectorias;
+        Camino primero = new Camino(reconstruye(anterior, origen, destino), d);
+        Lista<Camino> aceptados = new Lista<Camino>();
+        aceptados.agrega(primero);
+        MonticuloMinimo<Camino> candidatos = new MonticuloMinimo<Camino>();
+        Conjunto<Camino> vistos = new Conjunto<Camino>();
+        vistos.agrega(primero);
+        while (aceptados.getLongitud() < k) {
+            Camino ultimo = aceptados.getUltimo();
+            Camino[] desviaciones = IntStream.range(0, ultimo.ids.length - 1)
+                .parallel()
+                .mapToObj(i -> desviacion(ultimo, i, aceptados, destino))
+                .toArray(Camino[]::new);
+            for (Camino c : desviaciones) {
+                if (c != null && !vistos.contiene(c)) {
+                    vistos.agrega(c);
+                    candidatos.agrega(c);
+                }
+            }
+            if (candidatos.esVacia())
+                break;
+            aceptados.agrega(candidatos.elimina());
+        }
+        for (Camino c : aceptados)
+            trayectorias.agrega(new Trayectoria<T>(lista(c.ids), c.peso));
+        return trayectorias;
+    }
+
+    /* Calcula la desviación del camino que sale del i-ésimo vértice del último
+     * camino aceptado. */
+    private Camino desviacion(Camino ultimo, int i,
+                              Lista<Camino> aceptados, int destino) {
+        int espuela = ultimo.ids[i];
+        boolean[] bloqueados = new boolean[vertices.length];
+        for (int j = 0; j < i; j++)
+            bloqueados[ultimo.ids[j]] = true;
+        int c = 0;
+        int[] vetados = new int[aceptados.getLongitud()];
+        for (Camino p : aceptados)
+            if (p.ids.length > i + 1 && mismoPrefijo(p, ultimo, i))
+                vetados[c++] = p.ids[i+1];
+        vetados = Arrays.copyOf(vetados, c);
+        int[] anterior = new int[vertices.length];
+        double d = dijkstra(espuela, destino, bloqueados, vetados, anterior);
+        if (d == Double.POSITIVE_INFINITY)
+            return null;
+        int[] cola = reconstruye(anterior, espuela, destino);
+        int[] ids = new int[i + cola.length];
+        System.arraycopy(ultimo.ids, 0, ids, 0, i);
+        System.arraycopy(cola, 0, ids, i, cola.length);
+        double p = 0;
+        for (int j = 0; j < i; j++)
+            p += pesoArista(ultimo.ids[j], ultimo.ids[j+1]);
+        return new Camino(ids, p + d);
+    }
+
+    /**
+     * Calcula el peso mínimo de un vértice a otro con el algoritmo de
+     * Dijkstra, sin pasar por los vértices bloqueados y sin usar las aristas
+     * que van del origen a los vértices vetados. Los vértices pendientes van
+     * en una {@link ColaPrioridadIndexada}, así que no se crean objetos por
+     * vértice.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @param bloqueados los vértices por los que no se puede pasar; puede ser
+     *        <code>null</code>.
+     * @param vetados los vértices a los que no se puede ir directamente desde
+     *        el origen; puede ser <code>null</code>.
+     * @param anterior arreglo donde se guarda el vértice anterior de cada
+     *        vértice en la trayectoria encontrada.
+     * @return el peso mínimo, o {@link Double#POSITIVE_INFINITY} si el destino
+     *         no es alcanzable.
+     */
+    public double dijkstra(int origen, int destino, boolean[] bloqueados,
+                           int[] vetados, int[] anterior) {
+        int n = vertices.length;
+        double[] distancia = new double[n];
+        Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+        Arrays.fill(anterior, -1);
+        ColaPrioridadIndexada cola =
+            new ColaPrioridadIndexada(n, ARIDAD_DIJKSTRA);
+        distancia[origen] = 0;
+        cola.agrega(origen, 0);
+        while (!cola.esVacia()) {
+            int u = cola.elimina();
+            if (u == destino)
+                return distancia[u];
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                int v = this.destino[a];
+                if (bloqueados != null && bloqueados[v])
+                    continue;
+                if (u == origen && vetados != null && contiene(vetados, v))
+                    continue;
+                double d = distancia[u] + peso[a];
+                if (d < distancia[v]) {
+                    distancia[v] = d;
+                    anterior[v] = u;
+                    if (cola.contiene(v))
+                        cola.reordena(v, d);
+                    else
+                        cola.agrega(v, d);
+                }
+            }
+        }
+        return distancia[destino];
+    }
+
+    /**
+     * Regresa el peso máximo de las aristas si todos los pesos son enteros
+     * menores que {@link Integer#MAX_VALUE}.
+     * @return el peso máximo de las aristas, o -1 si algún peso no es entero
+     *         o es demasiado grande.
+     */
+    public int pesoEnteroMaximo() {
+        double maximo = 0;
+        for (double p : peso) {
+            if (p != Math.rint(p) || p < 0 || p >= Integer.MAX_VALUE)
+                return -1;
+            maximo = Math.max(maximo, p);
+        }
+        return (int)maximo;
+    }
+
+    /**
+     * Calcula el peso mínimo de un vértice a otro con el algoritmo de
+     * Dijkstra cuando todos los pesos son enteros. Como las distancias que
+     * salen del montículo nunca disminuyen, en lugar de un montículo mínimo
+     * usa un montículo de cubetas: un {@link MonticuloDial} si el peso máximo
+     * es pequeño, o un {@link MonticuloRadix} si no.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @param pesoMaximo el peso máximo de las aristas, como lo regresa {@link
+     *        #pesoEnteroMaximo}.
+     * @param anterior arreglo donde se guarda el vértice anterior de cada
+     *        vértice en la trayectoria encontrada.
+     * @return el peso mínimo, o {@link Double#POSITIVE_INFINITY} si el destino
+     *         no es alcanzable.
+     * @throws IllegalArgumentException si <code>pesoMaximo</code> es
+     *         negativo.
+     */
+    public double dijkstraEntero(int origen, int destino, int pesoMaximo,
+                                 int[] anterior) {
+        if (pesoMaximo < 0)
+            throw new IllegalArgumentException();
+        int n = vertices.length;
+        long[] distancia = new long[n];
+        Arrays.fill(distancia, Long.MAX_VALUE);
+        Arrays.fill(anterior, -1);
+        @SuppressWarnings("unchecked") Indexable<Integer>[] indexables =
+            (Indexable<Integer>[])new Indexable[n];
+        ToLongFunction<Indexable<Integer>> llave = i -> (long)i.getValor();
+        MonticuloCubetas<Indexable<Integer>> monticulo =
+            pesoMaximo <= DIAL_MAXIMO ?
+            new MonticuloDial<Indexable<Integer>>(llave, pesoMaximo) :
+            new MonticuloRadix<Indexable<Integer>>(llave);
+        distancia[origen] = 0;
+        indexables[origen] = new Indexable<Integer>(origen, 0);
+        monticulo.agrega(indexables[origen]);
+        while (!monticulo.esVacia()) {
+            int u = monticulo.elimina().getElemento();
+            if (u == destino)
+                return distancia[u];
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                int v = this.destino[a];
+                long d = distancia[u] + (long)peso[a];
+                if (d < distancia[v]) {
+                    distancia[v] = d;
+                    anterior[v] = u;
+                    if (indexables[v] == null) {
+                        indexables[v] = new Indexable<Integer>(v, d);
+                        monticulo.agrega(indexables[v]);
+                    } else {
+                        indexables[v].setValor(d);
+                        monticulo.reordena(indexables[v]);
+                    }
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Recorre la gráfica con BFS desde el origen hasta encontrar el destino,
+     * ignorando los pesos de las aristas.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @param anterior arreglo donde se guarda el vértice anterior de cada
+     *        vértice en la trayectoria encontrada.
+     * @return <code>true</code> si el destino es alcanzable desde el origen,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean bfs(int origen, int destino, int[] anterior) {
+        int[] cola = new int[vertices.length];
+        boolean[] visitados = new boolean[vertices.length];
+        Arrays.fill(anterior, -1);
+        int cabeza = 0, rabo = 0;
+        cola[rabo++] = origen;
+        visitados[origen] = true;
+        while (cabeza < rabo) {
+            int u = cola[cabeza++];
+            if (u == destino)
+                return true;
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                int v = this.destino[a];
+                if (!visitados[v]) {
+                    visitados[v] = true;
+                    anterior[v] = u;
+                    cola[rabo++] = v;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calcula el costo mínimo de un vértice a otro con BFS 0-1: cruzar una
+     * arista gratuita cuesta 0, y cruzar cualquier otra cuesta 1. Los
+     * vértices se procesan con una {@link Bicola}: los que se alcanzan con
+     * una arista gratuita se meten al inicio y los demás al final, así que la
+     * bicola siempre está ordenada por costo y el algoritmo toma tiempo
+     * <i>O</i>(<i>n</i> + <i>m</i>), sin montículo.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @param gratuita nos dice si la arista de un elemento a otro es
+     *        gratuita.
+     * @param anterior arreglo donde se guarda el vértice anterior de cada
+     *        vértice en la trayectoria encontrada.
+     * @return el costo mínimo, o -1 si el destino no es alcanzable.
+     */
+    public int bfs01(int origen, int destino, BiPredicate<T, T> gratuita,
+                     int[] anterior) {
+        int n = vertices.length;
+        int[] costo = new int[n];
+        boolean[] terminados = new boolean[n];
+        Arrays.fill(costo, Integer.MAX_VALUE);
+        Arrays.fill(anterior, -1);
+        Bicola<Integer> bicola = new Bicola<Integer>();
+        costo[origen] = 0;
+        bicola.meteInicio(origen);
+        while (!bicola.esVacia()) {
+            int u = bicola.sacaInicio();
+            if (u == destino)
+                return costo[u];
+            if (terminados[u])
+                continue;
+            terminados[u] = true;
+            T e = vertices[u].get();
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                int v = this.destino[a];
+                if (terminados[v])
+                    continue;
+                boolean cero = gratuita.test(e, vertices[v].get());
+                int c = cero ? costo[u] : costo[u] + 1;
+                if (c < costo[v]) {
+                    costo[v] = c;
+                    anterior[v] = u;
+                    if (cero)
+                        bicola.meteInicio(v);
+                    else
+                        bicola.meteFinal(v);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Realiza la acción en todos los vértices alcanzables desde el origen, en
+     * paralelo con un {@link RecorridoParalelo}. Cada vértice se marca como
+     * visitado con una operación atómica antes de entregarse, así que cada
+     * uno recibe la acción exactamente una vez.
+     * @param origen el identificador del vértice de origen.
+     * @param accion la acción a realizar.
+     * @param hilos el número de hilos.
+     */
+    public void dfsParalelo(int origen, AccionVerticeGrafica<T> accion,
+                            int hilos) {
+        AtomicIntegerArray visitados = new AtomicIntegerArray(vertices.length);
+        visitados.set(origen, 1);
+        new RecorridoParalelo<Integer>(hilos).recorre(origen, (u, hijos) -> {
+                accion.actua(vertices[u]);
+                for (int a = inicio[u]; a < inicio[u+1]; a++)
+                    if (visitados.compareAndSet(destino[a], 0, 1))
+                        hijos.accept(destino[a]);
+            });
+    }
+
+    /**
+     * Calcula un orden topológico de los vértices con el algoritmo de Kahn.
+     * @return los identificadores de los vértices en orden topológico, o
+     *         <code>null</code> si la gráfica tiene ciclos.
+     */
+    public int[] ordenTopologico() {
+        int n = vertices.length;
+        int[] grado = new int[n];
+        for (int v : destino)
+            grado[v]++;
+        int[] orden = new int[n];
+        int cabeza = 0, rabo = 0;
+        for (int v = 0; v < n; v++)
+            if (grado[v] == 0)
+                orden[rabo++] = v;
+        while (cabeza < rabo) {
+            int u = orden[cabeza++];
+            for (int a = inicio[u]; a < inicio[u+1]; a++)
+                if (--grado[destino[a]] == 0)
+                    orden[rabo++] = destino[a];
+        }
+        return rabo == n ? orden : null;
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas con el algoritmo de Tarjan.
+     * El recorrido usa una pila explícita en lugar de recursión, por lo que no
+     * importa qué tan profunda sea la gráfica.
+     * @return un arreglo con la componente de cada vértice; las componentes
+     *         se numeran desde 0 en orden topológico inverso.
+     */
+    public int[] componentes() {
+        int n = vertices.length;
+        int[] indice = new int[n];
+        int[] bajo = new int[n];
+        int[] siguiente = new int[n];
+        int[] llamadas = new int[n];
+        int[] pila = new int[n];
+        boolean[] enPila = new boolean[n];
+        int[] componente = new int[n];
+        Arrays.fill(indice, -1);
+        int contador = 0, componentes = 0, tope = 0, profundidad = 0;
+        for (int s = 0; s < n; s++) {
+            if (indice[s] != -1)
+                continue;
+            indice[s] = bajo[s] = contador++;
+            siguiente[s] = inicio[s];
+            pila[tope++] = s;
+            enPila[s] = true;
+            llamadas[profundidad++] = s;
+            while (profundidad > 0) {
+                int u = llamadas[profundidad-1];
+                if (siguiente[u] < inicio[u+1]) {
+                    int v = destino[siguiente[u]++];
+                    if (indice[v] == -1) {
+                        indice[v] = bajo[v] = contador++;
+                        siguiente[v] = inicio[v];
+                        pila[tope++] = v;
+                        enPila[v] = true;
+                        llamadas[profundidad++] = v;
+                    } else if (enPila[v]) {
+                        bajo[u] = Math.min(bajo[u], indice[v]);
+                    }
+                    continue;
+                }
+                profundidad--;
+                if (bajo[u] == indice[u]) {
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        enPila[w] = false;
+                        componente[w] = componentes;
+                    } while (w != u);
+                    componentes++;
+                }
+                if (profundidad > 0) {
+                    int p = llamadas[profundidad-1];
+                    bajo[p] = Math.min(bajo[p], bajo[u]);
+                }
+            }
+        }
+        return componente;
+    }
+
+    /**
+     * Divide los vértices en <i>k</i> particiones balanceadas tratando de
+     * que el peso de las aristas entre particiones sea pequeño. Se empieza
+     * repartiendo los vértices en orden BFS, y luego se hacen rondas de
+     * propagación de etiquetas: cada vértice se mueve a la partición con la
+     * que comparte más peso, siempre que ninguna partición se salga de su
+     * capacidad.
+     * @param k el número de particiones.
+     * @return un arreglo con la partición de cada vértice.
+     */
+    public int[] particiona(int k) {
+        int n = vertices.length;
+        int[] particion = new int[n];
+        int[] tamaño = new int[k];
+        int capacidad = Math.max(1, (n + k - 1) / k);
+        int holgura = Math.max(1, capacidad / 20);
+        int[] orden = ordenBfs();
+        for (int i = 0; i < n; i++) {
+            particion[orden[i]] = i / capacidad;
+            tamaño[i / capacidad]++;
+        }
+        double[] conexion = new double[k];
+        for (int ronda = 0; ronda < 16; ronda++) {
+            int movidos = 0;
+            for (int u : orden) {
+                int p = particion[u];
+                for (int a = inicio[u]; a < inicio[u+1]; a++)
+                    conexion[particion[destino[a]]] += peso[a];
+                int mejor = p;
+                if (tamaño[p] > capacidad - holgura) {
+                    for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                        int q = particion[destino[a]];
+                        if (conexion[q] > conexion[mejor] &&
+                            tamaño[q] < capacidad + holgura)
+                            mejor = q;
+                    }
+                }
+                for (int a = inicio[u]; a < inicio[u+1]; a++)
+                    conexion[particion[destino[a]]] = 0;
+                if (mejor != p) {
+                    particion[u] = mejor;
+                    tamaño[p]--;
+                    tamaño[mejor]++;
+                    movidos++;
+                }
+            }
+            if (movidos == 0)
+                break;
+        }
+        return particion;
+    }
+
+    /**
+     * Detecta comunidades con el algoritmo de Louvain.
+     * @return una lista con los niveles de comunidades, del más fino al más
+     *         grueso.
+     */
+    public Lista<NivelComunidades<T>> louvain() {
+        return louvain(inicio, destino, peso);
+    }
+
+    /**
+     * Detecta comunidades con el algoritmo de Louvain, tratando cada arista
+     * como si no fuera dirigida; es lo que se usa en gráficas dirigidas, donde
+     * las aristas aparecen en una sola dirección.
+     * @return una lista con los niveles de comunidades, del más fino al más
+     *         grueso.
+     */
+    public Lista<NivelComunidades<T>> louvainSimetrico() {
+        int n = vertices.length;
+        int[] sInicio = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                sInicio[u+1]++;
+                sInicio[destino[a]+1]++;
+            }
+        }
+        for (int u = 0; u < n; u++)
+            sInicio[u+1] += sInicio[u];
+        int[] siguiente = Arrays.copyOf(sInicio, n);
+        int[] sDestino = new int[sInicio[n]];
+        double[] sPeso = new double[sInicio[n]];
+        for (int u = 0; u < n; u++) {
+            for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                int v = destino[a];
+                sDestino[siguiente[u]] = v;
+                sPeso[siguiente[u]++] = peso[a];
+                sDestino[siguiente[v]] = u;
+                sPeso[siguiente[v]++] = peso[a];
+            }
+        }
+        return louvain(sInicio, sDestino, sPeso);
+    }
+
+    /* Ejecuta el algoritmo de Louvain sobre los arreglos recibidos, en los
+     * que cada arista aparece en ambas direcciones. */
+    private Lista<NivelComunidades<T>> louvain(int[] inicio, int[] destino,
+                                               double[] peso) {
+        Louvain louvain = new Louvain(inicio, destino, peso);
+        louvain.ejecuta();
+        Lista<NivelComunidades<T>> niveles = new Lista<NivelComunidades<T>>();
+        IteradorLista<Double> modularidad =
+            louvain.getModularidades().iteradorLista();
+        for (int[] etiquetas : louvain.getEtiquetas())
+            niveles.agrega(new NivelComunidades<T>(this, etiquetas,
+                                                   modularidad.next()));
+        return niveles;
+    }
+
+    /**
+     * Regresa el identificador de los vecinos de un vértice.
+     * @param id el identificador del vértice.
+     * @return los identificadores de los vecinos del vértice.
+     */
+    public int[] vecinos(int id) {
+        return Arrays.copyOfRange(destino, inicio[id], inicio[id+1]);
+    }
+
+    /* Regresa todos los vértices en orden BFS, componente por componente. */
+    private int[] ordenBfs() {
+        int n = vertices.length;
+        int[] orden = new int[n];
+        boolean[] visitados = new boolean[n];
+        int cabeza = 0, rabo = 0;
+        for (int s = 0; s < n; s++) {
+            if (visitados[s])
+                continue;
+            visitados[s] = true;
+            orden[rabo++] = s;
+            while (cabeza < rabo) {
+                int u = orden[cabeza++];
+                for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                    if (!visitados[destino[a]]) {
+                        visitados[destino[a]] = true;
+                        orden[rabo++] = destino[a];
+                    }
+                }
+            }
+        }
+        return orden;
+    }
+
+    /**
+     * Regresa los vértices que tienen una arista hacia el vértice recibido,
+     * recorriendo todas las aristas.
+     * @param id el identificador del vértice.
+     * @return una lista con los vértices que tienen una arista hacia el
+     *         vértice recibido.
+     */
+    public Lista<VerticeGrafica<T>> entrantes(int id) {
+        Lista<VerticeGrafica<T>> lista = new Lista<VerticeGrafica<T>>();
+        for (int u = 0; u < vertices.length; u++)
+            for (int a = inicio[u]; a < inicio[u+1]; a++)
+                if (destino[a] == id)
+                    lista.agrega(vertices[u]);
+        return lista;
+    }
+
+    /**
+     * Regresa una lista con los vértices correspondientes a los
+     * identificadores recibidos.
+     * @param ids los identificadores.
+     * @return la lista de vértices.
+     */
+    public Lista<VerticeGrafica<T>> lista(int[] ids) {
+        Lista<VerticeGrafica<T>> lista = new Lista<VerticeGrafica<T>>();
+        for (int id : ids)
+            lista.agrega(vertices[id]);
+        return lista;
+    }
+
+    /**
+     * Reconstruye la trayectoria del origen al destino a partir del arreglo
+     * de vértices anteriores.
+     * @param anterior el vértice anterior de cada vértice.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @return los identificadores de la trayectoria, del origen al destino.
+     */
+    public int[] reconstruye(int[] anterior, int origen, int destino) {
+        int c = 1;
+        for (int v = destino; v != origen; v = anterior[v])
+            c++;
+        int[] ids = new int[c];
+        for (int v = destino; c > 0; v = anterior[v])
+            ids[--c] = v;
+        return ids;
+    }
+
+    /* Regresa el peso de la arista de u a v. */
+    private double pesoArista(int u, int v) {
+        for (int a = inicio[u]; a < inicio[u+1]; a++)
+            if (destino[a] == v)
+                return peso[a];
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /* Nos dice si dos caminos comparten sus primeros i+1 vértices. */
+    private static boolean mismoPrefijo(Camino a, Camino b, int i) {
+        for (int j = 0; j <= i; j++)
+            if (a.ids[j] != b.ids[j])
+                return false;
+        return true;
+    }
+
+    /* Nos dice si el arreglo contiene al valor. */
+    private static boolean contiene(int[] arreglo, int valor) {
+        for (int x : arreglo)
+            if (x == valor)
+                return true;
+        return false;
+    }
+}
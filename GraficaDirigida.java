@@ -0,0 +1,146 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para gráficas dirigidas.</p>
+ *
+ * <p>En una gráfica dirigida cada arista tiene un origen y un destino, por lo
+ * que {@link #conecta(Object,Object,double)} agrega una sola entrada de
+ * vecino. Los recorridos, el algoritmo de Dijkstra y las trayectorias de peso
+ * mínimo son los mismos de {@link Grafica}, siguiendo las aristas en su
+ * dirección. El grado de un vértice es su grado de salida.</p>
+ *
+ * <p>Opcionalmente cada vértice puede guardar también sus aristas de entrada,
+ * lo que hace que {@link #entrantes} y {@link #elimina} no tengan que recorrer
+ * toda la gráfica, a costa de una entrada de vecino más por arista.</p>
+ */
+public class GraficaDirigida<T> extends Grafica<T> {
+
+    /**
+     * Constructor sin parámetros; la gráfica no guarda las aristas de entrada
+     * de sus vértices.
+     */
+    public GraficaDirigida() {
+        this(false);
+    }
+
+    /**
+     * Constructor que permite decidir si los vértices guardan sus aristas de
+     * entrada.
+     * @param indiceEntrantes si cada vértice guarda sus aristas de entrada.
+     */
+    public GraficaDirigida(boolean indiceEntrantes) {
+        super(true, indiceEntrantes);
+    }
+
+    /**
+     * Regresa el grado de entrada del vértice que contiene al elemento
+     * recibido.
+     * @param elemento el elemento.
+     * @return el número de aristas que llegan al vértice del elemento.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public int getGradoEntrada(T elemento) {
+        Vertice v = busca(elemento);
+        if (v.entrantes != null)
+            return v.entrantes.getElementos();
+        return entrantes(elemento).getLongitud();
+    }
+
+    /**
+     * Regresa una lista con los vértices que tienen una arista hacia el
+     * vértice que contiene al elemento recibido.
+     * @param elemento el elemento.
+     * @return una lista con los vértices que tienen una arista hacia el
+     *         vértice del elemento.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> entrantes(T elemento) {
+        Vertice v = busca(elemento);
+        if (v.entrantes == null) {
+            GraficaCompacta<T> g = compacta();
+            return g.entrantes(g.id(elemento));
+        }
+        Lista<VerticeGrafica<T>> lista = new Lista<VerticeGrafica<T>>();
+        for (Vecino vecino : v.entrantes)
+            lista.agrega(vecino.vecino);
+        return lista;
+    }
+
+    /**
+     * Regresa los vértices de la gráfica en orden topológico, usando el
+     * algoritmo de Kahn. El algoritmo es iterativo.
+     * @return una lista con los vértices de la gráfica, tal que para cada
+     *         arista de <tt>a</tt> a <tt>b</tt>, <tt>a</tt> aparece antes que
+     *         <tt>b</tt>.
+     * @throws IllegalStateException si la gráfica tiene ciclos.
+     */
+    public Lista<VerticeGrafica<T>> ordenTopologico() {
+        GraficaCompacta<T> g = compacta();
+        int[] orden = g.ordenTopologico();
+        if (orden == null)
+            throw new IllegalStateException();
+        return g.lista(orden);
+    }
+
+    /**
+     * Regresa las componentes fuertemente conexas de la gráfica, usando el
+     * algoritmo de Tarjan con una pila explícita, por lo que no hay recursión
+     * sin importar la profundidad de la gráfica.
+     * @return una lista de componentes fuertemente conexas; cada componente es
+     *         una lista de vértices. Las componentes están en orden topológico
+     *         inverso.
+     */
+    public Lista<Lista<VerticeGrafica<T>>> componentesFuertementeConexas() {
+        GraficaCompacta<T> g = compacta();
+        int[] componente = g.componentes();
+        int c = 0;
+        for (int x : componente)
+            c = Math.max(c, x + 1);
+        @SuppressWarnings("unchecked") Lista<VerticeGrafica<T>>[] listas =
+            (Lista<VerticeGrafica<T>>[])new Lista[c];
+        for (int i = 0; i < c; i++)
+            listas[i] = new Lista<VerticeGrafica<T>>();
+        for (int i = 0; i < componente.length; i++)
+            listas[componente[i]].agrega(g.vertice(i));
+        Lista<Lista<VerticeGrafica<T>>> componentes =
+            new Lista<Lista<VerticeGrafica<T>>>();
+        for (Lista<VerticeGrafica<T>> lista : listas)
+            componentes.agrega(lista);
+        return componentes;
+    }
+
+    /**
+     * Nos dice si la gráfica es fuertemente conexa.
+     * @return <code>true</code> si de cada vértice se puede llegar a cualquier
+     *         otro, <code>false</code> en otro caso.
+     */
+    @Override public boolean esConexa() {
+        return componentesFuertementeConexas().getLongitud() <= 1;
+    }
+
+    /**
+     * Detecta comunidades en la gráfica con el algoritmo de Louvain. La
+     * modularidad de Louvain supone aristas no dirigidas, así que cada arista
+     * se cuenta en ambas direcciones, con su peso.
+     * @return una lista con los niveles de comunidades, del más fino al más
+     *         grueso; la modularidad de cada nivel es mayor que la del
+     *         anterior. Siempre hay al menos un nivel.
+     */
+    @Override public Lista<NivelComunidades<T>> comunidades() {
+        return compacta().louvainSimetrico();
+    }
+
+    /**
+     * Regresa una representación en cadena de la gráfica dirigida.
+     * @return una representación en cadena de la gráfica dirigida.
+     */
+    @Override public String toString() {
+        String x = "";
+        for (T e : this)
+            for (VerticeGrafica<T> v : vertice(e).vecinos())
+                x = x + "(" + e + ", " + v.get() + "), ";
+        return x;
+    }
+}
@@ -1,8 +1,11 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.reflect.Array;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * <p>Clase genérica para listas doblemente ligadas.</p>
@@ -12,6 +15,12 @@ import java.util.NoSuchElementException;
  * lista, y otras operaciones básicas.</p>
  *
  * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
+ *
+ * <p>Los accesos por índice ({@link #get} y {@link #inserta}) recorren la
+ * lista desde la cabeza, el rabo o el último nodo al que se accedió, lo que
+ * esté más cerca; así, recorrer la lista con índices consecutivos toma tiempo
+ * constante por elemento. Opcionalmente la lista puede mantener un índice con
+ * uno de cada <i>k</i> nodos (ver {@link #setSalto}).</p>
  */
 public class Lista<T> implements Coleccion<T> {
 
@@ -87,12 +96,139 @@ public class Lista<T> implements Coleccion<T> {
         }
     }
 
+    /* Clase privada para ordenar la lista con MergeSort natural. Mantiene
+     * una pila de corridas, cada una ligada sólo con siguiente y terminada
+     * en null, y las mezcla conforme se agregan para que sus longitudes
+     * crezcan al menos como los números de Fibonacci. */
+    private class Ordenamiento {
+        /* Las cabezas de las corridas. */
+        private Nodo[] cabezas;
+        /* Los rabos de las corridas. */
+        private Nodo[] rabos;
+        /* Las longitudes de las corridas. */
+        private int[] longitudes;
+        /* El número de corridas en la pila. */
+        private int corridas;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye un nuevo ordenamiento. */
+        @SuppressWarnings("unchecked")
+        public Ordenamiento(Comparator<T> comparador) {
+            this.comparador = comparador;
+            cabezas = (Nodo[])Array.newInstance(Nodo.class, PILA_CORRIDAS);
+            rabos = (Nodo[])Array.newInstance(Nodo.class, PILA_CORRIDAS);
+            longitudes = new int[PILA_CORRIDAS];
+        }
+
+        /* Agrega una corrida a la pila y mezcla las corridas necesarias. */
+        public void agrega(Nodo cabeza, Nodo rabo, int longitud) {
+            cabezas[corridas] = cabeza;
+            rabos[corridas] = rabo;
+            longitudes[corridas++] = longitud;
+            while (corridas > 1) {
+                int m = corridas - 2;
+                if ((m > 0 && longitudes[m-1] <= longitudes[m] +
+                     longitudes[m+1]) ||
+                    (m > 1 && longitudes[m-2] <= longitudes[m-1] +
+                     longitudes[m])) {
+                    if (longitudes[m-1] < longitudes[m+1])
+                        m--;
+                } else if (longitudes[m] > longitudes[m+1]) {
+                    break;
+                }
+                mezcla(m);
+            }
+        }
+
+        /* Mezcla todas las corridas que quedan en la pila. */
+        public void termina() {
+            while (corridas > 1) {
+                int m = corridas - 2;
+                if (m > 0 && longitudes[m-1] < longitudes[m+1])
+                    m--;
+                mezcla(m);
+            }
+        }
+
+        /* Mezcla las corridas i e i+1 de la pila; si la primera termina
+         * antes de que empiece la segunda sólo las concatena. */
+        private void mezcla(int i) {
+            Nodo a = cabezas[i], b = cabezas[i+1];
+            Nodo h, t;
+            if (comparador.compare(rabos[i].elemento, b.elemento) <= 0) {
+                rabos[i].siguiente = b;
+                rabos[i] = rabos[i+1];
+            } else if (comparador.compare(rabos[i+1].elemento,
+                                          a.elemento) < 0) {
+                rabos[i+1].siguiente = a;
+                cabezas[i] = b;
+            } else {
+                if (comparador.compare(b.elemento, a.elemento) < 0) {
+                    h = b;
+                    b = b.siguiente;
+                } else {
+                    h = a;
+                    a = a.siguiente;
+                }
+                t = h;
+                while (a != null && b != null) {
+                    if (comparador.compare(b.elemento, a.elemento) < 0) {
+                        t.siguiente = b;
+                        t = b;
+                        b = b.siguiente;
+                    } else {
+                        t.siguiente = a;
+                        t = a;
+                        a = a.siguiente;
+                    }
+                }
+                if (a != null) {
+                    t.siguiente = a;
+                } else {
+                    t.siguiente = b;
+                    rabos[i] = rabos[i+1];
+                }
+                cabezas[i] = h;
+            }
+            longitudes[i] += longitudes[i+1];
+            for (int j = i + 1; j < corridas - 1; j++) {
+                cabezas[j] = cabezas[j+1];
+                rabos[j] = rabos[j+1];
+                longitudes[j] = longitudes[j+1];
+            }
+            corridas--;
+        }
+
+        /* Regresa la cabeza de la primera corrida. */
+        public Nodo getCabeza() {
+            return cabezas[0];
+        }
+
+        /* Regresa el rabo de la primera corrida. */
+        public Nodo getRabo() {
+            return rabos[0];
+        }
+    }
+
+    /* Tamaño de la pila de corridas del ordenamiento; como sus longitudes
+     * crecen como los números de Fibonacci, alcanza para cualquier lista. */
+    private static final int PILA_CORRIDAS = 96;
+
     /* Primer elemento de la lista. */
     private Nodo cabeza;
     /* Último elemento de la lista. */
     private Nodo rabo;
     /* Número de elementos en la lista. */
     private int longitud;
+    /* El último nodo al que se accedió por índice. */
+    private Nodo dedo;
+    /* El índice del dedo. */
+    private int indiceDedo;
+    /* Cada cuántos nodos hay una entrada en el índice de saltos, o 0. */
+    private int salto;
+    /* El índice de saltos, o null si no está construido. */
+    private Nodo[] saltos;
 
     /**
      * Regresa la longitud de la lista. El método es idéntico a {@link
@@ -159,6 +295,7 @@ public class Lista<T> implements Coleccion<T> {
 		rabo.siguiente = null;
 	}
 	longitud = longitud + 1;
+        saltos = null;
     }
 
     /**
@@ -183,6 +320,8 @@ public class Lista<T> implements Coleccion<T> {
 		cabeza.anterior = null;
 	}
 	longitud = longitud + 1;
+        indiceDedo++;
+        saltos = null;
     }
 
     /**
@@ -215,6 +354,9 @@ public class Lista<T> implements Coleccion<T> {
 		n2.siguiente = n1;
 		n1.anterior = n2;
 		longitud = longitud + 1; 
+                dedo = n2;
+                indiceDedo = i;
+                saltos = null;
 	}
     }
 
@@ -235,6 +377,8 @@ public class Lista<T> implements Coleccion<T> {
 			n.siguiente.anterior = n.anterior;
 			n.anterior.siguiente = n.siguiente;
 			longitud = longitud -1;
+                        dedo = null;
+                        saltos = null;
 		}
 	}
     }
@@ -247,7 +391,12 @@ public class Lista<T> implements Coleccion<T> {
     public T eliminaPrimero() throws NoSuchElementException{        	
 	if(longitud == 0){
 		throw new NoSuchElementException();
-	}else if(longitud == 1){
+	}
+        if (dedo == cabeza)
+            dedo = null;
+        indiceDedo--;
+        saltos = null;
+	if(longitud == 1){
 		T aux = cabeza.elemento;
 		cabeza = null;
 		rabo = null;
@@ -271,7 +420,11 @@ public class Lista<T> implements Coleccion<T> {
     public T eliminaUltimo() {
         if(longitud == 0){
 		throw new NoSuchElementException();
-	}else if(longitud == 1){
+	}
+        if (dedo == rabo)
+            dedo = null;
+        saltos = null;
+	if(longitud == 1){
 		T aux = rabo.elemento;
 		cabeza = null;
 		rabo = null;
@@ -333,6 +486,8 @@ public class Lista<T> implements Coleccion<T> {
        cabeza = null;
        rabo = null;
        longitud = 0;
+       dedo = null;
+       saltos = null;
     }
 
     /**
@@ -362,28 +517,44 @@ public class Lista<T> implements Coleccion<T> {
     }
 
     /**
-     * Regresa el <em>i</em>-ésimo elemento de la lista.
+     * Regresa el <em>i</em>-ésimo elemento de la lista. El recorrido empieza
+     * en la cabeza, el rabo, el último nodo al que se accedió o el índice de
+     * saltos, lo que esté más cerca de <em>i</em>.
      * @param i el índice del elemento que queremos.
      * @return el <em>i</em>-ésimo elemento de la lista.
      * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
      *         igual que el número de elementos en la lista.
      */
     public T get(int i) throws ExcepcionIndiceInvalido{
-        if (i < 0 || i >= getLongitud()){
-		throw new ExcepcionIndiceInvalido();
-	}else{
-		Nodo n = cabeza;
-		int c = 0;
-		while (n !=null){
-			if (c == i){
-				return n.elemento;
-			}
-		n = n.siguiente;
-		c = c + 1;
-		}
-		return null;		
-	}
+        return getNodo(i).elemento;
+    }
+
+    /**
+     * Regresa cada cuántos nodos hay una entrada en el índice de saltos, o
+     * cero si la lista no usa índice de saltos.
+     * @return cada cuántos nodos hay una entrada en el índice de saltos.
+     */
+    public int getSalto() {
+        return salto;
+    }
 
+    /**
+     * Define cada cuántos nodos hay una entrada en el índice de saltos. Con
+     * el índice, un acceso por índice recorre a lo más <i>salto</i>/2 nodos
+     * desde una entrada; con un salto de alrededor de la raíz cuadrada de la
+     * longitud, los accesos aleatorios toman tiempo <i>O</i>(&radic;<i>n</i>).
+     * El índice se construye en el primer acceso por índice después de
+     * cualquier cambio en la lista, así que sólo conviene en listas que se
+     * consultan mucho más de lo que se modifican.
+     * @param salto cada cuántos nodos hay una entrada en el índice de saltos,
+     *              o cero para no usar índice de saltos.
+     * @throws IllegalArgumentException si <i>salto</i> es negativo.
+     */
+    public void setSalto(int salto) {
+        if (salto < 0)
+            throw new IllegalArgumentException();
+        this.salto = salto;
+        saltos = null;
     }
 
     /**
@@ -466,30 +637,30 @@ public class Lista<T> implements Coleccion<T> {
         return new Iterador();
     }
 
+    /**
+     * Regresa un separador para recorrer la lista. El separador conoce la
+     * longitud de la lista y respeta su orden.
+     * @return un separador para recorrer la lista.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), longitud,
+                                        Spliterator.ORDERED |
+                                        Spliterator.NONNULL);
+    }
+
     /**
      * Regresa una copia de la lista, pero ordenada. Para poder hacer el
      * ordenamiento, el método necesita una instancia de {@link Comparator} para
-     * poder comparar los elementos de la lista.
+     * poder comparar los elementos de la lista. La copia se ordena con {@link
+     * #ordena(Comparator)}.
      * @param comparador el comparador que la lista usará para hacer el
      *                   ordenamiento.
      * @return una copia de la lista, pero ordenada.
      */
-    public Lista<T> mergeSort(Comparator<T> comparador) {       
-		if (longitud < 2){
-			return copia();
-		}else{
-			Lista <T> li, ld;
-			li = new Lista<T>();
-			ld = new Lista<T>();
-			int i = 0;
-			for (T e: this){
-				Lista<T> l = (i++ < getLongitud()/2) ? li :ld;
-				l.agregaFinal(e); 
-			}
-			li = li.mergeSort(comparador);
-			ld = ld.mergeSort(comparador);
-				return mezcla(li,ld,comparador);  
-		}
+    public Lista<T> mergeSort(Comparator<T> comparador) {
+        Lista<T> lista = copia();
+        lista.ordena(comparador);
+        return lista;
     }
 
     /**
@@ -505,6 +676,69 @@ public class Lista<T> implements Coleccion<T> {
         return lista.mergeSort ((a,b) -> a. compareTo (b));
     }
 
+    /**
+     * Ordena la lista usando el comparador recibido. El ordenamiento es un
+     * MergeSort natural: recorre la lista buscando corridas ya ordenadas
+     * (crecientes, o estrictamente decrecientes, que se voltean) y las mezcla
+     * religando los nodos, sin crear nodos nuevos. Es estable, toma tiempo
+     * <i>O</i>(<i>n</i> log <i>n</i>) en el peor caso, y tiempo casi lineal
+     * si la lista está casi ordenada.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud < 2)
+            return;
+        Ordenamiento ordenamiento = new Ordenamiento(comparador);
+        Nodo n = cabeza;
+        while (n != null) {
+            Nodo inicio = n, fin = n;
+            int l = 1;
+            n = n.siguiente;
+            if (n != null && comparador.compare(n.elemento, fin.elemento) < 0) {
+                fin.siguiente = null;
+                while (n != null &&
+                       comparador.compare(n.elemento, inicio.elemento) < 0) {
+                    Nodo s = n.siguiente;
+                    n.siguiente = inicio;
+                    inicio = n;
+                    n = s;
+                    l++;
+                }
+            } else {
+                while (n != null &&
+                       comparador.compare(n.elemento, fin.elemento) >= 0) {
+                    fin = n;
+                    n = n.siguiente;
+                    l++;
+                }
+                fin.siguiente = null;
+            }
+            ordenamiento.agrega(inicio, fin, l);
+        }
+        ordenamiento.termina();
+        dedo = null;
+        saltos = null;
+        cabeza = ordenamiento.getCabeza();
+        rabo = ordenamiento.getRabo();
+        Nodo anterior = null;
+        for (n = cabeza; n != null; n = n.siguiente) {
+            n.anterior = anterior;
+            anterior = n;
+        }
+    }
+
+    /**
+     * Ordena la lista recibida, como {@link #ordena(Comparator)}. La lista
+     * recibida tiene que contener nada más elementos que implementan la
+     * interfaz {@link Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     */
+    public static <T extends Comparable<T>> void ordena(Lista<T> lista) {
+        lista.ordena((a, b) -> a.compareTo(b));
+    }
+
     /**
      * Busca un elemento en la lista ordenada, usando el comparador recibido. El
      * método supone que la lista está ordenada usando el mismo comparador.
@@ -547,46 +781,57 @@ public class Lista<T> implements Coleccion<T> {
 	}
 	return null;
     }
+    /* Regresa el i-ésimo nodo, empezando desde el punto de partida más
+     * cercano, y lo deja como dedo. */
     private Nodo getNodo(int i) throws ExcepcionIndiceInvalido{
-        if (i < 0 || i >= getLongitud()){
-		throw new ExcepcionIndiceInvalido();
-	}else{
-		Nodo n = cabeza;
-		int c = 0;
-		while (n !=null){
-			if (c == i){
-				return n;
-			}
-		n = n.siguiente;
-		c = c + 1;
-		}
-		return null;		
-	}
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+        Nodo n = cabeza;
+        int j = 0;
+        int distancia = i;
+        if (longitud - 1 - i < distancia) {
+            n = rabo;
+            j = longitud - 1;
+            distancia = longitud - 1 - i;
+        }
+        if (dedo != null && Math.abs(i - indiceDedo) < distancia) {
+            n = dedo;
+            j = indiceDedo;
+            distancia = Math.abs(i - indiceDedo);
+        }
+        if (salto > 0 && distancia > salto / 2) {
+            Nodo[] s = getSaltos();
+            int k = Math.min((i + salto / 2) / salto, s.length - 1);
+            if (Math.abs(i - k * salto) < distancia) {
+                n = s[k];
+                j = k * salto;
+            }
+        }
+        while (j < i) {
+            n = n.siguiente;
+            j++;
+        }
+        while (j > i) {
+            n = n.anterior;
+            j--;
+        }
+        dedo = n;
+        indiceDedo = i;
+        return n;
+    }
 
-    } 
-    private Lista <T> mezcla (Lista <T> li, Lista<T> ld, Comparator<T> comparador){
-    	Lista <T> l = new Lista<T>();
-	Nodo nd = ld.cabeza;
-	Nodo ni = li.cabeza; 
-	while (nd !=null && ni !=null){
-		if (comparador.compare(ni.elemento,nd.elemento) <= 0){
-			l.agregaFinal (ni.elemento);
-			ni = ni.siguiente;
-		}else{
-			l.agregaFinal (nd.elemento);
-			nd = nd.siguiente;
-		}
-	}
-	Nodo nf = null;
-	if (ni != null){
-		nf = ni;
-	}else{
-		nf = nd;
-	}
-	while (nf != null){
-		l.agregaFinal(nf.elemento);
-		nf = nf.siguiente;
-	}
-	return l;
+    /* Regresa el índice de saltos, construyéndolo si hace falta. */
+    private Nodo[] getSaltos() {
+        if (saltos != null)
+            return saltos;
+        @SuppressWarnings("unchecked") Nodo[] s =
+            (Nodo[])Array.newInstance(Nodo.class,
+                                      (longitud + salto - 1) / salto);
+        int j = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente, j++)
+            if (j % salto == 0)
+                s[j / salto] = n;
+        saltos = s;
+        return saltos;
     }
 }
@@ -0,0 +1,539 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * <p>Clase genérica para listas desenrolladas.</p>
+ *
+ * <p>Una lista desenrollada es una lista doblemente ligada en la que cada nodo
+ * (bloque) guarda hasta {@link #CAPACIDAD} elementos en un arreglo. Tiene las
+ * mismas operaciones básicas que {@link Lista}, pero ocupa mucha menos memoria
+ * por elemento, y recorrerla es mucho más rápido, porque los elementos de un
+ * bloque están juntos en memoria.</p>
+ *
+ * <p>Todos los bloques, salvo el último, están al menos a la mitad: al
+ * insertar en un bloque lleno éste se parte en dos, y al eliminar de un
+ * bloque que queda a menos de la mitad se le pasan elementos del bloque
+ * siguiente, o se mezclan los dos si caben en uno.</p>
+ *
+ * <p>Las listas desenrolladas no aceptan a <code>null</code> como
+ * elemento.</p>
+ */
+public class ListaDesenrollada<T> implements Coleccion<T> {
+
+    /* Clase privada para los bloques de la lista. */
+    private class Bloque {
+        /* Los elementos del bloque. */
+        public Object[] elementos;
+        /* El número de elementos en el bloque. */
+        public int n;
+        /* El bloque anterior. */
+        public Bloque anterior;
+        /* El bloque siguiente. */
+        public Bloque siguiente;
+
+        /* Construye un bloque vacío. */
+        public Bloque() {
+            elementos = new Object[CAPACIDAD];
+        }
+
+        /* Regresa el i-ésimo elemento del bloque. */
+        @SuppressWarnings("unchecked") public T get(int i) {
+            return (T)elementos[i];
+        }
+    }
+
+    /* Clase privada para la posición de un elemento: su bloque y su índice
+     * dentro del bloque. */
+    private class Posicion {
+        /* El bloque. */
+        public Bloque bloque;
+        /* El índice dentro del bloque. */
+        public int desplazamiento;
+
+        /* Construye una posición. */
+        public Posicion(Bloque bloque, int desplazamiento) {
+            this.bloque = bloque;
+            this.desplazamiento = desplazamiento;
+        }
+    }
+
+    /* Clase Iterador privada para iteradores. */
+    private class Iterador implements IteradorLista<T> {
+        /* El bloque del elemento siguiente. */
+        private Bloque bloque;
+        /* El índice del elemento siguiente en el bloque. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            start();
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return bloque != null && indice < bloque.n;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T elemento = bloque.get(indice++);
+            if (indice == bloque.n && bloque.siguiente != null) {
+                bloque = bloque.siguiente;
+                indice = 0;
+            }
+            return elemento;
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            return bloque != null && (indice > 0 || bloque.anterior != null);
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            if (indice == 0) {
+                bloque = bloque.anterior;
+                indice = bloque.n;
+            }
+            return bloque.get(--indice);
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            bloque = cabeza;
+            indice = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            bloque = rabo;
+            indice = rabo == null ? 0 : rabo.n;
+        }
+    }
+
+    /**
+     * Número máximo de elementos en cada bloque.
+     */
+    public static final int CAPACIDAD = 64;
+    /* Número mínimo de elementos en cada bloque, salvo el último. */
+    private static final int MINIMO = CAPACIDAD / 2;
+
+    /* Primer bloque de la lista. */
+    private Bloque cabeza;
+    /* Último bloque de la lista. */
+    private Bloque rabo;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento a la lista. El método es idéntico a {@link
+     * #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        agregaFinal(elemento);
+    }
+
+    /**
+     * Agrega un elemento al final de la lista.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (rabo == null || rabo.n == CAPACIDAD)
+            agregaBloque(rabo);
+        rabo.elementos[rabo.n++] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (cabeza == null)
+            agregaFinal(elemento);
+        else
+            inserta(cabeza, 0, elemento);
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito. Si el índice es menor o
+     * igual que cero, el elemento se agrega al inicio de la lista; si es mayor
+     * o igual que el número de elementos, se agrega al final.
+     * @param i el índice dónde insertar el elemento.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (i <= 0) {
+            agregaInicio(elemento);
+        } else if (i >= longitud) {
+            agregaFinal(elemento);
+        } else {
+            Posicion posicion = busca(i);
+            inserta(posicion.bloque, posicion.desplazamiento, elemento);
+        }
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        if (elemento == null)
+            return;
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            for (int i = 0; i < b.n; i++) {
+                if (elemento.equals(b.elementos[i])) {
+                    elimina(b, i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return elimina(cabeza, 0);
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return elimina(rabo, rabo.n - 1);
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <tt>true</tt> si <tt>elemento</tt> está en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar el método.
+     */
+    public ListaDesenrollada<T> reversa() {
+        ListaDesenrollada<T> lista = new ListaDesenrollada<T>();
+        for (Bloque b = rabo; b != null; b = b.anterior)
+            for (int i = b.n - 1; i >= 0; i--)
+                lista.agregaFinal(b.get(i));
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos elementos que
+     * la lista que manda llamar el método, en el mismo orden, y los mismos
+     * bloques.
+     * @return una copia de la lista.
+     */
+    public ListaDesenrollada<T> copia() {
+        ListaDesenrollada<T> lista = new ListaDesenrollada<T>();
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            lista.agregaBloque(lista.rabo);
+            System.arraycopy(b.elementos, 0, lista.rabo.elementos, 0, b.n);
+            lista.rabo.n = b.n;
+        }
+        lista.longitud = longitud;
+        return lista;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        cabeza = rabo = null;
+        longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return cabeza.get(0);
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return rabo.get(rabo.n - 1);
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista. El recorrido salta de
+     * bloque en bloque desde el inicio o el final, lo que esté más cerca.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+        Posicion posicion = busca(i);
+        return posicion.bloque.get(posicion.desplazamiento);
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si el
+     *         elemento no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        int inicio = 0;
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            for (int i = 0; i < b.n; i++)
+                if (b.elementos[i].equals(elemento))
+                    return inicio + i;
+            inicio += b.n;
+        }
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            for (int i = 0; i < b.n; i++) {
+                if (sb.length() > 1)
+                    sb.append(", ");
+                sb.append(b.elementos[i]);
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param o el objeto con el que hay que comparar.
+     * @return <tt>true</tt> si la lista es igual al objeto recibido;
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaDesenrollada<T> lista =
+            (ListaDesenrollada<T>)o;
+        if (longitud != lista.longitud)
+            return false;
+        Iterator<T> i = lista.iterator();
+        for (T elemento : this)
+            if (!elemento.equals(i.next()))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un separador para recorrer la lista. El separador conoce la
+     * longitud de la lista y respeta su orden.
+     * @return un separador para recorrer la lista.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), longitud,
+                                        Spliterator.ORDERED |
+                                        Spliterator.NONNULL);
+    }
+
+    /* Agrega un bloque vacío después del bloque recibido, o al inicio si es
+     * null. */
+    private void agregaBloque(Bloque bloque) {
+        Bloque nuevo = new Bloque();
+        nuevo.anterior = bloque;
+        nuevo.siguiente = bloque == null ? cabeza : bloque.siguiente;
+        if (nuevo.siguiente != null)
+            nuevo.siguiente.anterior = nuevo;
+        else
+            rabo = nuevo;
+        if (bloque != null)
+            bloque.siguiente = nuevo;
+        else
+            cabeza = nuevo;
+    }
+
+    /* Quita un bloque de la lista. */
+    private void eliminaBloque(Bloque bloque) {
+        if (bloque.anterior != null)
+            bloque.anterior.siguiente = bloque.siguiente;
+        else
+            cabeza = bloque.siguiente;
+        if (bloque.siguiente != null)
+            bloque.siguiente.anterior = bloque.anterior;
+        else
+            rabo = bloque.anterior;
+    }
+
+    /* Regresa la posición del i-ésimo elemento: su bloque y su índice dentro
+     * del bloque. */
+    private Posicion busca(int i) {
+        Bloque bloque;
+        if (i < longitud / 2) {
+            bloque = cabeza;
+            while (i >= bloque.n) {
+                i -= bloque.n;
+                bloque = bloque.siguiente;
+            }
+            return new Posicion(bloque, i);
+        } else {
+            int j = longitud - 1 - i;
+            bloque = rabo;
+            while (j >= bloque.n) {
+                j -= bloque.n;
+                bloque = bloque.anterior;
+            }
+            return new Posicion(bloque, bloque.n - 1 - j);
+        }
+    }
+
+    /* Inserta el elemento en el índice i del bloque; si el bloque está lleno
+     * lo parte en dos. */
+    private void inserta(Bloque bloque, int i, T elemento) {
+        if (bloque.n == CAPACIDAD) {
+            agregaBloque(bloque);
+            Bloque nuevo = bloque.siguiente;
+            int mitad = CAPACIDAD / 2;
+            System.arraycopy(bloque.elementos, mitad, nuevo.elementos, 0,
+                             CAPACIDAD - mitad);
+            Arrays.fill(bloque.elementos, mitad, CAPACIDAD, null);
+            nuevo.n = CAPACIDAD - mitad;
+            bloque.n = mitad;
+            if (i > mitad) {
+                bloque = nuevo;
+                i -= mitad;
+            }
+        }
+        System.arraycopy(bloque.elementos, i, bloque.elementos, i + 1,
+                         bloque.n - i);
+        bloque.elementos[i] = elemento;
+        bloque.n++;
+        longitud++;
+    }
+
+    /* Elimina el elemento en el índice i del bloque y lo regresa; si el
+     * bloque queda a menos de la mitad, le pasa elementos del siguiente o
+     * los mezcla. */
+    private T elimina(Bloque bloque, int i) {
+        T elemento = bloque.get(i);
+        System.arraycopy(bloque.elementos, i + 1, bloque.elementos, i,
+                         bloque.n - i - 1);
+        bloque.elementos[--bloque.n] = null;
+        longitud--;
+        if (bloque.n == 0) {
+            eliminaBloque(bloque);
+            return elemento;
+        }
+        Bloque siguiente = bloque.siguiente;
+        if (bloque.n >= MINIMO || siguiente == null)
+            return elemento;
+        if (bloque.n + siguiente.n <= CAPACIDAD) {
+            System.arraycopy(siguiente.elementos, 0, bloque.elementos,
+                             bloque.n, siguiente.n);
+            bloque.n += siguiente.n;
+            eliminaBloque(siguiente);
+        } else {
+            int k = (siguiente.n - bloque.n) / 2;
+            System.arraycopy(siguiente.elementos, 0, bloque.elementos,
+                             bloque.n, k);
+            System.arraycopy(siguiente.elementos, k, siguiente.elementos, 0,
+                             siguiente.n - k);
+            Arrays.fill(siguiente.elementos, siguiente.n - k, siguiente.n,
+                        null);
+            bloque.n += k;
+            siguiente.n -= k;
+        }
+        return elemento;
+    }
+}
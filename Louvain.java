@@ -0,0 +1,325 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Clase para detectar comunidades con el algoritmo de Louvain.</p>
+ *
+ * <p>El algoritmo trabaja sobre arreglos de primitivos indexados por
+ * identificadores densos de vértices (el formato de {@link GraficaCompacta}).
+ * Cada nivel alterna una fase de movimientos locales, en la que cada vértice
+ * se cambia a la comunidad vecina que más aumenta la modularidad, con una fase
+ * de agregación, en la que cada comunidad se convierte en un vértice de la
+ * gráfica del siguiente nivel.</p>
+ *
+ * <p>En gráficas grandes los movimientos locales se calculan en paralelo: en
+ * cada ronda todos los vértices proponen su mejor comunidad a partir del mismo
+ * estado, y para evitar que dos vértices vecinos se intercambien una y otra
+ * vez, en las rondas pares sólo se aceptan movimientos hacia comunidades con
+ * etiqueta menor y en las impares hacia comunidades con etiqueta mayor. Una
+ * ronda se descarta si no aumenta la modularidad.</p>
+ */
+class Louvain {
+
+    /* Número de vértices a partir del cual los movimientos son paralelos. */
+    private static final int UMBRAL_PARALELO = 4096;
+    /* Ganancia mínima de modularidad para seguir iterando. */
+    private static final double EPSILON = 1e-9;
+
+    /* Número de vértices del nivel actual. */
+    private int n;
+    /* Dónde empiezan los vecinos de cada vértice. */
+    private int[] inicio;
+    /* El vértice destino de cada arista. */
+    private int[] destino;
+    /* El peso de cada arista. */
+    private double[] peso;
+    /* El grado pesado de cada vértice. */
+    private double[] grado;
+    /* Dos veces el peso total de las aristas. */
+    private double m2;
+
+    /* Las etiquetas de cada nivel, para los vértices originales. */
+    private Lista<int[]> etiquetas;
+    /* La modularidad de cada nivel. */
+    private Lista<Double> modularidades;
+
+    /**
+     * Construye una instancia del algoritmo para la gráfica recibida, en
+     * formato de arreglos; cada arista no dirigida debe aparecer en ambas
+     * direcciones.
+     * @param inicio dónde empiezan los vecinos de cada vértice.
+     * @param destino el vértice destino de cada arista.
+     * @param peso el peso de cada arista.
+     */
+    public Louvain(int[] inicio, int[] destino, double[] peso) {
+        this.n = inicio.length - 1;
+        this.inicio = inicio;
+        this.destino = destino;
+        this.peso = peso;
+        etiquetas = new Lista<int[]>();
+        modularidades = new Lista<Double>();
+    }
+
+    /**
+     * Ejecuta el algoritmo. Siempre hay al menos un nivel.
+     */
+    public void ejecuta() {
+        int[] nodo = new int[n];
+        for (int i = 0; i < n; i++)
+            nodo[i] = i;
+        calculaGrados();
+        while (true) {
+            int[] comunidad = new int[n];
+            for (int i = 0; i < n; i++)
+                comunidad[i] = i;
+            boolean movidos = n >= UMBRAL_PARALELO ?
+                movimientosParalelos(comunidad) : movimientos(comunidad);
+            int c = renumera(comunidad);
+            for (int i = 0; i < nodo.length; i++)
+                nodo[i] = comunidad[nodo[i]];
+            if (!movidos && !etiquetas.esVacia())
+                break;
+            etiquetas.agrega(nodo.clone());
+            modularidades.agrega(modularidad(comunidad, c));
+            if (!movidos || c == n)
+                break;
+            agrega(comunidad, c);
+        }
+    }
+
+    /**
+     * Regresa las etiquetas de comunidad de los vértices originales, una
+     * arreglo por nivel.
+     * @return las etiquetas de cada nivel.
+     */
+    public Lista<int[]> getEtiquetas() {
+        return etiquetas;
+    }
+
+    /**
+     * Regresa la modularidad de cada nivel.
+     * @return la modularidad de cada nivel.
+     */
+    public Lista<Double> getModularidades() {
+        return modularidades;
+    }
+
+    /* Calcula el grado pesado de cada vértice y el peso total. */
+    private void calculaGrados() {
+        grado = new double[n];
+        m2 = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = inicio[u]; a < inicio[u+1]; a++)
+                grado[u] += peso[a];
+            m2 += grado[u];
+        }
+    }
+
+    /* Movimientos locales secuenciales; regresa si algún vértice se movió. */
+    private boolean movimientos(int[] comunidad) {
+        if (m2 == 0)
+            return false;
+        double[] total = grado.clone();
+        double[] hacia = new double[n];
+        int[] tocadas = new int[n];
+        boolean alguno = false;
+        boolean mejora = true;
+        while (mejora) {
+            mejora = false;
+            for (int u = 0; u < n; u++) {
+                int actual = comunidad[u];
+                total[actual] -= grado[u];
+                int t = vecinas(u, comunidad, hacia, tocadas);
+                int mejor = actual;
+                double ganancia = hacia[actual] - total[actual] * grado[u] / m2;
+                for (int i = 0; i < t; i++) {
+                    int c = tocadas[i];
+                    double g = hacia[c] - total[c] * grado[u] / m2;
+                    if (g > ganancia + EPSILON) {
+                        ganancia = g;
+                        mejor = c;
+                    }
+                }
+                for (int i = 0; i < t; i++)
+                    hacia[tocadas[i]] = 0;
+                hacia[actual] = 0;
+                total[mejor] += grado[u];
+                if (mejor != actual) {
+                    comunidad[u] = mejor;
+                    mejora = alguno = true;
+                }
+            }
+        }
+        return alguno;
+    }
+
+    /* Movimientos locales paralelos; regresa si algún vértice se movió. Se
+     * detiene cuando dos rondas seguidas (una de cada sentido) no mejoran la
+     * modularidad. Los vértices se parten en pedazos contiguos, y cada pedazo
+     * tiene sus propios arreglos auxiliares, que se liberan al terminar. */
+    private boolean movimientosParalelos(int[] comunidad) {
+        if (m2 == 0)
+            return false;
+        double q = modularidad(comunidad, n);
+        boolean alguno = false;
+        int[] propuesta = new int[n];
+        int pedazos = Math.min(n, ForkJoinPool.getCommonPoolParallelism() + 1);
+        double[][] hacia = new double[pedazos][];
+        int[][] tocadas = new int[pedazos][];
+        int fallos = 0;
+        for (int ronda = 0; fallos < 2; ronda++) {
+            double[] total = new double[n];
+            for (int u = 0; u < n; u++)
+                total[comunidad[u]] += grado[u];
+            boolean menor = ronda % 2 == 0;
+            IntStream.range(0, pedazos).parallel().forEach(p -> {
+                    if (hacia[p] == null) {
+                        hacia[p] = new double[n];
+                        tocadas[p] = new int[n];
+                    }
+                    int fin = (int)((long)n * (p + 1) / pedazos);
+                    for (int u = (int)((long)n * p / pedazos); u < fin; u++)
+                        propuesta[u] = propone(u, comunidad, total, menor,
+                                               hacia[p], tocadas[p]);
+                });
+            int[] anterior = comunidad.clone();
+            boolean movidos = false;
+            for (int u = 0; u < n; u++) {
+                if (propuesta[u] != comunidad[u]) {
+                    comunidad[u] = propuesta[u];
+                    movidos = true;
+                }
+            }
+            double nueva = movidos ? modularidad(comunidad, n) : q;
+            if (nueva > q + EPSILON) {
+                q = nueva;
+                alguno = true;
+                fallos = 0;
+            } else {
+                System.arraycopy(anterior, 0, comunidad, 0, n);
+                fallos++;
+            }
+        }
+        return alguno;
+    }
+
+    /* Propone la mejor comunidad para el vértice u, a partir de un estado
+     * fijo; sólo considera comunidades con etiqueta menor (o mayor) que la
+     * actual. */
+    private int propone(int u, int[] comunidad, double[] total,
+                        boolean menor, double[] hacia, int[] tocadas) {
+        int actual = comunidad[u];
+        int t = vecinas(u, comunidad, hacia, tocadas);
+        double ganancia = hacia[actual] -
+            (total[actual] - grado[u]) * grado[u] / m2;
+        int mejor = actual;
+        for (int i = 0; i < t; i++) {
+            int c = tocadas[i];
+            if (c == actual || (menor ? c > actual : c < actual))
+                continue;
+            double g = hacia[c] - total[c] * grado[u] / m2;
+            if (g > ganancia + EPSILON) {
+                ganancia = g;
+                mejor = c;
+            }
+        }
+        for (int i = 0; i < t; i++)
+            hacia[tocadas[i]] = 0;
+        return mejor;
+    }
+
+    /* Acumula en hacia[c] el peso de u a cada comunidad vecina c; regresa el
+     * número de comunidades tocadas, que quedan en tocadas. */
+    private int vecinas(int u, int[] comunidad, double[] hacia,
+                        int[] tocadas) {
+        int t = 0;
+        for (int a = inicio[u]; a < inicio[u+1]; a++) {
+            int v = destino[a];
+            if (v == u)
+                continue;
+            int c = comunidad[v];
+            if (hacia[c] == 0)
+                tocadas[t++] = c;
+            hacia[c] += peso[a];
+        }
+        return t;
+    }
+
+    /* Renumera las comunidades de 0 a c-1; regresa c. */
+    private int renumera(int[] comunidad) {
+        int[] nuevo = new int[n];
+        Arrays.fill(nuevo, -1);
+        int c = 0;
+        for (int u = 0; u < n; u++) {
+            if (nuevo[comunidad[u]] == -1)
+                nuevo[comunidad[u]] = c++;
+            comunidad[u] = nuevo[comunidad[u]];
+        }
+        return c;
+    }
+
+    /* Calcula la modularidad de una asignación de comunidades. */
+    private double modularidad(int[] comunidad, int c) {
+        if (m2 == 0)
+            return 0;
+        double[] dentro = new double[c];
+        double[] total = new double[c];
+        for (int u = 0; u < n; u++) {
+            total[comunidad[u]] += grado[u];
+            for (int a = inicio[u]; a < inicio[u+1]; a++)
+                if (comunidad[destino[a]] == comunidad[u])
+                    dentro[comunidad[u]] += peso[a];
+        }
+        double q = 0;
+        for (int i = 0; i < c; i++)
+            q += dentro[i] / m2 - (total[i] / m2) * (total[i] / m2);
+        return q;
+    }
+
+    /* Construye la gráfica del siguiente nivel, con un vértice por
+     * comunidad. */
+    private void agrega(int[] comunidad, int c) {
+        int[] cuenta = new int[c + 1];
+        for (int u = 0; u < n; u++)
+            cuenta[comunidad[u] + 1]++;
+        for (int i = 0; i < c; i++)
+            cuenta[i+1] += cuenta[i];
+        int[] miembros = new int[n];
+        int[] siguiente = cuenta.clone();
+        for (int u = 0; u < n; u++)
+            miembros[siguiente[comunidad[u]]++] = u;
+        double[] acumulado = new double[c];
+        int[] tocadas = new int[c];
+        int[] nuevoInicio = new int[c + 1];
+        int[] nuevoDestino = new int[destino.length];
+        double[] nuevoPeso = new double[destino.length];
+        int arcos = 0;
+        for (int i = 0; i < c; i++) {
+            nuevoInicio[i] = arcos;
+            int t = 0;
+            for (int j = cuenta[i]; j < cuenta[i+1]; j++) {
+                int u = miembros[j];
+                for (int a = inicio[u]; a < inicio[u+1]; a++) {
+                    int d = comunidad[destino[a]];
+                    if (acumulado[d] == 0)
+                        tocadas[t++] = d;
+                    acumulado[d] += peso[a];
+                }
+            }
+            for (int j = 0; j < t; j++) {
+                nuevoDestino[arcos] = tocadas[j];
+                nuevoPeso[arcos++] = acumulado[tocadas[j]];
+                acumulado[tocadas[j]] = 0;
+            }
+        }
+        nuevoInicio[c] = arcos;
+        n = c;
+        inicio = nuevoInicio;
+        destino = Arrays.copyOf(nuevoDestino, arcos);
+        peso = Arrays.copyOf(nuevoPeso, arcos);
+        calculaGrados();
+    }
+}
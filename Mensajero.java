@@ -0,0 +1,25 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Interfaz para enviar mensajes entre vértices en un {@link EjecutorPregel}.
+ * Los mensajes enviados en un superpaso se entregan al inicio del siguiente.
+ */
+public interface Mensajero<T, M> {
+
+    /**
+     * Envía un mensaje al vértice que contiene al elemento recibido.
+     * @param destino el elemento del vértice destino.
+     * @param mensaje el mensaje.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     */
+    public void envia(T destino, M mensaje);
+
+    /**
+     * Envía un mensaje a todos los vecinos del vértice que se está
+     * calculando.
+     * @param mensaje el mensaje.
+     */
+    public void enviaVecinos(M mensaje);
+}
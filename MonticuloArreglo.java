@@ -3,7 +3,20 @@ package mx.unam.ciencias.edd;
 import java.util.NoSuchElementException;
 
 /**
- * Clase para montículos de Dijkstra con arreglos.
+ * <p>Clase para montículos de Dijkstra con arreglos.</p>
+ *
+ * <p>Los elementos viven en un arreglo, en la posición que indica su índice.
+ * Sobre el arreglo se mantiene un árbol de torneo: cada hoja corresponde a
+ * una casilla del arreglo, y cada vértice interno guarda la casilla ganadora
+ * (la del menor elemento) de sus dos hijos. La raíz tiene siempre al mínimo,
+ * así que eliminarlo o reordenar un elemento sólo actualiza el camino de una
+ * hoja a la raíz, en tiempo <i>O</i>(log <i>n</i>).</p>
+ *
+ * <p>El montículo tiene dos modos. En el modo disperso, que es el de omisión,
+ * los elementos nunca cambian de casilla y las casillas de los elementos
+ * eliminados quedan vacías. En el modo compacto, la casilla de un elemento
+ * eliminado la ocupa el último elemento del arreglo, cuyo índice se
+ * actualiza; así las casillas ocupadas son siempre las primeras.</p>
  */
 public class MonticuloArreglo<T extends ComparableIndexable<T>>
     implements MonticuloDijkstra<T> {
@@ -12,6 +25,13 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
     private int elementos;
     /* Usamos un truco para poder utilizar arreglos genéricos. */
     private T[] arreglo;
+    /* Si el montículo es compacto. */
+    private boolean compacto;
+    /* El árbol de torneo: la hoja hojas+i es i si la casilla i está ocupada y
+     * -1 si no, y cada vértice interno es el ganador de sus dos hijos. */
+    private int[] torneo;
+    /* El número de hojas del árbol de torneo; es potencia de dos. */
+    private int hojas;
 
     /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
@@ -27,14 +47,7 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
      *                  montículo.
      */
     public MonticuloArreglo(Coleccion<T> coleccion) {
-	arreglo = nuevoArreglo(coleccion.getElementos());
-	elementos = coleccion.getElementos();
-	int i = 0;
-	for(T e : coleccion){
-		arreglo[i] = e;
-		arreglo[i].setIndice(i);
-		i = i + 1;
-	}        
+        this(coleccion, coleccion.getElementos());
     }
 
     /**
@@ -44,14 +57,34 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
      * @param n el número de elementos en el iterable.
      */
     public MonticuloArreglo(Iterable<T> iterable, int n) {
+        this(iterable, n, false);
+    }
+
+    /**
+     * Construye un nuevo para montículo de Dijkstra con arreglo a partir de un
+     * iterable, en modo compacto o disperso.
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     * @param compacto si el montículo es compacto.
+     */
+    public MonticuloArreglo(Iterable<T> iterable, int n, boolean compacto) {
+        this.compacto = compacto;
         arreglo = nuevoArreglo(n);
-	elementos = n;
-	int i = 0;
-	for(T e : iterable){
-		arreglo[i] = e;
-		arreglo[i].setIndice(i);
-		i = i + 1;
-	}  
+        elementos = n;
+        int i = 0;
+        for (T e : iterable) {
+            arreglo[i] = e;
+            arreglo[i].setIndice(i);
+            i = i + 1;
+        }
+        hojas = 1;
+        while (hojas < n)
+            hojas *= 2;
+        torneo = new int[2 * hojas];
+        for (int j = 0; j < hojas; j++)
+            torneo[hojas + j] = j < n ? j : -1;
+        for (int v = hojas - 1; v >= 1; v--)
+            torneo[v] = gana(torneo[2*v], torneo[2*v + 1]);
     }
 
     /**
@@ -60,46 +93,52 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
      * @throws IllegalStateException si el montículo es vacío.
      */
     @Override public T elimina() {
-	if (esVacia()){
-		throw new IllegalStateException();
-	}else{
-		T v = null;	
-		int m = 0;	
-		for (T e : arreglo){
-			if (e != null){
-				v = e;
-				break;
-			}
-			m = m + 1;
-		}
-		for (int j = m; j < arreglo.length; j++){
-			if (arreglo[j] != null){
-				if (arreglo[j].compareTo(v) < 0){
-					v = arreglo[j];				
-					m = j; 
-				}
-			}	
-		}
-		arreglo[m].setIndice(-1);
-		arreglo[m] = null;
-		elementos = elementos - 1;	
-		return v;
-    	}
-    }        	
+        if (esVacia())
+            throw new IllegalStateException();
+        int m = torneo[1];
+        T minimo = arreglo[m];
+        int ultima = elementos - 1;
+        if (compacto && m != ultima) {
+            arreglo[m] = arreglo[ultima];
+            arreglo[m].setIndice(m);
+            arreglo[ultima] = null;
+            actualiza(ultima);
+        } else {
+            arreglo[m] = null;
+        }
+        actualiza(m);
+        elementos = elementos - 1;
+        minimo.setIndice(-1);
+        return minimo;
+    }
+
+    /**
+     * Reordena un elemento en el montículo, actualizando el camino de su
+     * casilla a la raíz del árbol de torneo. Si el elemento no está en el
+     * montículo, no hace nada.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        if (elemento == null)
+            return;
+        int i = elemento.getIndice();
+        if (i < 0 || i >= arreglo.length || arreglo[i] != elemento)
+            return;
+        actualiza(i);
+    }
 
     /**
-     * Regresa el <i>i</i>-ésimo elemento del arreglo.
+     * Regresa el <i>i</i>-ésimo elemento del arreglo. En modo disperso puede
+     * ser <code>null</code>, si el elemento en esa casilla ya se eliminó.
      * @param i el índice del elemento que queremos.
      * @return el <i>i</i>-ésimo elemento del arreglo.
      * @throws NoSuchElementException si i es menor que cero, o mayor o igual
      *         que el número de elementos.
      */
     @Override public T get(int i) {
-        if (i < 0 || i >= elementos){
-		throw new NoSuchElementException();
-	}else{
-		return arreglo[i]; 
-	}
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException();
+        return arreglo[i];
     }
 
     /**
@@ -108,11 +147,7 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
      *         <tt>false</tt> en otro caso.
      */
     @Override public boolean esVacia() {
-        if (elementos == 0){
-		return true;
-	}else{
-		return false;
-	}
+        return elementos == 0;
     }
 
     /**
@@ -123,26 +158,30 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
         return elementos;
     }
 
-    private T buscaMinimo(){
-	T v = null;	
-	int m = 0;	
-	for (T e : arreglo){
-		if (e != null){
-			v = e;
-			break;
-		}
-		m = m + 1;
-	}
-	for (int j = m; j < elementos - 1; j++){
-		if (arreglo[j] != null){
-			if (arreglo[j].compareTo(v) < 0){
-				v = arreglo[j];				
-				m = j; 
-			}
-		}	
-	}
-	arreglo[m].setIndice(-1);
-	arreglo[m] = null;	
-	return v;
+    /**
+     * Nos dice si el montículo es compacto.
+     * @return <code>true</code> si el montículo es compacto,
+     *         <code>false</code> si es disperso.
+     */
+    public boolean esCompacto() {
+        return compacto;
+    }
+
+    /* Regresa la casilla ganadora entre dos casillas; -1 es una casilla
+     * vacía. */
+    private int gana(int a, int b) {
+        if (a < 0)
+            return b;
+        if (b < 0)
+            return a;
+        return arreglo[b].compareTo(arreglo[a]) < 0 ? b : a;
+    }
+
+    /* Actualiza la hoja de una casilla y el camino de ella a la raíz. */
+    private void actualiza(int i) {
+        int v = hojas + i;
+        torneo[v] = arreglo[i] == null ? -1 : i;
+        for (v /= 2; v >= 1; v /= 2)
+            torneo[v] = gana(torneo[2*v], torneo[2*v + 1]);
     }
 }
@@ -0,0 +1,263 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Clase abstracta para montículos de cubetas con llaves enteras
+ * monótonas, como las distancias del algoritmo de Dijkstra con pesos
+ * enteros. Cada elemento tiene una llave entera, que regresa una función
+ * recibida en el constructor, y ninguna llave puede ser menor que la última
+ * llave mínima que salió del montículo. Con esa restricción no hace falta
+ * comparar elementos: basta con repartirlos en cubetas según su llave.</p>
+ *
+ * <p>Las clases herederas deciden en qué cubeta va cada llave y cómo se
+ * encuentra la cubeta con las llaves mínimas. Los elementos se guardan además
+ * en un arreglo compacto, en la posición que indica su índice; el índice de
+ * un elemento que sale del montículo es -1.</p>
+ * @param <T> el tipo de los elementos del montículo.
+ */
+public abstract class MonticuloCubetas<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Capacidad inicial de los arreglos. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* La función que regresa la llave de cada elemento. */
+    private ToLongFunction<T> llave;
+    /* Los elementos, en la posición que indica su índice. */
+    private T[] arreglo;
+    /* La llave con la que se guardó cada elemento. */
+    private long[] llaves;
+    /* La cubeta de cada elemento. */
+    private int[] cubeta;
+    /* La posición de cada elemento dentro de su cubeta. */
+    private int[] posicion;
+    /* Los índices de los elementos de cada cubeta. */
+    private int[][] cubetas;
+    /* El número de elementos de cada cubeta. */
+    private int[] tamanos;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /**
+     * La última llave mínima del montículo, que empieza en cero. Ninguna
+     * llave puede ser menor.
+     */
+    protected long ultimo;
+
+    /* Truco para crear arreglos genéricos. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Construye un montículo de cubetas vacío.
+     * @param llave la función que regresa la llave de cada elemento.
+     * @param numeroCubetas el número de cubetas.
+     */
+    protected MonticuloCubetas(ToLongFunction<T> llave, int numeroCubetas) {
+        this.llave = llave;
+        arreglo = nuevoArreglo(CAPACIDAD_INICIAL);
+        llaves = new long[CAPACIDAD_INICIAL];
+        cubeta = new int[CAPACIDAD_INICIAL];
+        posicion = new int[CAPACIDAD_INICIAL];
+        cubetas = new int[numeroCubetas][];
+        tamanos = new int[numeroCubetas];
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>, o si su llave es menor que la última llave
+     *         mínima o está fuera del rango del montículo.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long k = llave.applyAsLong(elemento);
+        valida(k);
+        if (elementos == arreglo.length)
+            crece();
+        arreglo[elementos] = elemento;
+        llaves[elementos] = k;
+        elemento.setIndice(elementos);
+        meteEnCubeta(elementos++, cubeta(k));
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (esVacia())
+            throw new IllegalStateException();
+        int c = minima();
+        int i = cubetas[c][tamanos[c] - 1];
+        T elemento = arreglo[i];
+        sacaDeCubeta(i);
+        quita(i);
+        return elemento;
+    }
+
+    /**
+     * Reordena un elemento en el montículo, moviéndolo a la cubeta de su
+     * nueva llave. Si el elemento no está en el montículo, no hace nada.
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la nueva llave del elemento es
+     *         menor que la última llave mínima, o está fuera del rango del
+     *         montículo.
+     */
+    @Override public void reordena(T elemento) {
+        if (elemento == null)
+            return;
+        int i = elemento.getIndice();
+        if (i < 0 || i >= elementos || arreglo[i] != elemento)
+            return;
+        long k = llave.applyAsLong(elemento);
+        valida(k);
+        sacaDeCubeta(i);
+        llaves[i] = k;
+        meteEnCubeta(i, cubeta(k));
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del montículo, en el orden del
+     * arreglo de elementos.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del montículo.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException();
+        return arreglo[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <tt>true</tt> si ya no hay elementos en el montículo,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa la cubeta donde va una llave, dada la última llave mínima.
+     * @param llave la llave.
+     * @return la cubeta donde va la llave.
+     */
+    protected abstract int cubeta(long llave);
+
+    /**
+     * Nos dice si una llave no menor que la última llave mínima cabe en el
+     * montículo.
+     * @param llave la llave.
+     * @return <code>true</code> si la llave cabe en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    protected abstract boolean enRango(long llave);
+
+    /**
+     * Regresa una cubeta no vacía cuyos elementos tienen todos la llave
+     * mínima, y actualiza {@link #ultimo} con esa llave. El montículo no es
+     * vacío cuando se llama este método.
+     * @return una cubeta con los elementos de llave mínima.
+     */
+    protected abstract int minima();
+
+    /**
+     * Nos dice si una cubeta es vacía.
+     * @param c la cubeta.
+     * @return <code>true</code> si la cubeta no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    protected boolean esCubetaVacia(int c) {
+        return tamanos[c] == 0;
+    }
+
+    /**
+     * Actualiza {@link #ultimo} con la llave mínima de una cubeta no vacía, y
+     * reparte los elementos de la cubeta según la nueva llave mínima.
+     * @param c la cubeta.
+     */
+    protected void redistribuye(int c) {
+        int n = tamanos[c];
+        int[] indices = cubetas[c];
+        long minimo = Long.MAX_VALUE;
+        for (int j = 0; j < n; j++)
+            minimo = Math.min(minimo, llaves[indices[j]]);
+        ultimo = minimo;
+        cubetas[c] = null;
+        tamanos[c] = 0;
+        for (int j = 0; j < n; j++)
+            meteEnCubeta(indices[j], cubeta(llaves[indices[j]]));
+    }
+
+    /* Verifica que la llave quepa en el montículo. */
+    private void valida(long k) {
+        if (k < ultimo || !enRango(k))
+            throw new IllegalArgumentException();
+    }
+
+    /* Mete el elemento en el índice recibido al final de una cubeta. */
+    private void meteEnCubeta(int i, int c) {
+        if (cubetas[c] == null)
+            cubetas[c] = new int[4];
+        else if (tamanos[c] == cubetas[c].length)
+            cubetas[c] = Arrays.copyOf(cubetas[c], 2 * tamanos[c]);
+        cubeta[i] = c;
+        posicion[i] = tamanos[c];
+        cubetas[c][tamanos[c]++] = i;
+    }
+
+    /* Saca el elemento en el índice recibido de su cubeta, moviendo al último
+     * de la cubeta a su lugar. */
+    private void sacaDeCubeta(int i) {
+        int c = cubeta[i];
+        int ultimoCubeta = cubetas[c][--tamanos[c]];
+        cubetas[c][posicion[i]] = ultimoCubeta;
+        posicion[ultimoCubeta] = posicion[i];
+    }
+
+    /* Quita el elemento en el índice recibido del arreglo, moviendo el último
+     * a su lugar. */
+    private void quita(int i) {
+        T elemento = arreglo[i];
+        elementos--;
+        if (i != elementos) {
+            arreglo[i] = arreglo[elementos];
+            llaves[i] = llaves[elementos];
+            cubeta[i] = cubeta[elementos];
+            posicion[i] = posicion[elementos];
+            cubetas[cubeta[i]][posicion[i]] = i;
+            arreglo[i].setIndice(i);
+        }
+        arreglo[elementos] = null;
+        elemento.setIndice(-1);
+    }
+
+    /* Duplica los arreglos de los elementos. */
+    private void crece() {
+        int n = 2 * arreglo.length;
+        T[] nuevo = nuevoArreglo(n);
+        System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+        arreglo = nuevo;
+        llaves = Arrays.copyOf(llaves, n);
+        cubeta = Arrays.copyOf(cubeta, n);
+        posicion = Arrays.copyOf(posicion, n);
+    }
+}
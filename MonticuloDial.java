@@ -0,0 +1,87 @@
+package mx.unam.ciencias.edd;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Clase para colas de cubetas de Dial. Sirven para el algoritmo de
+ * Dijkstra cuando los pesos son enteros entre 0 y un peso máximo
+ * <i>C</i>: todas las llaves del montículo están entre la última llave
+ * mínima y esa llave más <i>C</i>, así que caben en <i>C</i>+1 cubetas
+ * circulares, una por llave.</p>
+ *
+ * <p>Agregar y reordenar elementos toma tiempo constante; eliminar el mínimo
+ * avanza sobre las cubetas vacías, y en todo el algoritmo recorre a lo más
+ * tantas cubetas como la distancia máxima. Conviene cuando <i>C</i> es
+ * pequeño; si no, conviene más un {@link MonticuloRadix}.</p>
+ * @param <T> el tipo de los elementos del montículo.
+ */
+public class MonticuloDial<T extends ComparableIndexable<T>>
+    extends MonticuloCubetas<T> {
+
+    /* El peso máximo. */
+    private int pesoMaximo;
+    /* El número de cubetas. */
+    private int numeroCubetas;
+
+    /**
+     * Construye una cola de cubetas de Dial vacía.
+     * @param llave la función que regresa la llave de cada elemento.
+     * @param pesoMaximo el peso máximo de las aristas.
+     * @throws IllegalArgumentException si <code>pesoMaximo</code> es negativo
+     *         o no cabe en un arreglo.
+     */
+    public MonticuloDial(ToLongFunction<T> llave, int pesoMaximo) {
+        super(llave, validaPesoMaximo(pesoMaximo) + 1);
+        this.pesoMaximo = pesoMaximo;
+        numeroCubetas = pesoMaximo + 1;
+    }
+
+    /**
+     * Regresa el peso máximo de las aristas.
+     * @return el peso máximo de las aristas.
+     */
+    public int getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    /**
+     * Regresa la cubeta de una llave: su residuo módulo el número de cubetas.
+     * @param llave la llave.
+     * @return la cubeta donde va la llave.
+     */
+    @Override protected int cubeta(long llave) {
+        return (int)(llave % numeroCubetas);
+    }
+
+    /**
+     * Nos dice si una llave es a lo más la última llave mínima más el peso
+     * máximo.
+     * @param llave la llave.
+     * @return <code>true</code> si la llave cabe en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override protected boolean enRango(long llave) {
+        return llave - ultimo <= pesoMaximo;
+    }
+
+    /**
+     * Avanza desde la cubeta de la última llave mínima hasta la primera
+     * cubeta no vacía.
+     * @return una cubeta con los elementos de llave mínima.
+     */
+    @Override protected int minima() {
+        int c = cubeta(ultimo);
+        while (esCubetaVacia(c)) {
+            c = c + 1 == numeroCubetas ? 0 : c + 1;
+            ultimo++;
+        }
+        return c;
+    }
+
+    /* Verifica que el peso máximo sea válido. */
+    private static int validaPesoMaximo(int pesoMaximo) {
+        if (pesoMaximo < 0 || pesoMaximo == Integer.MAX_VALUE)
+            throw new IllegalArgumentException();
+        return pesoMaximo;
+    }
+}
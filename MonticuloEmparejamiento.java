@@ -0,0 +1,267 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de emparejamiento (<i>pairing heaps</i>).</p>
+ *
+ * <p>El montículo es un árbol general donde cada vértice es menor o igual que
+ * sus hijos; los hijos de un vértice forman una lista ligada. Agregar un
+ * elemento y disminuir su valor con {@link #reordena} sólo mezclan dos
+ * árboles, en tiempo constante; el trabajo se pospone hasta que se elimina el
+ * mínimo, que mezcla por pares a los hijos de la raíz en tiempo <i>O</i>(log
+ * <i>n</i>) amortizado. Por eso conviene en gráficas densas, donde el
+ * algoritmo de Dijkstra reordena muchas más veces de las que elimina.</p>
+ *
+ * <p>{@link #reordena} supone que el valor del elemento no aumentó, como en
+ * el algoritmo de Dijkstra. Si el valor aumentó hay que usar {@link
+ * #aumenta}, que además combina a los hijos del elemento, en tiempo
+ * <i>O</i>(log <i>n</i>) amortizado.</p>
+ *
+ * <p>Los vértices se guardan además en un arreglo compacto, en la posición
+ * que indica el índice de su elemento, para encontrarlos en tiempo constante;
+ * el índice de un elemento que sale del montículo es -1.</p>
+ * @param <T> el tipo de los elementos del montículo.
+ */
+public class MonticuloEmparejamiento<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Clase privada para los vértices del montículo. */
+    private class Nodo {
+
+        /* El elemento del vértice. */
+        private T elemento;
+        /* El primer hijo del vértice. */
+        private Nodo hijo;
+        /* El siguiente hermano del vértice. */
+        private Nodo hermano;
+        /* El hermano anterior del vértice, o su padre si es el primer hijo. */
+        private Nodo anterior;
+
+        /* Crea un vértice con el elemento recibido. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* La raíz del montículo. */
+    private Nodo raiz;
+    /* Los vértices, en la posición que indica el índice de su elemento. */
+    private Nodo[] nodos;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public MonticuloEmparejamiento() {
+        nodos = nuevoArreglo(100);
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento que recibe una colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     */
+    public MonticuloEmparejamiento(Coleccion<T> coleccion) {
+        this(coleccion, coleccion.getElementos());
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento que recibe un iterable y
+     * el número de elementos en el mismo.
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     */
+    public MonticuloEmparejamiento(Iterable<T> iterable, int n) {
+        nodos = nuevoArreglo(Math.max(n, 1));
+        for (T elemento : iterable)
+            agrega(elemento);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (elementos == nodos.length) {
+            Nodo[] nuevos = nuevoArreglo(2 * nodos.length);
+            System.arraycopy(nodos, 0, nuevos, 0, elementos);
+            nodos = nuevos;
+        }
+        Nodo nodo = new Nodo(elemento);
+        nodos[elementos] = nodo;
+        elemento.setIndice(elementos++);
+        raiz = mezcla(raiz, nodo);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (esVacia())
+            throw new IllegalStateException();
+        Nodo minimo = raiz;
+        raiz = combina(minimo.hijo);
+        minimo.hijo = null;
+        quita(minimo);
+        return minimo.elemento;
+    }
+
+    /**
+     * Reordena un elemento cuyo valor disminuyó o no cambió. Si el elemento
+     * no está en el montículo, no hace nada. El elemento se corta de su padre
+     * junto con sus hijos, que siguen siendo mayores o iguales que él, y se
+     * mezcla con la raíz en tiempo constante. Si el valor del elemento
+     * aumentó hay que usar {@link #aumenta}.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        Nodo nodo = nodo(elemento);
+        if (nodo == null || nodo == raiz)
+            return;
+        corta(nodo);
+        raiz = mezcla(raiz, nodo);
+    }
+
+    /**
+     * Reordena un elemento cuyo valor aumentó. Si el elemento no está en el
+     * montículo, no hace nada. Sus hijos se combinan en un árbol y se mezclan
+     * con la raíz por separado, y el elemento se mezcla solo.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    public void aumenta(T elemento) {
+        Nodo nodo = nodo(elemento);
+        if (nodo == null)
+            return;
+        if (nodo == raiz)
+            raiz = null;
+        else
+            corta(nodo);
+        Nodo hijos = combina(nodo.hijo);
+        nodo.hijo = null;
+        raiz = mezcla(mezcla(raiz, hijos), nodo);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del montículo, en el orden del
+     * arreglo de vértices.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del montículo.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException();
+        return nodos[i].elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <tt>true</tt> si ya no hay elementos en el montículo,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /* Regresa el vértice de un elemento, o null si no está en el
+     * montículo. */
+    private Nodo nodo(T elemento) {
+        if (elemento == null)
+            return null;
+        int i = elemento.getIndice();
+        if (i < 0 || i >= elementos || nodos[i].elemento != elemento)
+            return null;
+        return nodos[i];
+    }
+
+    /* Mezcla dos árboles: la raíz mayor se vuelve el primer hijo de la
+     * menor. */
+    private Nodo mezcla(Nodo a, Nodo b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        if (b.elemento.compareTo(a.elemento) < 0) {
+            Nodo t = a;
+            a = b;
+            b = t;
+        }
+        b.anterior = a;
+        b.hermano = a.hijo;
+        if (a.hijo != null)
+            a.hijo.anterior = b;
+        a.hijo = b;
+        return a;
+    }
+
+    /* Combina una lista de hermanos en un solo árbol: primero los mezcla por
+     * pares de izquierda a derecha, y luego mezcla los pares de derecha a
+     * izquierda. */
+    private Nodo combina(Nodo primero) {
+        Nodo pares = null;
+        while (primero != null) {
+            Nodo a = primero;
+            Nodo b = a.hermano;
+            primero = b == null ? null : b.hermano;
+            a.hermano = a.anterior = null;
+            if (b != null)
+                b.hermano = b.anterior = null;
+            Nodo par = mezcla(a, b);
+            par.hermano = pares;
+            pares = par;
+        }
+        Nodo arbol = null;
+        while (pares != null) {
+            Nodo siguiente = pares.hermano;
+            pares.hermano = null;
+            arbol = mezcla(arbol, pares);
+            pares = siguiente;
+        }
+        return arbol;
+    }
+
+    /* Corta un vértice, junto con sus hijos, de su padre y sus hermanos. */
+    private void corta(Nodo nodo) {
+        if (nodo.anterior.hijo == nodo)
+            nodo.anterior.hijo = nodo.hermano;
+        else
+            nodo.anterior.hermano = nodo.hermano;
+        if (nodo.hermano != null)
+            nodo.hermano.anterior = nodo.anterior;
+        nodo.hermano = nodo.anterior = null;
+    }
+
+    /* Quita un vértice del arreglo, moviendo el último a su lugar. */
+    private void quita(Nodo nodo) {
+        int i = nodo.elemento.getIndice();
+        elementos--;
+        nodos[i] = nodos[elementos];
+        nodos[i].elemento.setIndice(i);
+        nodos[elementos] = null;
+        nodo.elemento.setIndice(-1);
+    }
+
+    /* Crea un arreglo de vértices. */
+    @SuppressWarnings("unchecked") private Nodo[] nuevoArreglo(int n) {
+        return (Nodo[])Array.newInstance(Nodo.class, n);
+    }
+}
@@ -2,9 +2,17 @@ package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
- * Clase para montículos mínimos (<i>min heaps</i>).
+ * <p>Clase para montículos mínimos (<i>min heaps</i>).</p>
+ *
+ * <p>La aridad del montículo (el número de hijos de cada vértice) se elige al
+ * construirlo y puede ser 2, 4 u 8. Un montículo con más hijos por vértice es
+ * menos profundo, así que subir un elemento (lo que hace {@link #reordena}
+ * cuando su valor disminuye, como en el algoritmo de Dijkstra) recorre menos
+ * niveles, y los hijos de cada vértice quedan juntos en el arreglo.</p>
  */
 public class MonticuloMinimo<T extends ComparableIndexable<T>>
     implements Coleccion<T>, MonticuloDijkstra<T> {
@@ -67,8 +75,15 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
 	}
     }
 
+    /**
+     * Aridad por omisión de los montículos.
+     */
+    public static final int ARIDAD_POR_OMISION = 2;
+
     /* El número de elementos en el arreglo. */
     private int elementos;
+    /* El número de hijos de cada vértice. */
+    private int aridad;
     /* Usamos un truco para poder utilizar arreglos genéricos. */
     private T[] arbol;
 
@@ -85,6 +100,16 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * pero se ofrece este constructor por completez.
      */
     public MonticuloMinimo() {
+        this(ARIDAD_POR_OMISION);
+    }
+
+    /**
+     * Constructor para montículo mínimo vacío con la aridad recibida.
+     * @param aridad el número de hijos de cada vértice.
+     * @throws IllegalArgumentException si <code>aridad</code> no es 2, 4 u 8.
+     */
+    public MonticuloMinimo(int aridad) {
+        this.aridad = validaAridad(aridad);
         arbol = nuevoArreglo(100);
     }
 
@@ -97,17 +122,7 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      *                  montículo.
      */
     public MonticuloMinimo(Coleccion<T> coleccion) {
-        arbol = nuevoArreglo(coleccion.getElementos());
-	elementos = coleccion.getElementos();
-	int i = 0;
-	for(T e : coleccion){
-		arbol[i] = e;
-		arbol[i].setIndice(i);
-		i = i + 1;
-	}
-	for (int j = (elementos-1)/2; j>= 0; j--){
-		gipifiDaun(j);
-	}
+        this(coleccion, coleccion.getElementos(), ARIDAD_POR_OMISION);
     }
 
     /**
@@ -120,17 +135,31 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * @param n el número de elementos en el iterable.
      */
     public MonticuloMinimo(Iterable<T> iterable, int n) {
+        this(iterable, n, ARIDAD_POR_OMISION);
+    }
+
+    /**
+     * Constructor para montículo mínimo que recibe un iterable, el número de
+     * elementos en el mismo y la aridad del montículo.
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     * @param aridad el número de hijos de cada vértice.
+     * @throws IllegalArgumentException si <code>aridad</code> no es 2, 4 u 8.
+     */
+    public MonticuloMinimo(Iterable<T> iterable, int n, int aridad) {
+        this.aridad = validaAridad(aridad);
         arbol = nuevoArreglo(n);
-	elementos = n;
-	int i = 0;
-	for(T e : iterable){
-		arbol[i] = e;
-		arbol[i].setIndice(i);
-		i = i + 1;
-	}
-	for (int j = (elementos-1)/2; j>= 0; j--){
-		gipifiDaun(j);
-	}
+        elementos = n;
+        int i = 0;
+        for (T e : iterable) {
+            arbol[i] = e;
+            arbol[i].setIndice(i);
+            i = i + 1;
+        }
+        int ultimoPadre = elementos < 2 ? -1 : (elementos - 2) / aridad;
+        for (int j = ultimoPadre; j >= 0; j--)
+            gipifiDaun(j);
     }
 
     /**
@@ -139,7 +168,7 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      */
     @Override public void agrega(T elemento) {
         if (elementos >= arbol.length) {
-            T[] nuevoArbolito = nuevoArreglo(arbol.length * 2);
+            T[] nuevoArbolito = nuevoArreglo(Math.max(1, arbol.length * 2));
             for (int i = 0; i < arbol.length; i++) {
                 nuevoArbolito[i] = arbol[i];
             }
@@ -233,8 +262,18 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
             return;
 	}
         int i = elemento.getIndice();
-	gipifiDaun(i);
-        gipifiOp(i);
+        if (i > 0 && arbol[(i - 1) / aridad].compareTo(elemento) > 0)
+            gipifiOp(i);
+        else
+            gipifiDaun(i);
+    }
+
+    /**
+     * Regresa la aridad del montículo: el número de hijos de cada vértice.
+     * @return la aridad del montículo.
+     */
+    public int getAridad() {
+        return aridad;
     }
 
     /**
@@ -304,6 +343,18 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         return new Iterador();
     }
 
+    /**
+     * Regresa un separador para recorrer el montículo mínimo en orden BFS.
+     * Como el montículo vive en un arreglo, el separador se parte por mitades
+     * y siempre conoce el número exacto de elementos de cada parte.
+     * @return un separador para recorrer el montículo mínimo.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(arbol, 0, elementos,
+                                        Spliterator.ORDERED |
+                                        Spliterator.NONNULL);
+    }
+
     /**
      * Ordena la colección usando HeapSort.
      * @param <T> tipo del que puede ser el arreglo.
@@ -329,50 +380,50 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
 
     }
   
-    private void gipifiOp(int i){
-	int papa = (i - 1) / 2;
-	int hijo = i;
-	if (papa >= 0 && arbol[papa].compareTo(arbol[i]) > 0){
-		hijo = papa;
-	}
-	if (hijo != i){
-		T aux = arbol[i];
-		arbol[i] = arbol[papa];
-		arbol[i].setIndice(i);
-		arbol[papa] = aux;
-		arbol[papa].setIndice(papa);
-		gipifiOp(hijo);
-	}else{
-
-	}
+    /* Regresa la aridad si es 2, 4 u 8; si no, lanza una excepción. */
+    private static int validaAridad(int aridad) {
+        if (aridad != 2 && aridad != 4 && aridad != 8)
+            throw new IllegalArgumentException();
+        return aridad;
     }
 
-    private void gipifiDaun(int i) {
-        int izquierdo = (i * 2) + 1;
-        int derecho = (i * 2) + 2;
-        if (izquierdo >= elementos && derecho >= elementos){
-            return;
-	}else{
-        	int min = minAuxiliar(izquierdo, derecho);
-       		min = minAuxiliar(i, min);
-        	if (min != i) {
-            		T aux = arbol[i];
-           		arbol[i] = arbol[min];
-            		arbol[i].setIndice(i);
-            		arbol[min] = aux;
-            		arbol[min].setIndice(min);
-            		gipifiDaun(min);
-		}
-	}
+    /* Sube el elemento en el índice recibido. En lugar de intercambiarlo con
+     * su padre en cada nivel, baja a los padres mayores que él y lo escribe
+     * una sola vez en el hueco donde se detiene. */
+    private void gipifiOp(int i) {
+        T elemento = arbol[i];
+        while (i > 0) {
+            int papa = (i - 1) / aridad;
+            if (arbol[papa].compareTo(elemento) <= 0)
+                break;
+            arbol[i] = arbol[papa];
+            arbol[i].setIndice(i);
+            i = papa;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
     }
 
-    private int minAuxiliar(int n, int m) {
-        if (m >= elementos){
-            return n;
-        }else if (arbol[n].compareTo(arbol[m]) < 0){
-            return n;
-        }else{
-            return m;
-	}
+    /* Baja el elemento en el índice recibido, subiendo al menor de los hijos
+     * mientras sea menor que él, y lo escribe una sola vez al final. */
+    private void gipifiDaun(int i) {
+        T elemento = arbol[i];
+        while (true) {
+            int primero = aridad * i + 1;
+            if (primero >= elementos)
+                break;
+            int ultimo = Math.min(primero + aridad, elementos);
+            int min = primero;
+            for (int h = primero + 1; h < ultimo; h++)
+                if (arbol[h].compareTo(arbol[min]) < 0)
+                    min = h;
+            if (arbol[min].compareTo(elemento) >= 0)
+                break;
+            arbol[i] = arbol[min];
+            arbol[i].setIndice(i);
+            i = min;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
     }
 }
@@ -0,0 +1,67 @@
+package mx.unam.ciencias.edd;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Clase para montículos radix. Sirven para el algoritmo de Dijkstra con
+ * pesos enteros no negativos, sin importar qué tan grandes sean: la cubeta
+ * de una llave es la posición del bit más significativo en el que difiere
+ * de la última llave mínima, así que basta con 65 cubetas.</p>
+ *
+ * <p>Agregar y reordenar elementos toma tiempo constante. Cuando la cubeta de
+ * la última llave mínima se vacía, eliminar el mínimo reparte la primera
+ * cubeta no vacía en cubetas menores; cada elemento baja de cubeta a lo más
+ * log <i>C</i> veces, donde <i>C</i> es el peso máximo de las aristas.</p>
+ * @param <T> el tipo de los elementos del montículo.
+ */
+public class MonticuloRadix<T extends ComparableIndexable<T>>
+    extends MonticuloCubetas<T> {
+
+    /* El número de cubetas: una para la última llave mínima y una por bit. */
+    private static final int CUBETAS = 65;
+
+    /**
+     * Construye un montículo radix vacío.
+     * @param llave la función que regresa la llave de cada elemento.
+     */
+    public MonticuloRadix(ToLongFunction<T> llave) {
+        super(llave, CUBETAS);
+    }
+
+    /**
+     * Regresa la cubeta de una llave: 0 si es la última llave mínima, o uno
+     * más la posición del bit más significativo en el que difieren.
+     * @param llave la llave.
+     * @return la cubeta donde va la llave.
+     */
+    @Override protected int cubeta(long llave) {
+        if (llave == ultimo)
+            return 0;
+        return 64 - Long.numberOfLeadingZeros(llave ^ ultimo);
+    }
+
+    /**
+     * Todas las llaves no menores que la última llave mínima caben en el
+     * montículo.
+     * @param llave la llave.
+     * @return <code>true</code>.
+     */
+    @Override protected boolean enRango(long llave) {
+        return true;
+    }
+
+    /**
+     * Regresa la cubeta 0 si tiene elementos; si no, reparte la primera
+     * cubeta no vacía, con lo que su llave mínima queda en la cubeta 0.
+     * @return la cubeta 0.
+     */
+    @Override protected int minima() {
+        if (!esCubetaVacia(0))
+            return 0;
+        int c = 1;
+        while (esCubetaVacia(c))
+            c++;
+        redistribuye(c);
+        return 0;
+    }
+}
@@ -0,0 +1,76 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para los niveles de comunidades que calcula {@link
+ * Grafica#comunidades}. Cada nivel asigna a cada vértice de la gráfica una
+ * comunidad, numeradas de 0 al número de comunidades menos uno, y tiene la
+ * modularidad de esa asignación.
+ */
+public class NivelComunidades<T> {
+
+    /* La representación compacta de la gráfica. */
+    private GraficaCompacta<T> grafica;
+    /* La comunidad de cada vértice. */
+    private int[] etiquetas;
+    /* El número de comunidades. */
+    private int comunidades;
+    /* La modularidad del nivel. */
+    private double modularidad;
+
+    /* Construye un nivel a partir de las etiquetas de cada vértice. */
+    NivelComunidades(GraficaCompacta<T> grafica, int[] etiquetas,
+                     double modularidad) {
+        this.grafica = grafica;
+        this.etiquetas = etiquetas;
+        this.modularidad = modularidad;
+        for (int e : etiquetas)
+            comunidades = Math.max(comunidades, e + 1);
+    }
+
+    /**
+     * Regresa la comunidad del vértice que contiene al elemento recibido.
+     * @param elemento el elemento.
+     * @return la comunidad del vértice del elemento.
+     * @throws NoSuchElementException si el elemento no estaba en la gráfica
+     *         al calcular las comunidades.
+     */
+    public int getComunidad(T elemento) {
+        return etiquetas[grafica.id(elemento)];
+    }
+
+    /**
+     * Regresa el número de comunidades del nivel.
+     * @return el número de comunidades del nivel.
+     */
+    public int getNumeroComunidades() {
+        return comunidades;
+    }
+
+    /**
+     * Regresa la modularidad del nivel.
+     * @return la modularidad del nivel.
+     */
+    public double getModularidad() {
+        return modularidad;
+    }
+
+    /**
+     * Regresa las comunidades del nivel como listas de vértices.
+     * @return una lista con una lista de vértices por comunidad.
+     */
+    public Lista<Lista<VerticeGrafica<T>>> comunidades() {
+        @SuppressWarnings("unchecked") Lista<VerticeGrafica<T>>[] listas =
+            (Lista<VerticeGrafica<T>>[])new Lista[comunidades];
+        for (int i = 0; i < comunidades; i++)
+            listas[i] = new Lista<VerticeGrafica<T>>();
+        for (int i = 0; i < etiquetas.length; i++)
+            listas[etiquetas[i]].agrega(grafica.vertice(i));
+        Lista<Lista<VerticeGrafica<T>>> lista =
+            new Lista<Lista<VerticeGrafica<T>>>();
+        for (Lista<VerticeGrafica<T>> l : listas)
+            lista.agrega(l);
+        return lista;
+    }
+}
@@ -0,0 +1,468 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Clase para ordenar registros que no caben en memoria.</p>
+ *
+ * <p>El ordenamiento tiene dos fases. En la primera se leen tantos registros
+ * como quepan en el presupuesto de memoria, se ordenan con {@link
+ * Arreglos#parallelMergeSort(Object[],Comparator)} y se escriben a un archivo
+ * temporal; cada uno de estos archivos es una corrida. En la segunda las
+ * corridas se mezclan con un {@link MonticuloMinimo} que tiene al registro
+ * siguiente de cada corrida; si hay más corridas de las que se pueden abrir a
+ * la vez con el presupuesto de memoria, se mezclan por grupos en varias
+ * pasadas.</p>
+ *
+ * <p>Los archivos se leen y escriben con canales de NIO y buffers; cada
+ * registro se guarda como su tamaño en bytes seguido de lo que escribe el
+ * {@link Codificador}. El ordenamiento es estable: en caso de empate, la
+ * mezcla toma primero el registro de la corrida anterior, igual que {@link
+ * Lista#mergeSort(Comparator)}.</p>
+ *
+ * @param <T> el tipo de los registros.
+ */
+public class OrdenamientoExterno<T> {
+
+    /* Clase privada para leer registros de un archivo. */
+    private class Lector {
+
+        /* El canal del archivo. */
+        private FileChannel canal;
+        /* El buffer de lectura. */
+        private ByteBuffer buffer;
+
+        /* Abre un lector para el archivo. */
+        public Lector(Path archivo) throws IOException {
+            canal = FileChannel.open(archivo, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocate(TAMAÑO_BUFFER);
+            buffer.flip();
+        }
+
+        /* Regresa el siguiente registro del archivo, o null si ya no hay. */
+        public T siguiente() throws IOException {
+            if (!asegura(4)) {
+                if (buffer.hasRemaining())
+                    throw new IOException("Registro truncado.");
+                return null;
+            }
+            int tamaño = buffer.getInt();
+            if (tamaño < 0 || !asegura(tamaño))
+                throw new IOException("Registro truncado.");
+            ByteBuffer registro = buffer.slice();
+            registro.limit(tamaño);
+            buffer.position(buffer.position() + tamaño);
+            return codificador.decodifica(registro);
+        }
+
+        /* Se asegura de que haya n bytes por leer en el buffer; regresa
+         * false si el archivo se acaba antes. */
+        private boolean asegura(int n) throws IOException {
+            if (buffer.remaining() >= n)
+                return true;
+            if (buffer.capacity() < n) {
+                ByteBuffer nuevo = ByteBuffer.allocate(n);
+                nuevo.put(buffer);
+                buffer = nuevo;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < n && canal.read(buffer) >= 0)
+                ;
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        /* Cierra el lector. */
+        public void cierra() throws IOException {
+            canal.close();
+        }
+    }
+
+    /* Clase privada para escribir registros a un archivo. */
+    private class Escritor {
+
+        /* El canal del archivo. */
+        private FileChannel canal;
+        /* El buffer de escritura. */
+        private ByteBuffer buffer;
+
+        /* Abre un escritor para el archivo, que se trunca. */
+        public Escritor(Path archivo) throws IOException {
+            canal = FileChannel.open(archivo, StandardOpenOption.WRITE,
+                                     StandardOpenOption.CREATE,
+                                     StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocate(TAMAÑO_BUFFER);
+        }
+
+        /* Escribe un registro. */
+        public void escribe(T registro) throws IOException {
+            int tamaño = codificador.tamaño(registro);
+            if (buffer.remaining() < 4 + tamaño) {
+                vacia();
+                if (buffer.capacity() < 4 + tamaño)
+                    buffer = ByteBuffer.allocate(4 + tamaño);
+            }
+            buffer.putInt(tamaño);
+            int inicio = buffer.position();
+            codificador.codifica(registro, buffer);
+            if (buffer.position() - inicio != tamaño)
+                throw new IllegalStateException("El codificador escribió " +
+                                                (buffer.position() - inicio) +
+                                                " bytes en lugar de " +
+                                                tamaño + ".");
+        }
+
+        /* Escribe al canal lo que haya en el buffer. */
+        private void vacia() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                canal.write(buffer);
+            buffer.clear();
+        }
+
+        /* Vacía el buffer y cierra el escritor. */
+        public void cierra() throws IOException {
+            try {
+                vacia();
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    /* Clase privada para el registro siguiente de cada corrida en la
+     * mezcla. */
+    private class Cabeza implements ComparableIndexable<Cabeza> {
+
+        /* El registro. */
+        public T registro;
+        /* El número de la corrida. */
+        public int corrida;
+        /* El lector de la corrida. */
+        public Lector lector;
+        /* El índice en el montículo. */
+        private int indice;
+
+        /* Construye la cabeza de una corrida. */
+        public Cabeza(T registro, int corrida, Lector lector) {
+            this.registro = registro;
+            this.corrida = corrida;
+            this.lector = lector;
+            indice = -1;
+        }
+
+        /* Compara los registros; en caso de empate, va primero el de la
+         * corrida anterior. */
+        @Override public int compareTo(Cabeza cabeza) {
+            int c = comparador.compare(registro, cabeza.registro);
+            return c != 0 ? c : Integer.compare(corrida, cabeza.corrida);
+        }
+
+        /* Regresa el índice. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Define el índice. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+    }
+
+    /* Tamaño de los buffers de lectura y escritura. */
+    private static final int TAMAÑO_BUFFER = 1 << 16;
+    /* Bytes que se suman al tamaño codificado de cada registro para estimar
+     * lo que ocupa en memoria. */
+    private static final int SOBRECARGA = 32;
+    /* Número máximo de corridas que se mezclan a la vez. */
+    private static final int MAXIMO_ABANICO = 512;
+
+    /* El codificador de los registros. */
+    private Codificador<T> codificador;
+    /* El comparador de los registros. */
+    private Comparator<T> comparador;
+    /* El presupuesto de memoria, en bytes. */
+    private long memoria;
+    /* El directorio para los archivos temporales. */
+    private Path directorio;
+    /* El número de corridas del último ordenamiento. */
+    private int corridas;
+
+    /**
+     * Construye un ordenamiento externo con el codificador y el comparador
+     * recibidos, un presupuesto de memoria de 64 megabytes y el directorio
+     * temporal del sistema.
+     * @param codificador el codificador de los registros.
+     * @param comparador el comparador de los registros.
+     */
+    public OrdenamientoExterno(Codificador<T> codificador,
+                               Comparator<T> comparador) {
+        this.codificador = codificador;
+        this.comparador = comparador;
+        memoria = 64L << 20;
+        directorio = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Regresa el presupuesto de memoria, en bytes.
+     * @return el presupuesto de memoria, en bytes.
+     */
+    public long getMemoria() {
+        return memoria;
+    }
+
+    /**
+     * Define el presupuesto de memoria, en bytes. Determina el tamaño de las
+     * corridas, estimado con el tamaño codificado de cada registro, y cuántas
+     * corridas se mezclan a la vez.
+     * @param memoria el nuevo presupuesto de memoria, en bytes.
+     * @throws IllegalArgumentException si la memoria es menor o igual a cero.
+     */
+    public void setMemoria(long memoria) {
+        if (memoria <= 0)
+            throw new IllegalArgumentException();
+        this.memoria = memoria;
+    }
+
+    /**
+     * Regresa el directorio para los archivos temporales.
+     * @return el directorio para los archivos temporales.
+     */
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Define el directorio para los archivos temporales.
+     * @param directorio el nuevo directorio para los archivos temporales.
+     * @throws IllegalArgumentException si el directorio es <code>null</code>.
+     */
+    public void setDirectorio(Path directorio) {
+        if (directorio == null)
+            throw new IllegalArgumentException();
+        this.directorio = directorio;
+    }
+
+    /**
+     * Regresa el número de corridas que se generaron en el último
+     * ordenamiento.
+     * @return el número de corridas del último ordenamiento.
+     */
+    public int getCorridas() {
+        return corridas;
+    }
+
+    /**
+     * Ordena los registros del archivo de entrada y los escribe en el archivo
+     * de salida. Los dos archivos pueden ser el mismo.
+     * @param entrada el archivo con los registros, escrito con {@link
+     *        #escribe}.
+     * @param salida el archivo donde se escriben los registros ordenados.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void ordena(Path entrada, Path salida) throws IOException {
+        Lector lector = new Lector(entrada);
+        try {
+            ordena(new Iterator<T>() {
+                    private T siguiente = lector.siguiente();
+                    @Override public boolean hasNext() {
+                        return siguiente != null;
+                    }
+                    @Override public T next() {
+                        T registro = siguiente;
+                        try {
+                            siguiente = lector.siguiente();
+                        } catch (IOException ioe) {
+                            throw new IllegalStateException(ioe);
+                        }
+                        return registro;
+                    }
+                }, salida);
+        } catch (IllegalStateException ise) {
+            if (ise.getCause() instanceof IOException)
+                throw (IOException)ise.getCause();
+            throw ise;
+        } finally {
+            lector.cierra();
+        }
+    }
+
+    /**
+     * Ordena los registros del iterador y los escribe en el archivo de
+     * salida.
+     * @param registros un iterador con los registros.
+     * @param salida el archivo donde se escriben los registros ordenados.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void ordena(Iterator<T> registros, Path salida) throws IOException {
+        Lista<Path> temporales = new Lista<Path>();
+        try {
+            Lista<Path> archivos = generaCorridas(registros, temporales);
+            corridas = archivos.getLongitud();
+            int abanico = (int)Math.max(2, Math.min(MAXIMO_ABANICO,
+                                                    memoria / TAMAÑO_BUFFER));
+            while (archivos.getLongitud() > abanico) {
+                Lista<Path> siguientes = new Lista<Path>();
+                while (!archivos.esVacia()) {
+                    Lista<Path> grupo = new Lista<Path>();
+                    while (!archivos.esVacia() &&
+                           grupo.getLongitud() < abanico)
+                        grupo.agrega(archivos.eliminaPrimero());
+                    Path mezcla = temporal(temporales);
+                    siguientes.agrega(mezcla);
+                    mezcla(grupo, mezcla);
+                    borra(grupo);
+                }
+                archivos = siguientes;
+            }
+            if (archivos.getLongitud() == 1)
+                Files.move(archivos.eliminaPrimero(), salida,
+                           StandardCopyOption.REPLACE_EXISTING);
+            else
+                mezcla(archivos, salida);
+        } finally {
+            borra(temporales);
+        }
+    }
+
+    /**
+     * Escribe los registros del iterador al archivo, en el formato que leen
+     * {@link #ordena(Path,Path)} y {@link #lee}.
+     * @param registros un iterador con los registros.
+     * @param archivo el archivo donde se escriben los registros.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void escribe(Iterator<T> registros, Path archivo)
+        throws IOException {
+        Escritor escritor = new Escritor(archivo);
+        try {
+            while (registros.hasNext())
+                escritor.escribe(registros.next());
+        } finally {
+            escritor.cierra();
+        }
+    }
+
+    /**
+     * Lee uno por uno los registros del archivo, en orden, y les aplica la
+     * acción recibida. Los registros no se guardan en memoria.
+     * @param archivo el archivo con los registros.
+     * @param accion la acción a realizar en cada registro.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void lee(Path archivo, Consumer<T> accion) throws IOException {
+        Lector lector = new Lector(archivo);
+        try {
+            T registro;
+            while ((registro = lector.siguiente()) != null)
+                accion.accept(registro);
+        } finally {
+            lector.cierra();
+        }
+    }
+
+    /* Lee los registros en corridas que caben en la memoria, las ordena y
+     * las escribe a archivos temporales; regresa la lista de archivos. */
+    private Lista<Path> generaCorridas(Iterator<T> registros,
+                                       Lista<Path> temporales)
+        throws IOException {
+        Lista<Path> archivos = new Lista<Path>();
+        @SuppressWarnings("unchecked") T[] corrida = (T[])new Object[1024];
+        int n = 0;
+        long ocupado = 0;
+        while (registros.hasNext()) {
+            T registro = registros.next();
+            if (n == corrida.length)
+                corrida = Arrays.copyOf(corrida, 2 * n);
+            corrida[n++] = registro;
+            ocupado += codificador.tamaño(registro) + SOBRECARGA;
+            if (ocupado >= memoria) {
+                archivos.agrega(escribeCorrida(corrida, n, temporales));
+                Arrays.fill(corrida, 0, n, null);
+                n = 0;
+                ocupado = 0;
+            }
+        }
+        if (n > 0 || archivos.esVacia())
+            archivos.agrega(escribeCorrida(corrida, n, temporales));
+        return archivos;
+    }
+
+    /* Ordena los primeros n registros y los escribe a un archivo temporal,
+     * que regresa. */
+    private Path escribeCorrida(T[] corrida, int n, Lista<Path> temporales)
+        throws IOException {
+        T[] registros = Arrays.copyOf(corrida, n);
+        Arreglos.parallelMergeSort(registros, comparador);
+        Path archivo = temporal(temporales);
+        Escritor escritor = new Escritor(archivo);
+        try {
+            for (T registro : registros)
+                escritor.escribe(registro);
+        } finally {
+            escritor.cierra();
+        }
+        return archivo;
+    }
+
+    /* Mezcla las corridas de los archivos en el archivo de salida. */
+    private void mezcla(Lista<Path> archivos, Path salida) throws IOException {
+        MonticuloMinimo<Cabeza> monticulo = new MonticuloMinimo<Cabeza>();
+        Lista<Lector> lectores = new Lista<Lector>();
+        Escritor escritor = null;
+        try {
+            int corrida = 0;
+            for (Path archivo : archivos) {
+                Lector lector = new Lector(archivo);
+                lectores.agrega(lector);
+                T registro = lector.siguiente();
+                if (registro != null)
+                    monticulo.agrega(new Cabeza(registro, corrida, lector));
+                corrida++;
+            }
+            escritor = new Escritor(salida);
+            while (!monticulo.esVacia()) {
+                Cabeza cabeza = monticulo.get(0);
+                escritor.escribe(cabeza.registro);
+                T registro = cabeza.lector.siguiente();
+                if (registro == null) {
+                    monticulo.elimina();
+                } else {
+                    cabeza.registro = registro;
+                    monticulo.reordena(cabeza);
+                }
+            }
+        } finally {
+            if (escritor != null)
+                escritor.cierra();
+            for (Lector lector : lectores)
+                lector.cierra();
+        }
+    }
+
+    /* Crea un archivo temporal en el directorio y lo agrega a la lista de
+     * temporales. */
+    private Path temporal(Lista<Path> temporales) throws IOException {
+        Path archivo = Files.createTempFile(directorio, "corrida", ".tmp");
+        temporales.agrega(archivo);
+        return archivo;
+    }
+
+    /* Borra los archivos de la lista, si existen. */
+    private void borra(Lista<Path> archivos) throws IOException {
+        for (Path archivo : archivos)
+            Files.deleteIfExists(archivo);
+    }
+}
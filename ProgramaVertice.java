@@ -0,0 +1,23 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para programas de vértice que ejecuta {@link EjecutorPregel}. En
+ * cada superpaso el programa recibe el valor actual del vértice y los mensajes
+ * que le enviaron en el superpaso anterior, puede enviar mensajes que llegarán
+ * en el siguiente superpaso, y regresa el nuevo valor del vértice.
+ */
+@FunctionalInterface
+public interface ProgramaVertice<T, V, M> {
+
+    /**
+     * Realiza el cómputo de un vértice en un superpaso.
+     * @param superpaso el número de superpaso, empezando en cero.
+     * @param vertice el vértice.
+     * @param valor el valor actual del vértice.
+     * @param mensajes los mensajes que recibió el vértice.
+     * @param mensajero el mensajero para enviar mensajes.
+     * @return el nuevo valor del vértice.
+     */
+    public V calcula(int superpaso, VerticeGrafica<T> vertice, V valor,
+                     Lista<M> mensajes, Mensajero<T, M> mensajero);
+}
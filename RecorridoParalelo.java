@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p>Clase para recorridos en profundidad en paralelo, con robo de trabajo.
+ * El recorrido empieza en un nodo raíz; expandir un nodo produce sus hijos,
+ * que a su vez se expanden, hasta que ya no hay nodos pendientes. Los nodos
+ * pueden ser vértices de una gráfica o de un árbol, o estados parciales de
+ * una búsqueda con retroceso (<em>backtracking</em>).</p>
+ *
+ * <p>Cada hilo guarda sus nodos pendientes en su propio {@link DequeRobo} y
+ * los expande en profundidad; un hilo sin trabajo le roba a otro el nodo
+ * pendiente más viejo, que suele ser la raíz del subárbol más grande. El
+ * recorrido termina cuando no queda ningún nodo pendiente en ningún
+ * hilo.</p>
+ * @param <N> el tipo de los nodos del recorrido.
+ */
+public class RecorridoParalelo<N> {
+
+    /**
+     * Interfaz para expandir nodos de un recorrido paralelo. Se llama desde
+     * varios hilos al mismo tiempo, así que debe ser segura para hilos.
+     * @param <N> el tipo de los nodos del recorrido.
+     */
+    @FunctionalInterface
+    public interface Expansor<N> {
+
+        /**
+         * Expande un nodo, entregando cada uno de sus hijos que haya que
+         * recorrer.
+         * @param nodo el nodo a expandir.
+         * @param hijos dónde se entregan los hijos del nodo.
+         */
+        public void expande(N nodo, Consumer<N> hijos);
+    }
+
+    /* Clase privada para los trabajadores del recorrido. */
+    private class Trabajador implements Callable<Integer>, Consumer<N> {
+
+        /* El deque de nodos pendientes del trabajador. */
+        private DequeRobo<N> deque;
+        /* El número de nodos que ha expandido el trabajador. */
+        private int expandidos;
+
+        /* Construye un trabajador. */
+        public Trabajador() {
+            deque = new DequeRobo<N>();
+        }
+
+        /* Agrega un hijo a los nodos pendientes. */
+        @Override public void accept(N hijo) {
+            pendientes.incrementAndGet();
+            deque.mete(hijo);
+        }
+
+        /* Expande nodos hasta que no queden pendientes en ningún hilo, y
+         * regresa el número de nodos que expandió. */
+        @Override public Integer call() {
+            while (pendientes.get() > 0 && !detenido) {
+                N nodo = deque.saca();
+                if (nodo == null)
+                    nodo = roba();
+                if (nodo == null) {
+                    Thread.yield();
+                    continue;
+                }
+                try {
+                    expansor.expande(nodo, this);
+                } catch (RuntimeException | Error e) {
+                    detenido = true;
+                    throw e;
+                }
+                expandidos++;
+                pendientes.decrementAndGet();
+            }
+            return expandidos;
+        }
+
+        /* Trata de robarle un nodo a otro trabajador, empezando por uno al
+         * azar. */
+        private N roba() {
+            int n = trabajadores.length;
+            int inicio = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n; i++) {
+                Trabajador victima = trabajadores[(inicio + i) % n];
+                if (victima == this)
+                    continue;
+                N nodo = victima.deque.roba();
+                if (nodo != null)
+                    return nodo;
+            }
+            return null;
+        }
+    }
+
+    /* El número de hilos. */
+    private int hilos;
+    /* El expansor del recorrido actual. */
+    private Expansor<N> expansor;
+    /* Los trabajadores del recorrido actual. */
+    private Trabajador[] trabajadores;
+    /* El número de nodos entregados que aún no se terminan de expandir. */
+    private AtomicLong pendientes;
+    /* Si algún trabajador falló y hay que detener el recorrido. */
+    private volatile boolean detenido;
+
+    /**
+     * Construye un recorrido paralelo que usa un hilo por procesador.
+     */
+    public RecorridoParalelo() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construye un recorrido paralelo con el número de hilos recibido.
+     * @param hilos el número de hilos.
+     * @throws IllegalArgumentException si <code>hilos</code> es menor que
+     *         uno.
+     */
+    public RecorridoParalelo(int hilos) {
+        if (hilos < 1)
+            throw new IllegalArgumentException();
+        this.hilos = hilos;
+    }
+
+    /**
+     * Regresa el número de hilos del recorrido.
+     * @return el número de hilos del recorrido.
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Recorre en paralelo a partir de la raíz, expandiendo cada nodo con el
+     * expansor recibido. El método regresa hasta que todos los nodos
+     * entregados se expandieron. Un nodo entregado varias veces se expande
+     * varias veces; si los nodos forman una gráfica con ciclos, el expansor
+     * debe marcar los nodos visitados.
+     * @param raiz el nodo donde empieza el recorrido.
+     * @param expansor el expansor de los nodos.
+     * @return el número de nodos expandidos.
+     * @throws IllegalArgumentException si <code>raiz</code> es
+     *         <code>null</code>.
+     * @throws RuntimeException si el expansor lanza una excepción; se relanza
+     *         la misma excepción.
+     */
+    public synchronized long recorre(N raiz, Expansor<N> expansor) {
+        if (raiz == null)
+            throw new IllegalArgumentException();
+        this.expansor = expansor;
+        @SuppressWarnings("unchecked") Trabajador[] t =
+            (Trabajador[])Array.newInstance(Trabajador.class, hilos);
+        trabajadores = t;
+        for (int i = 0; i < hilos; i++)
+            trabajadores[i] = new Trabajador();
+        pendientes = new AtomicLong();
+        detenido = false;
+        trabajadores[0].accept(raiz);
+        if (hilos == 1)
+            return trabajadores[0].call();
+        ExecutorService servicio = Executors.newFixedThreadPool(hilos);
+        try {
+            Lista<Future<Integer>> futuros = new Lista<Future<Integer>>();
+            for (Trabajador trabajador : trabajadores)
+                futuros.agrega(servicio.submit(trabajador));
+            long total = 0;
+            for (Future<Integer> f : futuros)
+                total += f.get();
+            return total;
+        } catch (InterruptedException ie) {
+            detenido = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ie);
+        } catch (ExecutionException ee) {
+            detenido = true;
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException)ee.getCause();
+            if (ee.getCause() instanceof Error)
+                throw (Error)ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        } finally {
+            servicio.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para trayectorias de gráficas. Una trayectoria es una lista de
+ * vértices de la gráfica, junto con la suma de los pesos de las aristas que
+ * la forman.
+ */
+public class Trayectoria<T> {
+
+    /* Los vértices de la trayectoria. */
+    private Lista<VerticeGrafica<T>> vertices;
+    /* El peso total de la trayectoria. */
+    private double peso;
+
+    /**
+     * Crea una nueva trayectoria con los vértices y el peso dados.
+     * @param vertices los vértices de la trayectoria.
+     * @param peso el peso total de la trayectoria.
+     */
+    public Trayectoria(Lista<VerticeGrafica<T>> vertices, double peso) {
+        this.vertices = vertices;
+        this.peso = peso;
+    }
+
+    /**
+     * Regresa la lista de vértices de la trayectoria, en orden desde el
+     * origen hasta el destino.
+     * @return la lista de vértices de la trayectoria.
+     */
+    public Lista<VerticeGrafica<T>> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Regresa el peso total de la trayectoria.
+     * @return el peso total de la trayectoria.
+     */
+    public double getPeso() {
+        return peso;
+    }
+
+    /**
+     * Nos dice si la trayectoria es igual al objeto recibido.
+     * @param o el objeto con el que queremos comparar la trayectoria.
+     * @return <code>true</code> si el objeto recibido es una trayectoria con
+     *         los mismos vértices y el mismo peso; <code>false</code> en otro
+     *         caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") Trayectoria<T> trayectoria =
+            (Trayectoria<T>)o;
+        return peso == trayectoria.peso &&
+            vertices.equals(trayectoria.vertices);
+    }
+
+    /**
+     * Regresa una representación en cadena de la trayectoria.
+     * @return una representación en cadena de la trayectoria.
+     */
+    @Override public String toString() {
+        String x = "[";
+        for (VerticeGrafica<T> v : vertices) {
+            if (x.length() > 1)
+                x = x + ", ";
+            x = x + v.get();
+        }
+        return x + "]:" + peso;
+    }
+}
@@ -3,6 +3,8 @@ package mx.unam.ciencias.edd.test;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import mx.unam.ciencias.edd.ArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
 import mx.unam.ciencias.edd.Cola;
@@ -822,4 +824,58 @@ public class TestArbolBinarioOrdenado {
                 Assert.assertTrue(v.get().equals(IN_ORDER[indice++]));
             });
     }
+
+    /* Recorre el separador partiéndolo recursivamente, agregando los elementos
+     * a la lista en el orden del recorrido. */
+    private void separa(Spliterator<Integer> s, Lista<Integer> l) {
+        if (random.nextBoolean())
+            s.tryAdvance(l::agrega);
+        Spliterator<Integer> p = s.trySplit();
+        if (p == null) {
+            s.forEachRemaining(l::agrega);
+            return;
+        }
+        separa(p, l);
+        separa(s, l);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#spliterator}.
+     */
+    @Test public void testSpliterator() {
+        Spliterator<Integer> s = arbol.spliterator();
+        Assert.assertFalse(s.tryAdvance(e -> Assert.fail()));
+        Assert.assertTrue(s.trySplit() == null);
+        long suma = 0;
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            suma += n;
+        }
+        s = arbol.spliterator();
+        Assert.assertTrue(s.hasCharacteristics(Spliterator.SORTED));
+        Assert.assertTrue(s.getExactSizeIfKnown() == total);
+        Lista<Integer> l = new Lista<Integer>();
+        separa(s, l);
+        Assert.assertTrue(l.getLongitud() == total);
+        Iterator<Integer> i = arbol.iterator();
+        for (Integer e : l)
+            Assert.assertTrue(e.equals(i.next()));
+        Assert.assertTrue(arbol.parallelStream()
+                          .mapToLong(e -> e).sum() == suma);
+        Assert.assertTrue(arbol.stream().count() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinario#dfsParalelo}.
+     */
+    @Test public void testDfsParalelo() {
+        arbol.dfsParalelo(v -> Assert.fail(), 2);
+        for (int i = 0; i < total; i++)
+            arbol.agrega(i * 7919 % total);
+        AtomicIntegerArray vistos = new AtomicIntegerArray(total);
+        arbol.dfsParalelo(v -> vistos.incrementAndGet(v.get()), 3);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+    }
 }
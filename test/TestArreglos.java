@@ -1,7 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Random;
 import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Lista;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -67,6 +69,483 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Object[],Comparator)}
+     * con entradas ordenadas, en reversa, con repetidos y en forma de
+     * montaña, que no deben degradar a tiempo cuadrático.
+     */
+    @Test public void testQuickSortPatrones() {
+        int n = 200000 + random.nextInt(1000);
+        for (int patron = 0; patron < 5; patron++) {
+            Integer[] a = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                switch (patron) {
+                case 0: a[i] = i; break;
+                case 1: a[i] = n - i; break;
+                case 2: a[i] = random.nextInt(3); break;
+                case 3: a[i] = i < n / 2 ? i : n - i; break;
+                default: a[i] = random.nextInt(); break;
+                }
+            }
+            Integer[] copia = a.clone();
+            Arrays.sort(copia);
+            long[] comparaciones = { 0 };
+            Arreglos.quickSort(a, (x, y) -> {
+                    comparaciones[0]++;
+                    return x.compareTo(y);
+                });
+            Assert.assertTrue(Arrays.equals(a, copia));
+            Assert.assertTrue(comparaciones[0] < 4L * n * 18);
+        }
+        Integer[] vacio = new Integer[0];
+        Arreglos.quickSort(vacio);
+        Integer[] uno = { 1 };
+        Arreglos.quickSort(uno);
+        Assert.assertTrue(uno[0] == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#parallelQuickSort(Object[],java.util.Comparator,int)}.
+     */
+    @Test public void testParallelQuickSort() {
+        int n = 100000 + random.nextInt(1000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(n / 10);
+        Integer[] copia = a.clone();
+        Arrays.sort(copia);
+        Integer[] b = a.clone();
+        Arreglos.parallelQuickSort(a);
+        Assert.assertTrue(Arrays.equals(a, copia));
+        Arreglos.parallelQuickSort(b, (x, y) -> y.compareTo(x), 1);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(b[i].equals(copia[n - 1 - i]));
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.parallelQuickSort(arreglo);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i-1] <= arreglo[i]);
+        try {
+            Arreglos.parallelQuickSort(a, (x, y) -> x.compareTo(y), 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#parallelMergeSort(Object[],java.util.Comparator,int)}.
+     */
+    @Test public void testParallelMergeSort() {
+        int n = 100000 + random.nextInt(1000);
+        int[][] a = new int[n][];
+        for (int i = 0; i < n; i++)
+            a[i] = new int[] { random.nextInt(100), i };
+        int[][] b = a.clone();
+        Arreglos.parallelMergeSort(a, (x, y) -> x[0] - y[0]);
+        Arreglos.parallelMergeSort(b, (x, y) -> x[0] - y[0],
+                                   1 + random.nextInt(64));
+        for (int i = 1; i < n; i++) {
+            Assert.assertTrue(a[i-1][0] < a[i][0] ||
+                              (a[i-1][0] == a[i][0] && a[i-1][1] < a[i][1]));
+            Assert.assertTrue(a[i] == b[i]);
+        }
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.parallelMergeSort(arreglo);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i-1] <= arreglo[i]);
+        Integer[] vacio = new Integer[0];
+        Arreglos.parallelMergeSort(vacio);
+        for (int m = 1; m < 100; m++) {
+            Integer[] c = new Integer[m];
+            for (int i = 0; i < m; i++)
+                c[i] = random.nextInt(m);
+            Integer[] control = c.clone();
+            Arrays.sort(control);
+            Arreglos.parallelMergeSort(c, (x, y) -> x.compareTo(y), 1);
+            Assert.assertTrue(Arrays.equals(c, control));
+        }
+        try {
+            Arreglos.parallelMergeSort(b, (x, y) -> x[0] - y[0], 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(int[])}, {@link
+     * Arreglos#quickSort(long[])} y {@link Arreglos#quickSort(double[])}.
+     */
+    @Test public void testQuickSortPrimitivos() {
+        int n = 100000 + random.nextInt(1000);
+        int[] a = new int[n];
+        long[] b = new long[n];
+        double[] c = new double[n];
+        double[] especiales = { Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+                                Double.POSITIVE_INFINITY, -Double.MIN_VALUE };
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextBoolean() ? random.nextInt() : random.nextInt(5);
+            b[i] = random.nextLong();
+            c[i] = random.nextInt(10) == 0 ?
+                especiales[random.nextInt(especiales.length)] :
+                random.nextGaussian();
+        }
+        int[] ca = a.clone();
+        long[] cb = b.clone();
+        double[] cc = c.clone();
+        Arrays.sort(ca);
+        Arrays.sort(cb);
+        Arrays.sort(cc);
+        Arreglos.quickSort(a);
+        Arreglos.quickSort(b);
+        Arreglos.quickSort(c);
+        Assert.assertTrue(Arrays.equals(a, ca));
+        Assert.assertTrue(Arrays.equals(b, cb));
+        Assert.assertTrue(Arrays.equals(c, cc));
+        for (int i = 0; i < n; i++)
+            a[i] = i < n / 2 ? i : n - i;
+        Arreglos.quickSort(a);
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(a[i-1] <= a[i]);
+        double[] vacio = new double[0];
+        Arreglos.quickSort(vacio);
+        double[] nans = { Double.NaN, 1, Double.NaN, 0.0, -0.0 };
+        Arreglos.quickSort(nans);
+        Assert.assertTrue(Arrays.equals(nans, new double[] {
+                    -0.0, 0.0, 1, Double.NaN, Double.NaN }));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#selectionSort(int[])}, {@link
+     * Arreglos#selectionSort(long[])} y {@link
+     * Arreglos#selectionSort(double[])}.
+     */
+    @Test public void testSelectionSortPrimitivos() {
+        int[] a = new int[total];
+        long[] b = new long[total];
+        double[] c = new double[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            b[i] = random.nextLong();
+            c[i] = random.nextInt(5) == 0 ? Double.NaN : random.nextDouble();
+        }
+        c[0] = 0.0;
+        c[1] = -0.0;
+        int[] ca = a.clone();
+        long[] cb = b.clone();
+        double[] cc = c.clone();
+        Arrays.sort(ca);
+        Arrays.sort(cb);
+        Arrays.sort(cc);
+        Arreglos.selectionSort(a);
+        Arreglos.selectionSort(b);
+        Arreglos.selectionSort(c);
+        Assert.assertTrue(Arrays.equals(a, ca));
+        Assert.assertTrue(Arrays.equals(b, cb));
+        Assert.assertTrue(Arrays.equals(c, cc));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#busquedaBinaria(int[],int)},
+     * {@link Arreglos#busquedaBinaria(long[],long)} y {@link
+     * Arreglos#busquedaBinaria(double[],double)}.
+     */
+    @Test public void testBusquedaBinariaPrimitivos() {
+        int[] a = new int[total];
+        long[] b = new long[total];
+        double[] c = new double[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = 2 * i;
+            b[i] = 2L * i - total;
+            c[i] = i - total / 2;
+        }
+        c[total - 1] = Double.NaN;
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(Arreglos.busquedaBinaria(a, 2 * i) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(a, 2 * i + 1) == -1);
+            Assert.assertTrue(Arreglos.busquedaBinaria(b, 2L * i - total) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(b, 2L * i - total + 1) ==
+                              -1);
+            Assert.assertTrue(Arreglos.busquedaBinaria(c, c[i]) == i);
+            if (i < total - 1)
+                Assert.assertTrue(Arreglos.busquedaBinaria(c, c[i] + 0.5) ==
+                                  -1);
+        }
+        Assert.assertTrue(Arreglos.busquedaBinaria(c, -0.0) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(new int[0], 1) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#radixSort(int[])} y {@link
+     * Arreglos#radixSort(long[])}.
+     */
+    @Test public void testRadixSortPrimitivos() {
+        for (int n : new int[] { total, 100000 + random.nextInt(1000) }) {
+            int[] a = new int[n];
+            long[] b = new long[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = random.nextBoolean() ? random.nextInt() :
+                    random.nextInt(1000) - 500;
+                b[i] = random.nextBoolean() ? random.nextLong() :
+                    random.nextInt(1000) - 500;
+            }
+            int[] ca = a.clone();
+            long[] cb = b.clone();
+            Arrays.sort(ca);
+            Arrays.sort(cb);
+            Arreglos.radixSort(a);
+            Arreglos.radixSort(b);
+            Assert.assertTrue(Arrays.equals(a, ca));
+            Assert.assertTrue(Arrays.equals(b, cb));
+            for (int i = 0; i < n; i++)
+                b[i] = (long)i << 40;
+            cb = b.clone();
+            Arreglos.radixSort(b);
+            Assert.assertTrue(Arrays.equals(b, cb));
+        }
+        Arreglos.radixSort(new int[0]);
+        Arreglos.radixSort(new long[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#radixSort(Object[],java.util.function.ToLongFunction)}.
+     */
+    @Test public void testRadixSortLlave() {
+        int n = 100000 + random.nextInt(1000);
+        long[][] a = new long[n][];
+        for (int i = 0; i < n; i++)
+            a[i] = new long[] { random.nextInt(100) - 50, i };
+        a[0][0] = Long.MIN_VALUE;
+        a[1][0] = Long.MAX_VALUE;
+        Arreglos.radixSort(a, x -> x[0]);
+        Assert.assertTrue(a[0][0] == Long.MIN_VALUE);
+        Assert.assertTrue(a[n-1][0] == Long.MAX_VALUE);
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(a[i-1][0] < a[i][0] ||
+                              (a[i-1][0] == a[i][0] && a[i-1][1] < a[i][1]));
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.radixSort(arreglo, x -> x);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i-1] <= arreglo[i]);
+        Arreglos.radixSort(new Integer[0], x -> x);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#cotaInferior(Object[],Object,java.util.Comparator)}, {@link
+     * Arreglos#cotaInferior(int[],int)}, {@link
+     * Arreglos#cotaInferior(long[],long)} y {@link
+     * Arreglos#cotaInferior(double[],double)}.
+     */
+    @Test public void testCotaInferior() {
+        int[] a = new int[total];
+        long[] b = new long[total];
+        double[] c = new double[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = 2 * (i / 3);
+            a[i] = arreglo[i];
+            b[i] = arreglo[i];
+            c[i] = arreglo[i];
+        }
+        for (int x = -2; x <= 2 * total; x++) {
+            int esperado = 0;
+            while (esperado < total && arreglo[esperado] < x)
+                esperado++;
+            Assert.assertTrue(Arreglos.cotaInferior(arreglo, x) == esperado);
+            Assert.assertTrue(Arreglos.cotaInferior(a, x) == esperado);
+            Assert.assertTrue(Arreglos.cotaInferior(b, (long)x) == esperado);
+            Assert.assertTrue(Arreglos.cotaInferior(c, x) == esperado);
+            int i = Arreglos.busquedaBinaria(a, x);
+            Assert.assertTrue(esperado < total && a[esperado] == x ?
+                              i == esperado : i == -1);
+        }
+        Assert.assertTrue(Arreglos.cotaInferior(new int[0], 1) == 0);
+        double[] d = { Double.NEGATIVE_INFINITY, -0.0, 0.0, 0.0, 1,
+                       Double.NaN, Double.NaN };
+        Assert.assertTrue(Arreglos.cotaInferior(d, -0.0) == 1);
+        Assert.assertTrue(Arreglos.cotaInferior(d, 0.0) == 2);
+        Assert.assertTrue(Arreglos.cotaInferior(d, 0.5) == 4);
+        Assert.assertTrue(Arreglos.cotaInferior(d, Double.POSITIVE_INFINITY) ==
+                          5);
+        Assert.assertTrue(Arreglos.cotaInferior(d, Double.NaN) == 5);
+        Assert.assertTrue(Arreglos.cotaInferior(new double[0], 1) == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#cotasInferiores(Object[],Object[],java.util.Comparator)}, {@link
+     * Arreglos#cotasInferiores(int[],int[])} y {@link
+     * Arreglos#cotasInferiores(long[],long[])}.
+     */
+    @Test public void testCotasInferiores() {
+        int n = 1000 + random.nextInt(1000);
+        int[] a = new int[n];
+        long[] b = new long[n];
+        Integer[] c = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(2 * n);
+        Arrays.sort(a);
+        for (int i = 0; i < n; i++) {
+            b[i] = a[i];
+            c[i] = a[i];
+        }
+        int m = 100 + random.nextInt(100);
+        int[] x = new int[m];
+        long[] y = new long[m];
+        Integer[] z = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            x[i] = random.nextInt(2 * n + 2) - 1;
+            y[i] = x[i];
+            z[i] = x[i];
+        }
+        int[] ca = Arreglos.cotasInferiores(a, x);
+        int[] cb = Arreglos.cotasInferiores(b, y);
+        int[] cc = Arreglos.cotasInferiores(c, z, (p, q) -> p.compareTo(q));
+        for (int i = 0; i < m; i++) {
+            int esperado = Arreglos.cotaInferior(a, x[i]);
+            Assert.assertTrue(ca[i] == esperado);
+            Assert.assertTrue(cb[i] == esperado);
+            Assert.assertTrue(cc[i] == esperado);
+        }
+        Assert.assertTrue(Arreglos.cotasInferiores(new int[0], x)[0] == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#eytzinger(Object[])} y {@link
+     * Arreglos#busquedaEytzinger(Object[],Object,java.util.Comparator)}, y
+     * sus versiones para <code>int</code> y <code>long</code>.
+     */
+    @Test public void testEytzinger() {
+        for (int n = 0; n < 70; n++) {
+            int[] a = new int[n];
+            long[] b = new long[n];
+            Integer[] c = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = 2 * i;
+                b[i] = 2 * i;
+                c[i] = 2 * i;
+            }
+            int[] ea = Arreglos.eytzinger(a);
+            long[] eb = Arreglos.eytzinger(b);
+            Integer[] ec = Arreglos.eytzinger(c);
+            for (int i = 0; i < n; i++) {
+                if (2 * i + 1 < n)
+                    Assert.assertTrue(ea[2 * i + 1] < ea[i]);
+                if (2 * i + 2 < n)
+                    Assert.assertTrue(ea[2 * i + 2] > ea[i]);
+            }
+            for (int x = -1; x <= 2 * n; x++) {
+                int i = Arreglos.busquedaEytzinger(ea, x);
+                int j = Arreglos.busquedaEytzinger(eb, (long)x);
+                int k = Arreglos.busquedaEytzinger(ec, x,
+                                                   (p, q) -> p.compareTo(q));
+                if (x > 2 * (n - 1)) {
+                    Assert.assertTrue(i == -1 && j == -1 && k == -1);
+                } else {
+                    int esperado = x <= 0 ? 0 : x + (x % 2);
+                    Assert.assertTrue(ea[i] == esperado);
+                    Assert.assertTrue(eb[j] == esperado);
+                    Assert.assertTrue(ec[k] == esperado);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#selecciona(Comparable[],int)}.
+     */
+    @Test public void testSelecciona() {
+        int n = 10000 + random.nextInt(1000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(n / 4);
+        Integer[] copia = a.clone();
+        Arrays.sort(copia);
+        for (int j = 0; j < 20; j++) {
+            int k = random.nextInt(n);
+            Integer x = Arreglos.selecciona(a, k);
+            Assert.assertTrue(x.equals(copia[k]));
+            Assert.assertTrue(a[k].equals(copia[k]));
+            for (int i = 0; i < k; i++)
+                Assert.assertTrue(a[i] <= x);
+            for (int i = k + 1; i < n; i++)
+                Assert.assertTrue(a[i] >= x);
+        }
+        Integer[] b = copia.clone();
+        Assert.assertTrue(Arreglos.selecciona(b, n / 2,
+                                              (p, q) -> q.compareTo(p))
+                          .equals(copia[n - 1 - n / 2]));
+        try {
+            Arreglos.selecciona(a, n);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#partialSort(Comparable[],int)}.
+     */
+    @Test public void testPartialSort() {
+        int n = 10000 + random.nextInt(1000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt();
+        Integer[] copia = a.clone();
+        Arrays.sort(copia);
+        int k = random.nextInt(n + 1);
+        Arreglos.partialSort(a, k);
+        for (int i = 0; i < k; i++)
+            Assert.assertTrue(a[i].equals(copia[i]));
+        Arreglos.partialSort(a, n);
+        Assert.assertTrue(Arrays.equals(a, copia));
+        Arreglos.partialSort(new Integer[0], 0);
+        try {
+            Arreglos.partialSort(a, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#topK(Iterable,int)}.
+     */
+    @Test public void testTopK() {
+        int n = 10000 + random.nextInt(1000);
+        Lista<Integer> elementos = new Lista<Integer>();
+        Integer[] copia = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            copia[i] = random.nextInt(n);
+            elementos.agrega(copia[i]);
+        }
+        Arrays.sort(copia);
+        int k = random.nextInt(100);
+        Lista<Integer> menores = Arreglos.topK(elementos, k);
+        Assert.assertTrue(menores.getLongitud() == k);
+        int i = 0;
+        for (Integer x : menores)
+            Assert.assertTrue(x.equals(copia[i++]));
+        Lista<Integer> mayores = Arreglos.topK(elementos, k,
+                                               (p, q) -> q.compareTo(p));
+        i = n - 1;
+        for (Integer x : mayores)
+            Assert.assertTrue(x.equals(copia[i--]));
+        Assert.assertTrue(Arreglos.topK(elementos, 2 * n).getLongitud() == n);
+        Assert.assertTrue(Arreglos.topK(elementos, 0).esVacia());
+        Lista<Integer> pocos = new Lista<Integer>();
+        pocos.agrega(3);
+        pocos.agrega(1);
+        pocos.agrega(2);
+        menores = Arreglos.topK(pocos, Integer.MAX_VALUE - 8);
+        Assert.assertTrue(menores.getLongitud() == 3);
+        i = 1;
+        for (Integer x : menores)
+            Assert.assertTrue(x == i++);
+        try {
+            Arreglos.topK(elementos, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Arreglos#selectionSort(Comparable[])}.
      */
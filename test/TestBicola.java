@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Bicola;
+import mx.unam.ciencias.edd.Cola;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Bicola}.
+ */
+public class TestBicola {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La bicola. */
+    private Bicola<Integer> bicola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestra bicola, y una bicola.
+     */
+    public TestBicola() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        bicola = new Bicola<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link Bicola#meteInicio}, {@link
+     * Bicola#meteFinal}, {@link Bicola#sacaInicio} y {@link
+     * Bicola#sacaFinal}.
+     */
+    @Test public void testMeteSaca() {
+        ArrayDeque<Integer> modelo = new ArrayDeque<Integer>();
+        for (int i = 0; i < 10 * total; i++) {
+            int op = modelo.isEmpty() ? random.nextInt(2) : random.nextInt(5);
+            switch (op) {
+            case 0:
+                bicola.meteInicio(i);
+                modelo.addFirst(i);
+                break;
+            case 1:
+                bicola.meteFinal(i);
+                modelo.addLast(i);
+                break;
+            case 2:
+                Assert.assertTrue(bicola.sacaInicio()
+                                  .equals(modelo.removeFirst()));
+                break;
+            case 3:
+                Assert.assertTrue(bicola.sacaFinal()
+                                  .equals(modelo.removeLast()));
+                break;
+            default:
+                Assert.assertTrue(bicola.miraInicio()
+                                  .equals(modelo.peekFirst()));
+                Assert.assertTrue(bicola.miraFinal()
+                                  .equals(modelo.peekLast()));
+                break;
+            }
+            Assert.assertTrue(bicola.getElementos() == modelo.size());
+            Assert.assertTrue(bicola.esVacia() == modelo.isEmpty());
+        }
+        while (!modelo.isEmpty())
+            Assert.assertTrue(bicola.sacaFinal().equals(modelo.removeLast()));
+        Assert.assertTrue(bicola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para las excepciones de {@link Bicola}.
+     */
+    @Test public void testExcepciones() {
+        try {
+            bicola.sacaInicio();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            bicola.sacaFinal();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            bicola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            bicola.meteInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            bicola.meteFinal(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Bicola#mete}, {@link Bicola#saca} y {@link
+     * Bicola#mira}, que se comportan como en una cola.
+     */
+    @Test public void testComoCola() {
+        for (int i = 0; i < total; i++) {
+            bicola.mete(i);
+            Assert.assertTrue(bicola.mira() == 0);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(bicola.saca() == i);
+        Assert.assertTrue(bicola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link Bicola#toString}, {@link Bicola#equals} y
+     * {@link Bicola#limpia}.
+     */
+    @Test public void testToStringEquals() {
+        Assert.assertTrue(bicola.toString().equals(""));
+        Assert.assertFalse(bicola.equals(null));
+        Assert.assertFalse(bicola.equals(new Cola<Integer>()));
+        Bicola<Integer> otra = new Bicola<Integer>();
+        Assert.assertTrue(bicola.equals(otra));
+        String s = "";
+        for (int i = 0; i < total; i++) {
+            bicola.meteFinal(i);
+            s += i + ",";
+            Assert.assertFalse(bicola.equals(otra));
+        }
+        for (int i = total - 1; i >= 0; i--)
+            otra.meteInicio(i);
+        Assert.assertTrue(bicola.toString().equals(s));
+        Assert.assertTrue(bicola.equals(otra));
+        bicola.limpia();
+        Assert.assertTrue(bicola.esVacia());
+        Assert.assertTrue(bicola.toString().equals(""));
+    }
+}
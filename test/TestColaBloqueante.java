@@ -0,0 +1,192 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import mx.unam.ciencias.edd.ColaBloqueante;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaBloqueante}.
+ */
+public class TestColaBloqueante {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaBloqueante<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestra cola, y una cola con capacidad para
+     * ellos.
+     */
+    public TestColaBloqueante() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaBloqueante<Integer>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaBloqueante#ColaBloqueante}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.getCapacidad() == total);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getElementos() == 0);
+        try {
+            new ColaBloqueante<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaBloqueante#mete(Object)} y {@link
+     * ColaBloqueante#saca()}.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testMeteSaca() throws InterruptedException {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int vuelta = 0; vuelta < 3; vuelta++) {
+            for (int i = 0; i < total; i++) {
+                cola.mete(i);
+                Assert.assertTrue(cola.getElementos() == i + 1);
+            }
+            for (int i = 0; i < total / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            for (int i = 0; i < total / 2; i++)
+                cola.mete(total + i);
+            for (int i = total / 2; i < total + total / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            Assert.assertTrue(cola.esVacia());
+        }
+        Assert.assertTrue(cola.getProfundidadMaxima() == total);
+        Assert.assertTrue(cola.getMetidos() == 3 * (total + total / 2));
+        Assert.assertTrue(cola.getSacados() == cola.getMetidos());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaBloqueante#mete(Object,long,TimeUnit)}
+     * y {@link ColaBloqueante#saca(long,TimeUnit)}.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testTiempo() throws InterruptedException {
+        Assert.assertTrue(cola.saca(10, TimeUnit.MILLISECONDS) == null);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.mete(i, 0, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(cola.mete(total, 10, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(cola.getElementos() == total);
+        Assert.assertTrue(cola.saca(0, TimeUnit.MILLISECONDS) == 0);
+        Assert.assertTrue(cola.mete(total, 10, TimeUnit.MILLISECONDS));
+        try {
+            cola.mete(null, 10, TimeUnit.MILLISECONDS);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaBloqueante#drenaA}.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testDrenaA() throws InterruptedException {
+        Lista<Integer> lista = new Lista<Integer>();
+        Assert.assertTrue(cola.drenaA(lista, 5) == 0);
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.drenaA(lista, 5) == 5);
+        Assert.assertTrue(cola.drenaA(lista, 0) == 0);
+        Assert.assertTrue(cola.drenaA(lista, 2 * total) == total - 5);
+        Assert.assertTrue(cola.esVacia());
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == i++);
+        Assert.assertTrue(i == total);
+        Assert.assertTrue(cola.getSacados() == total);
+        try {
+            cola.drenaA(lista, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (i = 0; i < total; i++)
+            cola.mete(i);
+        Lista<Integer> rota = new Lista<Integer>() {
+                @Override public void agrega(Integer e) {
+                    if (e == 3)
+                        throw new IllegalStateException();
+                    super.agrega(e);
+                }
+            };
+        try {
+            cola.drenaA(rota, total);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(rota.getLongitud() == 3);
+        Assert.assertTrue(cola.getElementos() == total - 3);
+        Assert.assertTrue(cola.getSacados() == total + 3);
+        for (i = 3; i < total; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaBloqueante} con productores y
+     * consumidores bloqueados.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testBloqueo() throws InterruptedException {
+        ColaBloqueante<Integer> chica = new ColaBloqueante<Integer>(4);
+        int n = 10000;
+        AtomicInteger errores = new AtomicInteger();
+        Thread[] productores = new Thread[2];
+        for (int p = 0; p < productores.length; p++) {
+            int base = p * n;
+            productores[p] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < n; i++)
+                            chica.mete(base + i);
+                    } catch (InterruptedException ie) {
+                        errores.incrementAndGet();
+                    }
+                });
+            productores[p].start();
+        }
+        int[] ultimos = { -1, -1 };
+        Lista<Integer> lote = new Lista<Integer>();
+        for (int c = 0; c < 2 * n; c++) {
+            int e;
+            if (c % 3 == 0 && chica.drenaA(lote, 1) == 1)
+                e = lote.eliminaPrimero();
+            else
+                e = chica.saca();
+            Assert.assertTrue(e > ultimos[e / n]);
+            ultimos[e / n] = e;
+        }
+        for (Thread productor : productores)
+            productor.join();
+        Assert.assertTrue(errores.get() == 0);
+        Assert.assertTrue(chica.esVacia());
+        Assert.assertTrue(chica.getProfundidadMaxima() <= 4);
+        Thread consumidor = new Thread(() -> {
+                try {
+                    chica.saca();
+                } catch (InterruptedException ie) {
+                    errores.incrementAndGet();
+                }
+            });
+        consumidor.start();
+        consumidor.interrupt();
+        consumidor.join();
+        Assert.assertTrue(errores.get() == 1);
+    }
+}
@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaConcurrenteAcotada;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrenteAcotada}.
+ */
+public class TestColaConcurrenteAcotada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrenteAcotada<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestra cola, y una cola con capacidad para
+     * ellos.
+     */
+    public TestColaConcurrenteAcotada() {
+        random = new Random();
+        total = 100 + random.nextInt(100);
+        cola = new ColaConcurrenteAcotada<Integer>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * ColaConcurrenteAcotada#ColaConcurrenteAcotada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.getCapacidad() >= total);
+        Assert.assertTrue(cola.getCapacidad() < 2 * total);
+        Assert.assertTrue(Integer.bitCount(cola.getCapacidad()) == 1);
+        Assert.assertTrue(cola.esVacia());
+        try {
+            new ColaConcurrenteAcotada<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#mete} y {@link
+     * ColaConcurrenteAcotada#saca}.
+     */
+    @Test public void testMeteSaca() {
+        Assert.assertTrue(cola.saca() == null);
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int capacidad = cola.getCapacidad();
+        for (int vuelta = 0; vuelta < 3; vuelta++) {
+            for (int i = 0; i < capacidad; i++) {
+                Assert.assertTrue(cola.mete(i));
+                Assert.assertFalse(cola.esVacia());
+            }
+            Assert.assertFalse(cola.mete(capacidad));
+            for (int i = 0; i < capacidad / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            for (int i = 0; i < capacidad / 2; i++)
+                Assert.assertTrue(cola.mete(capacidad + i));
+            Assert.assertFalse(cola.mete(-1));
+            for (int i = capacidad / 2; i < capacidad + capacidad / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            Assert.assertTrue(cola.esVacia());
+            Assert.assertTrue(cola.saca() == null);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#drena}.
+     */
+    @Test public void testDrena() {
+        Lista<Integer> lista = new Lista<Integer>();
+        Assert.assertTrue(cola.drena(lista, 10) == 0);
+        int capacidad = cola.getCapacidad();
+        for (int i = 0; i < capacidad; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.drena(lista, 0) == 0);
+        Assert.assertTrue(cola.drena(lista, 10) == 10);
+        for (int i = 0; i < 10; i++)
+            Assert.assertTrue(cola.mete(capacidad + i));
+        Assert.assertTrue(cola.drena(lista, 2 * capacidad) == capacidad);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(lista.getLongitud() == capacidad + 10);
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == i++);
+        try {
+            cola.drena(lista, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada} con varios hilos.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        cola = new ColaConcurrenteAcotada<Integer>(64);
+        TestColaConcurrenteLigada.pruebaConcurrente(cola, 4, 4, 20000);
+    }
+}
@@ -0,0 +1,163 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import mx.unam.ciencias.edd.ColaConcurrenteLigada;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrenteLigada}.
+ */
+public class TestColaConcurrenteLigada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrenteLigada<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrenteLigada() {
+        random = new Random();
+        total = 100 + random.nextInt(100);
+        cola = new ColaConcurrenteLigada<Integer>();
+    }
+
+    /**
+     * Prueba varios productores y consumidores sobre una cola concurrente:
+     * cada elemento se consume exactamente una vez, y cada consumidor ve los
+     * elementos de cada productor en el orden en que se metieron.
+     * @param cola la cola concurrente a probar.
+     * @param productores el número de hilos productores.
+     * @param consumidores el número de hilos consumidores.
+     * @param elementos el número de elementos por productor.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    public static void pruebaConcurrente(ColaConcurrente<Integer> cola,
+                                         int productores, int consumidores,
+                                         int elementos)
+        throws InterruptedException {
+        int n = productores * elementos;
+        AtomicIntegerArray vistos = new AtomicIntegerArray(n);
+        AtomicInteger consumidos = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        Thread[] hilos = new Thread[productores + consumidores];
+        for (int p = 0; p < productores; p++) {
+            int base = p * elementos;
+            hilos[p] = new Thread(() -> {
+                    for (int i = 0; i < elementos; i++)
+                        while (!cola.mete(base + i))
+                            Thread.yield();
+                });
+        }
+        for (int c = 0; c < consumidores; c++) {
+            boolean porLotes = c % 2 == 1;
+            hilos[productores + c] = new Thread(() -> {
+                    int[] ultimos = new int[productores];
+                    for (int p = 0; p < productores; p++)
+                        ultimos[p] = -1;
+                    Lista<Integer> lote = new Lista<Integer>();
+                    while (consumidos.get() < n) {
+                        lote.limpia();
+                        if (porLotes) {
+                            cola.drena(lote, 8);
+                        } else {
+                            Integer e = cola.saca();
+                            if (e != null)
+                                lote.agrega(e);
+                        }
+                        if (lote.esVacia())
+                            Thread.yield();
+                        for (int e : lote) {
+                            int p = e / elementos;
+                            if (e <= ultimos[p] ||
+                                vistos.getAndIncrement(e) != 0)
+                                errores.incrementAndGet();
+                            ultimos[p] = e;
+                            consumidos.incrementAndGet();
+                        }
+                    }
+                });
+        }
+        for (Thread hilo : hilos)
+            hilo.start();
+        for (Thread hilo : hilos)
+            hilo.join();
+        Assert.assertTrue(errores.get() == 0);
+        Assert.assertTrue(consumidos.get() == n);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.saca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteLigada#mete} y {@link
+     * ColaConcurrenteLigada#saca}.
+     */
+    @Test public void testMeteSaca() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.saca() == null);
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(cola.mete(i));
+            Assert.assertFalse(cola.esVacia());
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.saca() == null);
+        cola.mete(total);
+        Assert.assertTrue(cola.saca() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteLigada#drena}.
+     */
+    @Test public void testDrena() {
+        Lista<Integer> lista = new Lista<Integer>();
+        Assert.assertTrue(cola.drena(lista, 10) == 0);
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.drena(lista, 0) == 0);
+        Assert.assertTrue(cola.drena(lista, 10) == 10);
+        Assert.assertTrue(cola.saca() == 10);
+        Assert.assertTrue(cola.drena(lista, total) == total - 11);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(lista.getLongitud() == total - 1);
+        int i = 0;
+        for (int e : lista) {
+            Assert.assertTrue(e == i++);
+            if (i == 10)
+                i++;
+        }
+        cola.mete(-1);
+        Assert.assertTrue(cola.saca() == -1);
+        try {
+            cola.drena(lista, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteLigada} con varios hilos.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        pruebaConcurrente(cola, 4, 4, 20000);
+    }
+}
@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaPrioridadIndexada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaPrioridadIndexada}.
+ */
+public class TestColaPrioridadIndexada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de identificadores. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios y un número total de
+     * identificadores para cada prueba.
+     */
+    public TestColaPrioridadIndexada() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+    }
+
+    /* Vacía la cola, verificando que los identificadores salgan en orden de
+     * prioridad y que sean los que indica el modelo. */
+    private void vacia(ColaPrioridadIndexada cola, double[] modelo,
+                       boolean[] dentro) {
+        double ultima = Double.NEGATIVE_INFINITY;
+        while (!cola.esVacia()) {
+            int minimo = cola.minimo();
+            Assert.assertTrue(cola.elimina() == minimo);
+            Assert.assertTrue(dentro[minimo]);
+            Assert.assertTrue(modelo[minimo] >= ultima);
+            Assert.assertFalse(cola.contiene(minimo));
+            ultima = modelo[minimo];
+            dentro[minimo] = false;
+        }
+        for (boolean b : dentro)
+            Assert.assertFalse(b);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaPrioridadIndexada#agrega}, {@link
+     * ColaPrioridadIndexada#elimina} y {@link
+     * ColaPrioridadIndexada#reordena}, con las tres aridades.
+     */
+    @Test public void testOperaciones() {
+        for (int aridad = 2; aridad <= 8; aridad *= 2) {
+            ColaPrioridadIndexada cola =
+                new ColaPrioridadIndexada(total, aridad);
+            double[] modelo = new double[total];
+            boolean[] dentro = new boolean[total];
+            for (int i = 0; i < 5 * total; i++) {
+                int id = random.nextInt(total);
+                double p = random.nextDouble();
+                if (dentro[id])
+                    cola.reordena(id, p);
+                else
+                    cola.agrega(id, p);
+                modelo[id] = p;
+                dentro[id] = true;
+                Assert.assertTrue(cola.getPrioridad(id) == p);
+                if (random.nextInt(4) == 0) {
+                    int minimo = cola.elimina();
+                    for (int j = 0; j < total; j++)
+                        if (dentro[j])
+                            Assert.assertTrue(modelo[minimo] <= modelo[j]);
+                    dentro[minimo] = false;
+                }
+            }
+            int n = 0;
+            for (boolean b : dentro)
+                n += b ? 1 : 0;
+            Assert.assertTrue(cola.getElementos() == n);
+            vacia(cola, modelo, dentro);
+        }
+    }
+
+    /**
+     * Prueba unitaria para las excepciones de {@link ColaPrioridadIndexada}.
+     */
+    @Test public void testExcepciones() {
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(total);
+        try {
+            cola.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            cola.minimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.agrega(total, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cola.reordena(0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cola.getPrioridad(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        cola.agrega(0, 1);
+        try {
+            cola.agrega(0, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ColaPrioridadIndexada(total, 3);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ColaPrioridadIndexada(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaPrioridadIndexada#limpia}.
+     */
+    @Test public void testLimpia() {
+        ColaPrioridadIndexada cola = new ColaPrioridadIndexada(total);
+        for (int i = 0; i < total; i++)
+            cola.agrega(i, random.nextDouble());
+        Assert.assertTrue(cola.getElementos() == total);
+        cola.limpia();
+        Assert.assertTrue(cola.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(cola.contiene(i));
+        cola.agrega(total - 1, 0);
+        Assert.assertTrue(cola.elimina() == total - 1);
+    }
+}
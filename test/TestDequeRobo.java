@@ -0,0 +1,122 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.DequeRobo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DequeRobo}.
+ */
+public class TestDequeRobo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El deque. */
+    private DequeRobo<Integer> deque;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestro deque, y un deque.
+     */
+    public TestDequeRobo() {
+        random = new Random();
+        total = 100 + random.nextInt(1000);
+        deque = new DequeRobo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link DequeRobo#mete} y {@link DequeRobo#saca}.
+     */
+    @Test public void testMeteSaca() {
+        Assert.assertTrue(deque.esVacia());
+        Assert.assertTrue(deque.saca() == null);
+        try {
+            deque.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            deque.mete(i);
+            Assert.assertTrue(deque.getElementos() == i + 1);
+        }
+        for (int i = total - 1; i >= 0; i--)
+            Assert.assertTrue(deque.saca() == i);
+        Assert.assertTrue(deque.esVacia());
+        Assert.assertTrue(deque.saca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link DequeRobo#roba}.
+     */
+    @Test public void testRoba() {
+        Assert.assertTrue(deque.roba() == null);
+        for (int i = 0; i < total; i++)
+            deque.mete(i);
+        for (int i = 0; i < total / 2; i++)
+            Assert.assertTrue(deque.roba() == i);
+        for (int i = 0; i < total; i++)
+            deque.mete(total + i);
+        for (int i = 2 * total - 1; i >= total; i--)
+            Assert.assertTrue(deque.saca() == i);
+        for (int i = total / 2; i < total - 1; i++)
+            Assert.assertTrue(deque.roba() == i);
+        Assert.assertTrue(deque.saca() == total - 1);
+        Assert.assertTrue(deque.roba() == null);
+        Assert.assertTrue(deque.saca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link DequeRobo} con un dueño y varios ladrones:
+     * cada elemento se saca o se roba exactamente una vez.
+     * @throws InterruptedException si la prueba es interrumpida.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        int n = 200000;
+        AtomicIntegerArray vistos = new AtomicIntegerArray(n);
+        AtomicInteger tomados = new AtomicInteger();
+        Thread[] ladrones = new Thread[3];
+        for (int l = 0; l < ladrones.length; l++) {
+            ladrones[l] = new Thread(() -> {
+                    while (tomados.get() < n) {
+                        Integer e = deque.roba();
+                        if (e == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        vistos.incrementAndGet(e);
+                        tomados.incrementAndGet();
+                    }
+                });
+            ladrones[l].start();
+        }
+        for (int i = 0; i < n; i++) {
+            deque.mete(i);
+            if (random.nextInt(3) == 0) {
+                Integer e = deque.saca();
+                if (e != null) {
+                    vistos.incrementAndGet(e);
+                    tomados.incrementAndGet();
+                }
+            }
+        }
+        Integer e;
+        while ((e = deque.saca()) != null) {
+            vistos.incrementAndGet(e);
+            tomados.incrementAndGet();
+        }
+        for (Thread ladron : ladrones)
+            ladron.join();
+        Assert.assertTrue(tomados.get() == n);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+    }
+}
@@ -3,6 +3,7 @@ package mx.unam.ciencias.edd.test;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.Arreglos;
 import mx.unam.ciencias.edd.Diccionario;
@@ -421,4 +422,42 @@ public class TestDiccionario {
             c++;
         Assert.assertTrue(c == 0);
     }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#spliterator}, {@link
+     * Diccionario#stream} y {@link Diccionario#parallelStream}.
+     */
+    @Test public void testSpliterator() {
+        Assert.assertTrue(diccionario.stream().count() == 0);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(Integer.toString(i), Integer.toString(i));
+        Spliterator<String> s = diccionario.spliterator();
+        Assert.assertTrue(s.getExactSizeIfKnown() == total);
+        Lista<Spliterator<String>> partes = new Lista<Spliterator<String>>();
+        partes.agrega(s);
+        for (int i = 0; i < 4; i++) {
+            Lista<Spliterator<String>> nuevas =
+                new Lista<Spliterator<String>>();
+            for (Spliterator<String> p : partes) {
+                Spliterator<String> q = p.trySplit();
+                if (q != null)
+                    nuevas.agrega(q);
+                nuevas.agrega(p);
+            }
+            partes = nuevas;
+        }
+        Assert.assertTrue(partes.getLongitud() == 16);
+        boolean[] vistos = new boolean[total];
+        for (Spliterator<String> p : partes)
+            p.forEachRemaining(v -> {
+                    int i = Integer.parseInt(v);
+                    Assert.assertFalse(vistos[i]);
+                    vistos[i] = true;
+                });
+        for (boolean v : vistos)
+            Assert.assertTrue(v);
+        long suma = diccionario.parallelStream()
+            .mapToLong(v -> Integer.parseInt(v)).sum();
+        Assert.assertTrue(suma == (long)total * (total - 1) / 2);
+    }
 }
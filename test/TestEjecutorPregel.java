@@ -0,0 +1,94 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.EjecutorPregel;
+import mx.unam.ciencias.edd.Grafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link EjecutorPregel}.
+ */
+public class TestEjecutorPregel {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica. */
+    private Grafica<Integer> grafica;
+
+    /**
+     * Crea una gráfica para cada prueba.
+     */
+    public TestEjecutorPregel() {
+        random = new Random();
+        total = 10 + random.nextInt(200);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+    }
+
+    /**
+     * Prueba unitaria para {@link EjecutorPregel#ejecuta}, calculando
+     * componentes conexas por propagación del mínimo.
+     */
+    @Test public void testComponentes() {
+        Grafica<Integer>.Lote lote = grafica.lote();
+        for (int i = 1; i < total; i++)
+            if (i % 7 != 0)
+                lote.conecta(i-1, i);
+        lote.aplica();
+        int k = 1 + random.nextInt(4);
+        EjecutorPregel<Integer, Integer, Integer> ejecutor =
+            new EjecutorPregel<Integer, Integer, Integer>(grafica, k);
+        Diccionario<Integer, Integer> componentes = ejecutor.ejecuta(
+            (superpaso, vertice, valor, mensajes, mensajero) -> {
+                int minimo = valor;
+                for (Integer m : mensajes)
+                    minimo = Math.min(minimo, m);
+                if (superpaso == 0 || minimo < valor)
+                    mensajero.enviaVecinos(minimo);
+                return minimo;
+            }, e -> e, total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(componentes.get(i) == (i / 7) * 7);
+    }
+
+    /**
+     * Prueba unitaria para {@link EjecutorPregel#ejecuta}, calculando
+     * distancias en número de aristas desde un vértice.
+     */
+    @Test public void testDistancias() {
+        Grafica<Integer>.Lote lote = grafica.lote();
+        for (int i = 1; i < total; i++)
+            lote.conecta(i-1, i);
+        lote.aplica();
+        EjecutorPregel<Integer, Integer, Integer> ejecutor =
+            new EjecutorPregel<Integer, Integer, Integer>(grafica, 3);
+        Diccionario<Integer, Integer> distancias = ejecutor.ejecuta(
+            (superpaso, vertice, valor, mensajes, mensajero) -> {
+                int d = valor;
+                for (Integer m : mensajes)
+                    d = Math.min(d, m);
+                if ((superpaso == 0 && d == 0) || d < valor)
+                    mensajero.enviaVecinos(d + 1);
+                return d;
+            }, e -> e == 0 ? 0 : Integer.MAX_VALUE, 5);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(distancias.get(i) ==
+                              (i <= 4 ? i : Integer.MAX_VALUE));
+        try {
+            ejecutor.ejecuta((superpaso, vertice, valor, mensajes, mensajero) -> {
+                    throw new IllegalStateException();
+                }, e -> e, 1);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+}
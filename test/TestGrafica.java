@@ -1,11 +1,15 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import mx.unam.ciencias.edd.AccionVerticeGrafica;
 import mx.unam.ciencias.edd.Color;
 import mx.unam.ciencias.edd.Grafica;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.NivelComunidades;
+import mx.unam.ciencias.edd.Trayectoria;
 import mx.unam.ciencias.edd.VerticeGrafica;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -704,4 +708,359 @@ public class TestGrafica {
             Assert.assertTrue(lista.equals(dijkstra));
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Grafica#kTrayectoriasMinimas}.
+     */
+    @Test public void testKTrayectoriasMinimas() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i-1, i);
+        Lista<Trayectoria<Integer>> k =
+            grafica.kTrayectoriasMinimas(0, total-1, 5);
+        Assert.assertTrue(k.getLongitud() == 1);
+        Assert.assertTrue(k.getPrimero().getVertices().equals(
+                              grafica.dijkstra(0, total-1)));
+        Assert.assertTrue(k.getPrimero().getPeso() == total-1);
+        try {
+            grafica.kTrayectoriasMinimas(0, total-1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < 5; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < 5; i++)
+            for (int j = i+1; j < 5; j++)
+                grafica.conecta(i, j, 1 + random.nextInt(5));
+        /* En K5 hay 16 trayectorias simples entre dos vértices. */
+        Assert.assertTrue(grafica.kTrayectoriasMinimas(0, 4, 100)
+                          .getLongitud() == 16);
+        total = 7 + random.nextInt(10);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                grafica.conecta(i, j, 1 + random.nextInt(total));
+        int n = 10 + random.nextInt(20);
+        k = grafica.kTrayectoriasMinimas(0, total-1, n);
+        Assert.assertTrue(k.getLongitud() == n);
+        Lista<Lista<VerticeGrafica<Integer>>> vistas =
+            new Lista<Lista<VerticeGrafica<Integer>>>();
+        double anterior = 0;
+        for (Trayectoria<Integer> t : k) {
+            Assert.assertTrue(t.getPeso() >= anterior);
+            anterior = t.getPeso();
+            Lista<VerticeGrafica<Integer>> vertices = t.getVertices();
+            Assert.assertFalse(vistas.contiene(vertices));
+            vistas.agrega(vertices);
+            Assert.assertTrue(vertices.getPrimero().get() == 0);
+            Assert.assertTrue(vertices.getUltimo().get() == total-1);
+            double peso = 0;
+            Lista<Integer> recorridos = new Lista<Integer>();
+            VerticeGrafica<Integer> previo = null;
+            for (VerticeGrafica<Integer> v : vertices) {
+                Assert.assertFalse(recorridos.contiene(v.get()));
+                recorridos.agrega(v.get());
+                if (previo != null)
+                    peso += grafica.getPeso(previo.get(), v.get());
+                previo = v;
+            }
+            Assert.assertTrue(Math.abs(peso - t.getPeso()) < 1e-9);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#lote}.
+     */
+    @Test public void testLote() {
+        Grafica<Integer> otra = new Grafica<Integer>();
+        for (int i = 0; i < total; i++) {
+            grafica.agrega(i);
+            otra.agrega(i);
+        }
+        Grafica<Integer>.Lote lote = grafica.lote();
+        for (int i = 0; i < total; i++) {
+            for (int j = i+1; j < total; j++) {
+                if (random.nextBoolean()) {
+                    lote.conecta(i, j, i + j + 1);
+                    otra.conecta(i, j, i + j + 1);
+                } else {
+                    lote.conecta(j, i);
+                    lote.desconecta(i, j);
+                }
+            }
+        }
+        Assert.assertTrue(grafica.getAristas() == 0);
+        lote.aplica();
+        Assert.assertTrue(lote.getCambios() == 0);
+        Assert.assertTrue(grafica.equals(otra));
+        Assert.assertTrue(grafica.getAristas() == otra.getAristas());
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (otra.sonVecinos(i, j))
+                    Assert.assertTrue(grafica.getPeso(j, i) == i + j + 1);
+        int aristas = grafica.getAristas();
+        if (grafica.sonVecinos(0, 1)) {
+            lote.desconecta(1, 0);
+            lote.conecta(0, 1, 7);
+        } else {
+            lote.conecta(0, 1, 7);
+        }
+        lote.aplica();
+        Assert.assertTrue(grafica.getPeso(1, 0) == 7);
+        Assert.assertTrue(grafica.getAristas() >= aristas);
+        aristas = grafica.getAristas();
+        lote.desconecta(0, 1);
+        lote.desconecta(1, 0);
+        try {
+            lote.aplica();
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(grafica.sonVecinos(0, 1));
+        Assert.assertTrue(grafica.getAristas() == aristas);
+        lote = grafica.lote();
+        lote.conecta(0, total);
+        try {
+            lote.aplica();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#particiona}.
+     */
+    @Test public void testParticiona() {
+        total = 100 + random.nextInt(200);
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Grafica<Integer>.Lote lote = grafica.lote();
+        for (int i = 1; i < total; i++) {
+            lote.conecta(i-1, i);
+            if (i % 10 > 1)
+                lote.conecta(i, (i / 10) * 10);
+        }
+        lote.aplica();
+        int k = 2 + random.nextInt(6);
+        Lista<Lista<VerticeGrafica<Integer>>> particiones =
+            grafica.particiona(k);
+        Assert.assertTrue(particiones.getLongitud() == k);
+        int[] particion = new int[total];
+        int c = 0, p = 0;
+        int capacidad = (total + k - 1) / k;
+        for (Lista<VerticeGrafica<Integer>> lista : particiones) {
+            Assert.assertTrue(lista.getLongitud() <=
+                              capacidad + Math.max(1, capacidad / 20));
+            for (VerticeGrafica<Integer> v : lista)
+                particion[v.get()] = p;
+            c += lista.getLongitud();
+            p++;
+        }
+        Assert.assertTrue(c == total);
+        int corte = 0;
+        for (int i = 0; i < total; i++)
+            for (VerticeGrafica<Integer> v : grafica.vertice(i).vecinos())
+                if (particion[i] != particion[v.get()])
+                    corte++;
+        Assert.assertTrue(corte / 2 < grafica.getAristas() / 2);
+        try {
+            grafica.particiona(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Construye una gráfica con c cliques de tamaño t unidos en un ciclo. */
+    private void cliques(int c, int t) {
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < c * t; i++)
+            grafica.agrega(i);
+        Grafica<Integer>.Lote lote = grafica.lote();
+        for (int k = 0; k < c; k++) {
+            for (int i = 0; i < t; i++)
+                for (int j = i+1; j < t; j++)
+                    lote.conecta(k * t + i, k * t + j);
+            lote.conecta(k * t, ((k + 1) % c) * t + 1);
+        }
+        lote.aplica();
+    }
+
+    /* Revisa que cada clique quede en una sola comunidad del último nivel. */
+    private void revisaCliques(int c, int t) {
+        Lista<NivelComunidades<Integer>> niveles = grafica.comunidades();
+        Assert.assertFalse(niveles.esVacia());
+        double anterior = -1;
+        for (NivelComunidades<Integer> nivel : niveles) {
+            Assert.assertTrue(nivel.getModularidad() > anterior);
+            anterior = nivel.getModularidad();
+        }
+        NivelComunidades<Integer> nivel = niveles.getUltimo();
+        Assert.assertTrue(nivel.getModularidad() > 0.5);
+        Assert.assertTrue(nivel.getNumeroComunidades() > 1);
+        for (int k = 0; k < c; k++)
+            for (int i = 1; i < t; i++)
+                Assert.assertTrue(nivel.getComunidad(k * t) ==
+                                  nivel.getComunidad(k * t + i));
+        int n = 0;
+        for (Lista<VerticeGrafica<Integer>> comunidad : nivel.comunidades())
+            n += comunidad.getLongitud();
+        Assert.assertTrue(n == c * t);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#comunidades}.
+     */
+    @Test public void testComunidades() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Lista<NivelComunidades<Integer>> niveles = grafica.comunidades();
+        Assert.assertTrue(niveles.getLongitud() == 1);
+        Assert.assertTrue(niveles.getPrimero().getNumeroComunidades() == total);
+        Assert.assertTrue(niveles.getPrimero().getModularidad() == 0);
+        int c = 5 + random.nextInt(20);
+        cliques(c, 5 + random.nextInt(5));
+        revisaCliques(c, grafica.getElementos() / c);
+        cliques(600, 8);
+        revisaCliques(600, 8);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Grafica#dfsParalelo(Object,AccionVerticeGrafica,int)}.
+     */
+    @Test public void testDfsParalelo() {
+        int n = 20000 + random.nextInt(total);
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < n; i++) {
+            if (i % 1000 != 0)
+                grafica.conecta(random.nextInt(i), i);
+            int j = random.nextInt(i);
+            if (j < i - 1 && !grafica.sonVecinos(j, i - 1))
+                grafica.conecta(j, i - 1);
+        }
+        boolean[] alcanzables = new boolean[n];
+        grafica.dfs(0, v -> alcanzables[v.get()] = true);
+        for (int hilos = 1; hilos <= 4; hilos++) {
+            AtomicIntegerArray vistos = new AtomicIntegerArray(n);
+            grafica.dfsParalelo(0, v -> vistos.incrementAndGet(v.get()),
+                                hilos);
+            for (int i = 0; i < n; i++)
+                Assert.assertTrue(vistos.get(i) ==
+                                  (alcanzables[i] ? 1 : 0));
+        }
+        try {
+            grafica.dfsParalelo(-1, v -> {});
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            grafica.dfsParalelo(0, v -> {}, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.dfsParalelo(0, v -> {
+                    throw new IllegalStateException();
+                }, 2);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+    /* Regresa el número de aristas no gratuitas de la trayectoria, verificando
+     * que sea una trayectoria de la gráfica entre los elementos recibidos. */
+    private int costo01(Lista<VerticeGrafica<Integer>> trayectoria,
+                        int origen, int destino) {
+        Assert.assertTrue(trayectoria.getPrimero().get() == origen);
+        Assert.assertTrue(trayectoria.getUltimo().get() == destino);
+        int costo = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null) {
+                Assert.assertTrue(grafica.sonVecinos(anterior.get(), v.get()));
+                if (grafica.getPeso(anterior.get(), v.get()) >= 0.5)
+                    costo++;
+            }
+            anterior = v;
+        }
+        return costo;
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#trayectoria01}.
+     */
+    @Test public void testTrayectoria01() {
+        int n = 200 + random.nextInt(200);
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < n; i++) {
+            for (int k = 0; k < 3; k++) {
+                int j = random.nextInt(i);
+                if (!grafica.sonVecinos(i, j))
+                    grafica.conecta(i, j, random.nextBoolean() ? 1 : 1e-6);
+            }
+        }
+        for (int k = 0; k < 20; k++) {
+            int o = random.nextInt(n);
+            int d = random.nextInt(n);
+            Lista<VerticeGrafica<Integer>> t =
+                grafica.trayectoria01(o, d, (a, b) ->
+                                      grafica.getPeso(a, b) < 0.5);
+            Lista<VerticeGrafica<Integer>> dijkstra = grafica.dijkstra(o, d);
+            Assert.assertTrue(costo01(t, o, d) == costo01(dijkstra, o, d));
+        }
+        grafica.agrega(n);
+        Assert.assertTrue(grafica.trayectoria01(0, n, (a, b) -> true)
+                          .esVacia());
+        Assert.assertTrue(grafica.trayectoria01(n, n, (a, b) -> true)
+                          .getLongitud() == 1);
+        try {
+            grafica.trayectoria01(0, n + 1, (a, b) -> true);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} con pesos enteros, que
+     * usa montículos de cubetas.
+     */
+    @Test public void testDijkstraEntero() {
+        int n = 30 + random.nextInt(30);
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        for (int maximo : new int[] { 5, 1 << 20 }) {
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    if (grafica.sonVecinos(i, j))
+                        grafica.desconecta(i, j);
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    if (random.nextInt(5) == 0)
+                        grafica.conecta(i, j, 1 + random.nextInt(maximo));
+            double[] distancia = new double[n];
+            Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+            distancia[0] = 0;
+            for (int k = 0; k < n; k++)
+                for (int u = 0; u < n; u++)
+                    for (int v = 0; v < n; v++)
+                        if (grafica.sonVecinos(u, v))
+                            distancia[v] = Math.min(distancia[v],
+                                                    distancia[u] +
+                                                    grafica.getPeso(u, v));
+            for (int d = 0; d < n; d++) {
+                Lista<VerticeGrafica<Integer>> t = grafica.dijkstra(0, d);
+                if (distancia[d] == Double.POSITIVE_INFINITY) {
+                    Assert.assertTrue(t.esVacia());
+                    continue;
+                }
+                double peso = 0;
+                VerticeGrafica<Integer> anterior = null;
+                for (VerticeGrafica<Integer> v : t) {
+                    if (anterior != null)
+                        peso += grafica.getPeso(anterior.get(), v.get());
+                    anterior = v;
+                }
+                Assert.assertTrue(t.getPrimero().get() == 0);
+                Assert.assertTrue(t.getUltimo().get() == d);
+                Assert.assertTrue(peso == distancia[d]);
+            }
+        }
+    }
 }
@@ -0,0 +1,256 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.GraficaDirigida;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.NivelComunidades;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaDirigida}.
+ */
+public class TestGraficaDirigida {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica. */
+    private GraficaDirigida<Integer> grafica;
+
+    /**
+     * Crea una gráfica dirigida para cada prueba.
+     */
+    public TestGraficaDirigida() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        grafica = new GraficaDirigida<Integer>(random.nextBoolean());
+    }
+
+    /* Nos dice si el vértice a aparece antes que b en la lista. */
+    private static boolean antes(Lista<VerticeGrafica<Integer>> lista,
+                                 int a, int b) {
+        for (VerticeGrafica<Integer> v : lista) {
+            if (v.get() == a)
+                return true;
+            if (v.get() == b)
+                return false;
+        }
+        return false;
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#conecta}.
+     */
+    @Test public void testConecta() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++) {
+            grafica.conecta(i-1, i);
+            Assert.assertTrue(grafica.sonVecinos(i-1, i));
+            Assert.assertFalse(grafica.sonVecinos(i, i-1));
+            Assert.assertTrue(grafica.getAristas() == i);
+        }
+        grafica.conecta(total-1, 0, 3);
+        Assert.assertTrue(grafica.sonVecinos(total-1, 0));
+        Assert.assertTrue(grafica.getPeso(total-1, 0) == 3);
+        if (total > 2) {
+            grafica.conecta(1, 0);
+            Assert.assertTrue(grafica.getAristas() == total + 1);
+        }
+        try {
+            grafica.conecta(0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#desconecta}.
+     */
+    @Test public void testDesconecta() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++) {
+            grafica.conecta(i-1, i);
+            grafica.conecta(i, i-1);
+        }
+        for (int i = 1; i < total; i++) {
+            grafica.desconecta(i-1, i);
+            Assert.assertFalse(grafica.sonVecinos(i-1, i));
+            Assert.assertTrue(grafica.sonVecinos(i, i-1));
+            Assert.assertTrue(grafica.getGradoEntrada(i) == (i + 1 < total ? 1 : 0));
+        }
+        Assert.assertTrue(grafica.getAristas() == total - 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#elimina}.
+     */
+    @Test public void testElimina() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i, 0);
+        grafica.elimina(0);
+        Assert.assertFalse(grafica.contiene(0));
+        Assert.assertTrue(grafica.getAristas() == 0);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(grafica.vertice(i).getGrado() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#entrantes} y {@link
+     * GraficaDirigida#getGradoEntrada}.
+     */
+    @Test public void testEntrantes() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i, 0);
+        Assert.assertTrue(grafica.getGradoEntrada(0) == total - 1);
+        Assert.assertTrue(grafica.vertice(0).getGrado() == 0);
+        Lista<VerticeGrafica<Integer>> entrantes = grafica.entrantes(0);
+        Assert.assertTrue(entrantes.getLongitud() == total - 1);
+        for (VerticeGrafica<Integer> v : entrantes)
+            Assert.assertTrue(grafica.sonVecinos(v.get(), 0));
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(grafica.getGradoEntrada(i) == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#ordenTopologico}.
+     */
+    @Test public void testOrdenTopologico() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (random.nextInt(4) == 0)
+                    grafica.conecta(j, i);
+        Lista<VerticeGrafica<Integer>> orden = grafica.ordenTopologico();
+        Assert.assertTrue(orden.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (grafica.sonVecinos(j, i))
+                    Assert.assertTrue(antes(orden, j, i));
+        for (int i = 1; i < total; i++)
+            if (!grafica.sonVecinos(i, i-1))
+                grafica.conecta(i, i-1);
+        grafica.conecta(0, total-1);
+        try {
+            grafica.ordenTopologico();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * GraficaDirigida#componentesFuertementeConexas}.
+     */
+    @Test public void testComponentesFuertementeConexas() {
+        total = 2000 + random.nextInt(1000);
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i-1, i);
+        Assert.assertTrue(grafica.componentesFuertementeConexas()
+                          .getLongitud() == total);
+        Assert.assertFalse(grafica.esConexa());
+        grafica.conecta(total-1, 0);
+        Lista<Lista<VerticeGrafica<Integer>>> componentes =
+            grafica.componentesFuertementeConexas();
+        Assert.assertTrue(componentes.getLongitud() == 1);
+        Assert.assertTrue(componentes.getPrimero().getLongitud() == total);
+        Assert.assertTrue(grafica.esConexa());
+        grafica.desconecta(total/2 - 1, total/2);
+        grafica.conecta(total/2 - 1, 0);
+        grafica.conecta(total-1, total/2);
+        componentes = grafica.componentesFuertementeConexas();
+        Assert.assertTrue(componentes.getLongitud() == 2);
+        for (Lista<VerticeGrafica<Integer>> c : componentes)
+            Assert.assertTrue(c.getLongitud() == total/2 ||
+                              c.getLongitud() == total - total/2);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#dijkstra}.
+     */
+    @Test public void testDijkstra() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Lista<VerticeGrafica<Integer>> lista =
+            new Lista<VerticeGrafica<Integer>>();
+        for (int i = 1; i < total; i++) {
+            grafica.conecta(i-1, i);
+            grafica.conecta(i, 0, 1);
+        }
+        for (int i = 0; i < total; i++) {
+            lista.agrega(grafica.vertice(i));
+            Assert.assertTrue(lista.equals(grafica.dijkstra(0, i)));
+            Assert.assertTrue(lista.equals(grafica.trayectoriaMinima(0, i)));
+        }
+        if (total > 2)
+            Assert.assertTrue(grafica.dijkstra(total-1, 1).getLongitud() == 3);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#comunidades}.
+     */
+    @Test public void testComunidades() {
+        for (int i = 0; i < 6; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < 6; i += 3) {
+            grafica.conecta(i, i+1);
+            grafica.conecta(i+1, i+2);
+            grafica.conecta(i+2, i);
+        }
+        grafica.conecta(2, 3);
+        NivelComunidades<Integer> nivel = grafica.comunidades().getUltimo();
+        Assert.assertTrue(nivel.getNumeroComunidades() == 2);
+        Assert.assertTrue(nivel.getModularidad() > 0);
+        for (int i = 0; i < 6; i += 3) {
+            Assert.assertTrue(nivel.getComunidad(i) ==
+                              nivel.getComunidad(i+1));
+            Assert.assertTrue(nivel.getComunidad(i) ==
+                              nivel.getComunidad(i+2));
+        }
+        Assert.assertTrue(nivel.getComunidad(0) != nivel.getComunidad(3));
+        int c = 600, t = 8;
+        grafica = new GraficaDirigida<Integer>(random.nextBoolean());
+        for (int i = 0; i < c * t; i++)
+            grafica.agrega(i);
+        for (int k = 0; k < c; k++) {
+            for (int i = 0; i < t; i++)
+                for (int j = i + 1; j < t; j++)
+                    grafica.conecta(k * t + i, k * t + j);
+            if (k > 0)
+                grafica.conecta(k * t, k * t - 1);
+        }
+        nivel = grafica.comunidades().getUltimo();
+        Assert.assertTrue(nivel.getModularidad() > 0.5);
+        for (int k = 0; k < c; k++)
+            for (int i = 1; i < t; i++)
+                Assert.assertTrue(nivel.getComunidad(k * t) ==
+                                  nivel.getComunidad(k * t + i));
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaDirigida#toString}.
+     */
+    @Test public void testToString() {
+        grafica.agrega(1);
+        grafica.agrega(2);
+        grafica.conecta(1, 2);
+        grafica.conecta(2, 1);
+        String s = grafica.toString();
+        Assert.assertTrue(s.contains("(1, 2)"));
+        Assert.assertTrue(s.contains("(2, 1)"));
+    }
+}
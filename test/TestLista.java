@@ -1,8 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.stream.Collectors;
 import mx.unam.ciencias.edd.Coleccion;
 import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.IteradorLista;
@@ -513,6 +516,71 @@ public class TestLista {
         } catch (ExcepcionIndiceInvalido eii) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#get} e {@link Lista#inserta}
+     * intercalados con otras operaciones, con y sin índice de saltos.
+     */
+    @Test public void testGetAccesos() {
+        total = 1000 + random.nextInt(1000);
+        ArrayList<Integer> modelo = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            lista.agregaFinal(i);
+            modelo.add(i);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == i);
+        for (int i = total - 1; i >= 0; i -= 3)
+            Assert.assertTrue(lista.get(i) == i);
+        for (int r = 0; r < 5000; r++) {
+            int i = random.nextInt(modelo.size());
+            switch (random.nextInt(8)) {
+            case 0:
+                lista.agregaInicio(r + total);
+                modelo.add(0, r + total);
+                break;
+            case 1:
+                lista.agregaFinal(r + total);
+                modelo.add(r + total);
+                break;
+            case 2:
+                lista.inserta(i, r + total);
+                modelo.add(i, r + total);
+                break;
+            case 3:
+                lista.elimina(modelo.remove(i));
+                break;
+            case 4:
+                Assert.assertTrue(lista.eliminaPrimero()
+                                  .equals(modelo.remove(0)));
+                break;
+            case 5:
+                Assert.assertTrue(lista.eliminaUltimo()
+                                  .equals(modelo.remove(modelo.size() - 1)));
+                break;
+            case 6:
+                lista.setSalto(random.nextInt(50));
+                break;
+            default:
+                for (int j = 0; j < 10 && i + j < modelo.size(); j++)
+                    Assert.assertTrue(lista.get(i + j)
+                                      .equals(modelo.get(i + j)));
+                break;
+            }
+            if (modelo.isEmpty()) {
+                lista.agregaFinal(r);
+                modelo.add(r);
+            }
+            Assert.assertTrue(lista.getLongitud() == modelo.size());
+        }
+        for (int i = 0; i < modelo.size(); i++)
+            Assert.assertTrue(lista.get(i).equals(modelo.get(i)));
+        listaValida(lista);
+        try {
+            lista.setSalto(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Lista#indiceDe}.
      */
@@ -743,6 +811,69 @@ public class TestLista {
         listaValida(ordenada);
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#ordena(Comparator)}.
+     */
+    @Test public void testOrdena() {
+        total = 1000 + random.nextInt(1000);
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(random.nextInt(total / 10));
+        Lista<Integer> copia = lista.copia();
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.getLongitud() == total);
+        Assert.assertTrue(lista.equals(Lista.mergeSort(copia)));
+        int a = lista.getPrimero();
+        for (int e : lista) {
+            Assert.assertTrue(a <= e);
+            a = e;
+        }
+        listaValida(lista);
+        /* Prueba estabilidad con corridas crecientes y decrecientes. */
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < total; i++) {
+            int v = (i / 50) % 2 == 0 ? random.nextInt(10) : 50 - i % 50;
+            pares.agrega(new Par(v, i));
+        }
+        Lista.ordena(pares);
+        Assert.assertTrue(pares.getLongitud() == total);
+        Par u = null;
+        for (Par par : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+        /* Una lista casi ordenada se ordena en tiempo casi lineal. */
+        lista.limpia();
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(i);
+        lista.agregaFinal(-1);
+        lista.agregaInicio(total);
+        int[] comparaciones = { 0 };
+        lista.ordena((x, y) -> {
+                comparaciones[0]++;
+                return x.compareTo(y);
+            });
+        Assert.assertTrue(comparaciones[0] < 3 * total);
+        Assert.assertTrue(lista.getPrimero() == -1);
+        Assert.assertTrue(lista.getUltimo() == total);
+        listaValida(lista);
+        lista.limpia();
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        comparaciones[0] = 0;
+        lista.ordena((x, y) -> {
+                comparaciones[0]++;
+                return x.compareTo(y);
+            });
+        Assert.assertTrue(comparaciones[0] < 3 * total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == i);
+        listaValida(lista);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */
@@ -768,4 +899,21 @@ public class TestLista {
         int o = lista.getPrimero() - 10;
         Assert.assertFalse(Lista.busquedaLineal(lista, o));
     }
+
+    /**
+     * Prueba unitaria para {@link Lista#stream} y {@link
+     * Lista#parallelStream}.
+     */
+    @Test public void testStream() {
+        Assert.assertTrue(lista.stream().count() == 0);
+        for (int i = 0; i < total; i++)
+            lista.agrega(random.nextInt(total));
+        Assert.assertTrue(lista.spliterator().getExactSizeIfKnown() == total);
+        List<Integer> l =
+            lista.parallelStream().collect(Collectors.toList());
+        Assert.assertTrue(l.size() == total);
+        int i = 0;
+        for (Integer e : lista)
+            Assert.assertTrue(e.equals(l.get(i++)));
+    }
 }
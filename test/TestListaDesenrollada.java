@@ -0,0 +1,238 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.ListaDesenrollada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaDesenrollada}.
+ */
+public class TestListaDesenrollada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La lista. */
+    private ListaDesenrollada<Integer> lista;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos para nuestra lista, y una lista.
+     */
+    public TestListaDesenrollada() {
+        random = new Random();
+        total = 500 + random.nextInt(500);
+        lista = new ListaDesenrollada<Integer>();
+    }
+
+    /* Valida la lista contra el modelo, en ambas direcciones. */
+    private void valida(ArrayList<Integer> modelo) {
+        Assert.assertTrue(lista.getLongitud() == modelo.size());
+        Assert.assertTrue(lista.getElementos() == modelo.size());
+        Assert.assertTrue(lista.esVacia() == modelo.isEmpty());
+        IteradorLista<Integer> i = lista.iteradorLista();
+        for (Integer e : modelo)
+            Assert.assertTrue(e.equals(i.next()));
+        Assert.assertFalse(i.hasNext());
+        for (int j = modelo.size() - 1; j >= 0; j--)
+            Assert.assertTrue(modelo.get(j).equals(i.previous()));
+        Assert.assertFalse(i.hasPrevious());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#agregaFinal} y {@link
+     * ListaDesenrollada#agregaInicio}.
+     */
+    @Test public void testAgrega() {
+        ArrayList<Integer> modelo = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            if (random.nextBoolean()) {
+                lista.agregaFinal(i);
+                modelo.add(i);
+            } else {
+                lista.agregaInicio(i);
+                modelo.add(0, i);
+            }
+            Assert.assertTrue(lista.getPrimero().equals(modelo.get(0)));
+            Assert.assertTrue(lista.getUltimo().equals(modelo.get(i)));
+        }
+        valida(modelo);
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.agregaInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#inserta} y {@link
+     * ListaDesenrollada#get}.
+     */
+    @Test public void testInserta() {
+        ArrayList<Integer> modelo = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int j = random.nextInt(modelo.size() + 3) - 1;
+            lista.inserta(j, i);
+            modelo.add(Math.max(0, Math.min(j, modelo.size())), i);
+        }
+        valida(modelo);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i).equals(modelo.get(i)));
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#elimina}, {@link
+     * ListaDesenrollada#eliminaPrimero} y {@link
+     * ListaDesenrollada#eliminaUltimo}.
+     */
+    @Test public void testElimina() {
+        ArrayList<Integer> modelo = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            lista.agrega(i);
+            modelo.add(i);
+        }
+        while (!modelo.isEmpty()) {
+            switch (random.nextInt(4)) {
+            case 0:
+                Assert.assertTrue(lista.eliminaPrimero()
+                                  .equals(modelo.remove(0)));
+                break;
+            case 1:
+                Assert.assertTrue(lista.eliminaUltimo()
+                                  .equals(modelo.remove(modelo.size() - 1)));
+                break;
+            case 2:
+                int j = random.nextInt(modelo.size() + 1);
+                lista.inserta(j, total + j);
+                modelo.add(Math.min(j, modelo.size()), total + j);
+                lista.elimina(total + j);
+                modelo.remove((Integer)(total + j));
+                break;
+            default:
+                lista.elimina(modelo.remove(random.nextInt(modelo.size())));
+                break;
+            }
+            if (random.nextInt(50) == 0)
+                valida(modelo);
+        }
+        valida(modelo);
+        lista.elimina(0);
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#contiene} y {@link
+     * ListaDesenrollada#indiceDe}.
+     */
+    @Test public void testContiene() {
+        for (int i = 0; i < total; i++)
+            lista.agrega(2 * i);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(lista.contiene(2 * i));
+            Assert.assertFalse(lista.contiene(2 * i + 1));
+            Assert.assertTrue(lista.indiceDe(2 * i) == i);
+            Assert.assertTrue(lista.indiceDe(2 * i + 1) == -1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#reversa} y {@link
+     * ListaDesenrollada#copia}.
+     */
+    @Test public void testReversaCopia() {
+        for (int i = 0; i < total; i++)
+            lista.inserta(random.nextInt(i + 1), i);
+        ListaDesenrollada<Integer> reversa = lista.reversa();
+        ListaDesenrollada<Integer> copia = lista.copia();
+        Assert.assertFalse(copia == lista);
+        Assert.assertTrue(copia.equals(lista));
+        Assert.assertTrue(reversa.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(reversa.get(i).equals(lista.get(total - 1 - i)));
+        copia.agregaInicio(-1);
+        Assert.assertFalse(copia.equals(lista));
+        Assert.assertTrue(copia.getLongitud() == total + 1);
+        Assert.assertTrue(lista.getPrimero() != -1);
+        Assert.assertTrue(reversa.reversa().equals(lista));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#limpia} y {@link
+     * ListaDesenrollada#toString}.
+     */
+    @Test public void testLimpiaToString() {
+        Assert.assertTrue(lista.toString().equals("[]"));
+        lista.agrega(1);
+        lista.agrega(2);
+        lista.agregaInicio(0);
+        Assert.assertTrue(lista.toString().equals("[0, 1, 2]"));
+        lista.limpia();
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.toString().equals("[]"));
+        try {
+            lista.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertTrue(lista.equals(new ListaDesenrollada<Integer>()));
+    }
+
+    /**
+     * Prueba unitaria para los iteradores de {@link ListaDesenrollada}.
+     */
+    @Test public void testIteradores() {
+        Iterator<Integer> i = lista.iterator();
+        Assert.assertFalse(i.hasNext());
+        try {
+            i.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int j = 0; j < total; j++)
+            lista.agrega(j);
+        IteradorLista<Integer> il = lista.iteradorLista();
+        il.end();
+        Assert.assertFalse(il.hasNext());
+        for (int j = total - 1; j >= total / 2; j--)
+            Assert.assertTrue(il.previous() == j);
+        for (int j = total / 2; j < total; j++)
+            Assert.assertTrue(il.next() == j);
+        il.start();
+        Assert.assertFalse(il.hasPrevious());
+        Assert.assertTrue(il.next() == 0);
+        Assert.assertTrue(il.previous() == 0);
+        try {
+            il.previous();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -169,4 +169,34 @@ public class TestMonticuloArreglo {
         for (int i = 0; i < arreglo.length; i++)
             Assert.assertTrue(monticulo.get(i).equals(arreglo[i]));
     }
+
+    /**
+     * Prueba unitaria para {@link MonticuloArreglo} en modo compacto.
+     */
+    @Test public void testCompacto() {
+        Lista<Indexable<String>> lista = new Lista<Indexable<String>>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(arreglo[i]);
+        monticulo = new MonticuloArreglo<Indexable<String>>(lista, total, true);
+        Assert.assertTrue(monticulo.esCompacto());
+        while (!monticulo.esVacia()) {
+            int n = monticulo.getElementos();
+            Indexable<String> idx = monticulo.get(random.nextInt(n));
+            idx.setValor(random.nextBoolean() ? idx.getValor() / 10.0 :
+                         idx.getValor() * 10.0);
+            monticulo.reordena(idx);
+            Indexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertTrue(monticulo.getElementos() == --total);
+            for (int i = 0; i < monticulo.getElementos(); i++) {
+                Indexable<String> b = monticulo.get(i);
+                Assert.assertTrue(b.getIndice() == i);
+                Assert.assertTrue(a.getValor() <= b.getValor());
+            }
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
 }
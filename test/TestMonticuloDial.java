@@ -0,0 +1,89 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Indexable;
+import mx.unam.ciencias.edd.MonticuloDial;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloDial}. Las
+ * pruebas comunes a los montículos de cubetas están en {@link
+ * UtilTestMonticuloCubetas}.
+ */
+public class TestMonticuloDial {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El peso máximo. */
+    private int pesoMaximo;
+
+    /**
+     * Crea un número total de elementos y un peso máximo para cada prueba.
+     */
+    public TestMonticuloDial() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        pesoMaximo = 1 + random.nextInt(100);
+    }
+
+    /* Construye una cola de Dial vacía con el peso máximo de la prueba. */
+    private MonticuloDial<Indexable<Integer>> nueva() {
+        return new MonticuloDial<Indexable<Integer>>(
+            i -> (long)i.getValor(), pesoMaximo);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDial#agrega}, {@link
+     * MonticuloDial#elimina} y {@link MonticuloDial#reordena} con llaves
+     * monótonas, como en el algoritmo de Dijkstra.
+     */
+    @Test public void testMonotono() {
+        UtilTestMonticuloCubetas.monotono(this::nueva, total, pesoMaximo);
+    }
+
+    /**
+     * Prueba unitaria para las llaves inválidas de {@link MonticuloDial},
+     * incluyendo las que rebasan la última llave mínima más el peso máximo.
+     */
+    @Test public void testLlavesInvalidas() {
+        UtilTestMonticuloCubetas.llavesInvalidas(this::nueva);
+        MonticuloDial<Indexable<Integer>> monticulo = nueva();
+        Indexable<Integer> a = new Indexable<Integer>(0, pesoMaximo - 1);
+        monticulo.agrega(a);
+        monticulo.agrega(new Indexable<Integer>(1, pesoMaximo));
+        try {
+            monticulo.agrega(new Indexable<Integer>(2, pesoMaximo + 1));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(monticulo.elimina() == a);
+        Indexable<Integer> b = monticulo.get(0);
+        b.setValor(2 * pesoMaximo);
+        try {
+            monticulo.reordena(b);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        b.setValor(2 * pesoMaximo - 1);
+        monticulo.reordena(b);
+        Assert.assertTrue(monticulo.elimina() == b);
+        Assert.assertTrue(monticulo.getPesoMaximo() == pesoMaximo);
+        try {
+            new MonticuloDial<Indexable<Integer>>(i -> 0, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDial#get}.
+     */
+    @Test public void testGet() {
+        UtilTestMonticuloCubetas.get(this::nueva, total, pesoMaximo);
+    }
+}
@@ -0,0 +1,160 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Indexable;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloEmparejamiento;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloEmparejamiento}.
+ */
+public class TestMonticuloEmparejamiento {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* Los elementos del montículo. */
+    private Lista<Indexable<String>> lista;
+    /* El montículo de emparejamiento. */
+    private MonticuloEmparejamiento<Indexable<String>> monticulo;
+
+    /* Verifica que los índices de los elementos correspondan con su
+     * posición. */
+    private static void
+    verificaIndices(MonticuloEmparejamiento<Indexable<String>> monticulo) {
+        for (int i = 0; i < monticulo.getElementos(); i++)
+            Assert.assertTrue(monticulo.get(i).getIndice() == i);
+    }
+
+    /* Vacía el montículo, verificando que los elementos salgan en orden. */
+    private void vaciaEnOrden() {
+        double ultimo = Double.NEGATIVE_INFINITY;
+        int n = monticulo.getElementos();
+        while (!monticulo.esVacia()) {
+            Indexable<String> idx = monticulo.elimina();
+            Assert.assertTrue(idx.getIndice() == -1);
+            Assert.assertTrue(idx.getValor() >= ultimo);
+            ultimo = idx.getValor();
+            Assert.assertTrue(monticulo.getElementos() == --n);
+            verificaIndices(monticulo);
+        }
+    }
+
+    /**
+     * Crea un montículo de emparejamiento para cada prueba.
+     */
+    public TestMonticuloEmparejamiento() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new Lista<Indexable<String>>();
+        for (int i = 0; i < total; i++) {
+            String s = Integer.toString(random.nextInt());
+            lista.agrega(new Indexable<String>(s, random.nextDouble()));
+        }
+        monticulo = new MonticuloEmparejamiento<Indexable<String>>(lista);
+        verificaIndices(monticulo);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MonticuloEmparejamiento#MonticuloEmparejamiento}.
+     */
+    @Test public void testConstructores() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        MonticuloEmparejamiento<Indexable<String>> m =
+            new MonticuloEmparejamiento<Indexable<String>>(lista, total);
+        Assert.assertTrue(m.getElementos() == total);
+        verificaIndices(m);
+        m = new MonticuloEmparejamiento<Indexable<String>>();
+        Assert.assertTrue(m.esVacia());
+        Assert.assertTrue(m.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#agrega} y {@link
+     * MonticuloEmparejamiento#elimina}.
+     */
+    @Test public void testAgregaElimina() {
+        for (int i = 0; i < 3 * total; i++) {
+            String s = Integer.toString(random.nextInt());
+            Indexable<String> idx =
+                new Indexable<String>(s, random.nextDouble());
+            monticulo.agrega(idx);
+            Assert.assertTrue(monticulo.get(idx.getIndice()) == idx);
+            Assert.assertTrue(monticulo.getElementos() == total + i + 1);
+        }
+        verificaIndices(monticulo);
+        vaciaEnOrden();
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            monticulo.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#reordena}, con
+     * valores que disminuyen, y {@link MonticuloEmparejamiento#aumenta}, con
+     * valores que aumentan.
+     */
+    @Test public void testReordena() {
+        for (int i = 0; i < total; i++)
+            monticulo.agrega(new Indexable<String>("x", random.nextDouble()));
+        for (int i = 0; i < total / 2; i++)
+            monticulo.elimina();
+        for (int i = 0; i < 10 * total; i++) {
+            int n = monticulo.getElementos();
+            Indexable<String> idx = monticulo.get(random.nextInt(n));
+            if (random.nextBoolean()) {
+                idx.setValor(idx.getValor() * 10.0);
+                monticulo.aumenta(idx);
+            } else {
+                idx.setValor(idx.getValor() * 0.1);
+                monticulo.reordena(idx);
+            }
+            verificaIndices(monticulo);
+            if (i % 10 == 0) {
+                Indexable<String> minimo = monticulo.elimina();
+                for (int j = 0; j < monticulo.getElementos(); j++)
+                    Assert.assertTrue(minimo.getValor() <=
+                                      monticulo.get(j).getValor());
+                monticulo.agrega(minimo);
+            }
+        }
+        Indexable<String> fuera = new Indexable<String>("y", 0);
+        monticulo.reordena(fuera);
+        monticulo.reordena(null);
+        monticulo.aumenta(fuera);
+        monticulo.aumenta(null);
+        Assert.assertTrue(fuera.getIndice() == -1);
+        vaciaEnOrden();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#get}.
+     */
+    @Test public void testGet() {
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (Indexable<String> idx : lista)
+            Assert.assertTrue(monticulo.get(idx.getIndice()) == idx);
+    }
+}
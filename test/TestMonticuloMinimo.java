@@ -1,8 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
-import java.util.NoSuchElementException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
 import mx.unam.ciencias.edd.ComparableIndexable;
 import mx.unam.ciencias.edd.Indexable;
 import mx.unam.ciencias.edd.Lista;
@@ -349,4 +350,87 @@ public class TestMonticuloMinimo {
         Lista<Integer> control = Lista.mergeSort(lista);
         Assert.assertTrue(ordenada.equals(control));
     }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#spliterator}.
+     */
+    @Test public void testSpliterator() {
+        Spliterator<Indexable<String>> s = monticulo.spliterator();
+        Assert.assertTrue(s.getExactSizeIfKnown() == total);
+        Spliterator<Indexable<String>> p = s.trySplit();
+        Assert.assertTrue(p.getExactSizeIfKnown() +
+                          s.getExactSizeIfKnown() == total);
+        Lista<Indexable<String>> l = new Lista<Indexable<String>>();
+        p.forEachRemaining(l::agrega);
+        s.forEachRemaining(l::agrega);
+        int i = 0;
+        for (Indexable<String> e : l)
+            Assert.assertTrue(e == monticulo.get(i++));
+        Assert.assertTrue(monticulo.parallelStream().count() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#MonticuloMinimo(int)} y
+     * {@link MonticuloMinimo#MonticuloMinimo(Iterable,int,int)}, con
+     * montículos de aridad 4 y 8.
+     */
+    @Test public void testAridad() {
+        for (int aridad = 4; aridad <= 8; aridad *= 2) {
+            MonticuloMinimo<Indexable<String>> m =
+                new MonticuloMinimo<Indexable<String>>(monticulo, total,
+                                                       aridad);
+            Assert.assertTrue(m.getAridad() == aridad);
+            verificaAridad(m);
+            m = new MonticuloMinimo<Indexable<String>>(aridad);
+            for (int i = 0; i < total; i++) {
+                String s = Integer.toString(i);
+                m.agrega(new Indexable<String>(s, random.nextDouble()));
+                verificaAridad(m);
+            }
+            for (int i = 0; i < total; i++) {
+                Indexable<String> idx = m.get(random.nextInt(total));
+                double factor = random.nextBoolean() ? 10.0 : 0.1;
+                idx.setValor(idx.getValor() * factor);
+                m.reordena(idx);
+                verificaAridad(m);
+            }
+            double ultimo = Double.NEGATIVE_INFINITY;
+            while (!m.esVacia()) {
+                Indexable<String> idx = m.elimina();
+                Assert.assertTrue(idx.getIndice() == -1);
+                Assert.assertTrue(idx.getValor() >= ultimo);
+                ultimo = idx.getValor();
+                verificaAridad(m);
+            }
+        }
+        Assert.assertTrue(monticulo.getAridad() == 2);
+        Lista<Indexable<String>> vacia = new Lista<Indexable<String>>();
+        for (int aridad = 2; aridad <= 8; aridad *= 2) {
+            MonticuloMinimo<Indexable<String>> m =
+                new MonticuloMinimo<Indexable<String>>(vacia, 0, aridad);
+            Assert.assertTrue(m.esVacia());
+            m.agrega(new Indexable<String>("a", 1));
+            Assert.assertTrue(m.elimina().getValor() == 1);
+        }
+        try {
+            new MonticuloMinimo<Indexable<String>>(3);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Verifica que un montículo de cualquier aridad cumpla con sus
+     * propiedades. */
+    private static void
+    verificaAridad(MonticuloMinimo<Indexable<String>> monticulo) {
+        int n = monticulo.getElementos();
+        int d = monticulo.getAridad();
+        for (int i = 0; i < n; i++) {
+            Indexable<String> e = monticulo.get(i);
+            Assert.assertTrue(e.getIndice() == i);
+            if (i > 0) {
+                Indexable<String> papa = monticulo.get((i - 1) / d);
+                Assert.assertTrue(papa.compareTo(e) <= 0);
+            }
+        }
+    }
 }
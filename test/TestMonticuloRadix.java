@@ -0,0 +1,73 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Indexable;
+import mx.unam.ciencias.edd.MonticuloRadix;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloRadix}. Las
+ * pruebas comunes a los montículos de cubetas están en {@link
+ * UtilTestMonticuloCubetas}.
+ */
+public class TestMonticuloRadix {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+
+    /**
+     * Crea un número total de elementos para cada prueba.
+     */
+    public TestMonticuloRadix() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+    }
+
+    /* Construye un montículo radix vacío. */
+    private MonticuloRadix<Indexable<Integer>> nuevo() {
+        return new MonticuloRadix<Indexable<Integer>>(
+            i -> (long)i.getValor());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#agrega}, {@link
+     * MonticuloRadix#elimina} y {@link MonticuloRadix#reordena} con llaves
+     * monótonas, como en el algoritmo de Dijkstra.
+     */
+    @Test public void testMonotono() {
+        UtilTestMonticuloCubetas.monotono(this::nuevo, total, 1 << 20);
+    }
+
+    /**
+     * Prueba unitaria para las llaves inválidas de {@link MonticuloRadix}.
+     * Las llaves muy grandes sí son válidas.
+     */
+    @Test public void testLlavesInvalidas() {
+        UtilTestMonticuloCubetas.llavesInvalidas(this::nuevo);
+        MonticuloRadix<Indexable<Integer>> monticulo = nuevo();
+        Indexable<Integer> a = new Indexable<Integer>(0, 10);
+        Indexable<Integer> b = new Indexable<Integer>(1, 20);
+        monticulo.agrega(a);
+        monticulo.agrega(b);
+        b.setValor(1L << 52);
+        monticulo.reordena(b);
+        Assert.assertTrue(monticulo.elimina() == a);
+        Assert.assertTrue(monticulo.elimina() == b);
+        Assert.assertTrue(monticulo.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#get}.
+     */
+    @Test public void testGet() {
+        UtilTestMonticuloCubetas.get(this::nuevo, total, total);
+    }
+}
@@ -0,0 +1,209 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.Stream;
+import mx.unam.ciencias.edd.Codificador;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.OrdenamientoExterno;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenamientoExterno}.
+ */
+public class TestOrdenamientoExterno {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Codificador de pares de enteros largos. */
+    private static class CodificadorPar implements Codificador<long[]> {
+        @Override public int tamaño(long[] registro) {
+            return 16;
+        }
+        @Override public void codifica(long[] registro, ByteBuffer buffer) {
+            buffer.putLong(registro[0]);
+            buffer.putLong(registro[1]);
+        }
+        @Override public long[] decodifica(ByteBuffer buffer) {
+            return new long[] { buffer.getLong(), buffer.getLong() };
+        }
+    }
+
+    /* Codificador de cadenas en UTF-8. */
+    private static class CodificadorCadena implements Codificador<String> {
+        @Override public int tamaño(String registro) {
+            return registro.getBytes(StandardCharsets.UTF_8).length;
+        }
+        @Override public void codifica(String registro, ByteBuffer buffer) {
+            buffer.put(registro.getBytes(StandardCharsets.UTF_8));
+        }
+        @Override public String decodifica(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de registros. */
+    private int total;
+    /* El directorio temporal. */
+    private Path directorio;
+
+    /**
+     * Crea un generador de números aleatorios y un número total de registros
+     * para cada prueba.
+     */
+    public TestOrdenamientoExterno() {
+        random = new Random();
+        total = 20000 + random.nextInt(10000);
+    }
+
+    /* Borra el directorio temporal. */
+    private void borra() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : (Iterable<Path>)archivos::iterator)
+                Files.delete(archivo);
+        }
+        Files.delete(directorio);
+    }
+
+    /* Regresa el número de archivos en el directorio temporal. */
+    private int archivos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return (int)archivos.count();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena(Iterator,Path)}.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    @Test public void testOrdena() throws IOException {
+        directorio = Files.createTempDirectory("edd");
+        try {
+            Lista<long[]> registros = new Lista<long[]>();
+            for (int i = 0; i < total; i++)
+                registros.agrega(new long[] { random.nextInt(100), i });
+            OrdenamientoExterno<long[]> ordenamiento =
+                new OrdenamientoExterno<long[]>(new CodificadorPar(),
+                                                (a, b) -> Long.compare(a[0],
+                                                                       b[0]));
+            ordenamiento.setDirectorio(directorio);
+            ordenamiento.setMemoria(1 << 14);
+            Path salida = directorio.resolve("salida");
+            ordenamiento.ordena(registros.iterator(), salida);
+            Assert.assertTrue(ordenamiento.getCorridas() > 2);
+            Assert.assertTrue(archivos() == 1);
+            Lista<long[]> ordenados = new Lista<long[]>();
+            ordenamiento.lee(salida, ordenados::agrega);
+            Assert.assertTrue(ordenados.getLongitud() == total);
+            long[] anterior = null;
+            for (long[] r : ordenados) {
+                if (anterior != null)
+                    Assert.assertTrue(anterior[0] < r[0] ||
+                                      (anterior[0] == r[0] &&
+                                       anterior[1] < r[1]));
+                anterior = r;
+            }
+        } finally {
+            borra();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena(Path,Path)}.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    @Test public void testOrdenaArchivo() throws IOException {
+        directorio = Files.createTempDirectory("edd");
+        try {
+            String[] cadenas = new String[total];
+            for (int i = 0; i < total; i++) {
+                char[] c = new char[1 + random.nextInt(20)];
+                for (int j = 0; j < c.length; j++)
+                    c[j] = (char)('a' + random.nextInt(26));
+                cadenas[i] = new String(c);
+            }
+            cadenas[0] = "ñandú";
+            cadenas[1] = new String(new char[100000]).replace('\0', 'z');
+            OrdenamientoExterno<String> ordenamiento =
+                new OrdenamientoExterno<String>(new CodificadorCadena(),
+                                                (a, b) -> a.compareTo(b));
+            ordenamiento.setDirectorio(directorio);
+            ordenamiento.setMemoria(1 << 15);
+            Path archivo = directorio.resolve("cadenas");
+            ordenamiento.escribe(Arrays.asList(cadenas).iterator(), archivo);
+            ordenamiento.ordena(archivo, archivo);
+            Assert.assertTrue(archivos() == 1);
+            Arrays.sort(cadenas);
+            Lista<String> ordenadas = new Lista<String>();
+            ordenamiento.lee(archivo, ordenadas::agrega);
+            Assert.assertTrue(ordenadas.getLongitud() == total);
+            int i = 0;
+            for (String s : ordenadas)
+                Assert.assertTrue(s.equals(cadenas[i++]));
+        } finally {
+            borra();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena(Iterator,Path)}
+     * con una sola corrida y sin registros.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    @Test public void testOrdenaPocos() throws IOException {
+        directorio = Files.createTempDirectory("edd");
+        try {
+            OrdenamientoExterno<String> ordenamiento =
+                new OrdenamientoExterno<String>(new CodificadorCadena(),
+                                                (a, b) -> a.compareTo(b));
+            ordenamiento.setDirectorio(directorio);
+            Path salida = directorio.resolve("salida");
+            ordenamiento.ordena(Arrays.asList("c", "a", "b").iterator(),
+                                salida);
+            Assert.assertTrue(ordenamiento.getCorridas() == 1);
+            Lista<String> ordenadas = new Lista<String>();
+            ordenamiento.lee(salida, ordenadas::agrega);
+            Assert.assertTrue(ordenadas.toString().equals("[a, b, c]"));
+            ordenamiento.ordena(new Lista<String>().iterator(), salida);
+            ordenadas.limpia();
+            ordenamiento.lee(salida, ordenadas::agrega);
+            Assert.assertTrue(ordenadas.esVacia());
+            Assert.assertTrue(archivos() == 1);
+        } finally {
+            borra();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#setMemoria}.
+     */
+    @Test public void testSetMemoria() {
+        OrdenamientoExterno<String> ordenamiento =
+            new OrdenamientoExterno<String>(new CodificadorCadena(),
+                                            (a, b) -> a.compareTo(b));
+        ordenamiento.setMemoria(1000);
+        Assert.assertTrue(ordenamiento.getMemoria() == 1000);
+        try {
+            ordenamiento.setMemoria(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            ordenamiento.setDirectorio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -0,0 +1,137 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Supplier;
+import mx.unam.ciencias.edd.Indexable;
+import mx.unam.ciencias.edd.MonticuloCubetas;
+import org.junit.Assert;
+
+/**
+ * Clase de métodos utilitarios para las pruebas unitarias de las clases que
+ * extiendan {@link MonticuloCubetas}. Los montículos reciben la llave de
+ * cada elemento con su valor.
+ */
+public class UtilTestMonticuloCubetas {
+
+    /* Generador de números aleatorios. */
+    private static Random random = new Random();
+
+    /**
+     * Verifica que los índices de los elementos correspondan con su
+     * posición, y que ninguno sea menor que el mínimo recibido.
+     * @param monticulo el montículo a verificar.
+     * @param minimo el mínimo de las llaves.
+     */
+    public static void
+    verifica(MonticuloCubetas<Indexable<Integer>> monticulo, long minimo) {
+        for (int i = 0; i < monticulo.getElementos(); i++) {
+            Indexable<Integer> idx = monticulo.get(i);
+            Assert.assertTrue(idx.getIndice() == i);
+            Assert.assertTrue(idx.getValor() >= minimo);
+        }
+    }
+
+    /**
+     * Agrega, elimina y reordena elementos con llaves monótonas, como en el
+     * algoritmo de Dijkstra, verificando que el mínimo salga en orden.
+     * @param constructor construye un montículo vacío.
+     * @param total el número de elementos a agregar.
+     * @param rango cuánto más que la última llave mínima puede valer una
+     *        llave nueva.
+     */
+    public static void
+    monotono(Supplier<MonticuloCubetas<Indexable<Integer>>> constructor,
+             int total, int rango) {
+        MonticuloCubetas<Indexable<Integer>> monticulo = constructor.get();
+        long ultimo = 0;
+        int agregados = 0;
+        monticulo.agrega(new Indexable<Integer>(agregados++, 0));
+        while (!monticulo.esVacia()) {
+            Indexable<Integer> minimo = monticulo.elimina();
+            Assert.assertTrue(minimo.getIndice() == -1);
+            Assert.assertTrue(minimo.getValor() >= ultimo);
+            ultimo = (long)minimo.getValor();
+            verifica(monticulo, ultimo);
+            for (int i = 0; i < 3 && agregados < total; i++) {
+                long llave = ultimo + random.nextInt(rango + 1);
+                monticulo.agrega(new Indexable<Integer>(agregados++, llave));
+            }
+            if (!monticulo.esVacia()) {
+                int n = monticulo.getElementos();
+                Indexable<Integer> idx = monticulo.get(random.nextInt(n));
+                long llave = (long)idx.getValor();
+                idx.setValor(ultimo + random.nextInt((int)(llave - ultimo)
+                                                     + 1));
+                monticulo.reordena(idx);
+                verifica(monticulo, ultimo);
+            }
+        }
+        Assert.assertTrue(agregados == total);
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Verifica que el montículo rechace elementos nulos, llaves negativas y
+     * llaves menores que la última llave mínima.
+     * @param constructor construye un montículo vacío.
+     */
+    public static void
+    llavesInvalidas(Supplier<MonticuloCubetas<Indexable<Integer>>>
+                    constructor) {
+        MonticuloCubetas<Indexable<Integer>> monticulo = constructor.get();
+        try {
+            monticulo.agrega(new Indexable<Integer>(0, -1));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            monticulo.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Indexable<Integer> a = new Indexable<Integer>(0, 1);
+        monticulo.agrega(a);
+        Assert.assertTrue(monticulo.elimina() == a);
+        Assert.assertTrue(monticulo.esVacia());
+        try {
+            monticulo.agrega(new Indexable<Integer>(1, 0));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Indexable<Integer> b = new Indexable<Integer>(2, 1);
+        monticulo.agrega(b);
+        b.setValor(0);
+        try {
+            monticulo.reordena(b);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Verifica {@link MonticuloCubetas#get} y los índices de los elementos.
+     * @param constructor construye un montículo vacío.
+     * @param total el número de elementos a agregar.
+     * @param rango la llave máxima de los elementos.
+     */
+    public static void
+    get(Supplier<MonticuloCubetas<Indexable<Integer>>> constructor,
+        int total, int rango) {
+        MonticuloCubetas<Indexable<Integer>> monticulo = constructor.get();
+        try {
+            monticulo.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            Indexable<Integer> idx =
+                new Indexable<Integer>(i, random.nextInt(rango + 1));
+            monticulo.agrega(idx);
+            Assert.assertTrue(monticulo.get(idx.getIndice()) == idx);
+        }
+        verifica(monticulo, 0);
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}